@@ -0,0 +1,374 @@
+/**
+ * ============================================
+ * BATCHED APPEND-ONLY FILE WRITER
+ * ============================================
+ *
+ * new PrintWriter(new FileWriter(file, true)) opens the file, writes one
+ * line and closes it again. With many threads that is one system call (or
+ * more) per line, and making each line durable costs one fsync per line.
+ *
+ * This writer keeps the file open and batches:
+ *
+ *   threads ──append()──►  [ active buffer  ]  ◄── filled under a short lock
+ *                          [ flushing buffer]  ──► writer thread: write() + fsync
+ *
+ * - append() encodes the record as UTF-8 straight into a direct
+ *   ByteBuffer (no String.getBytes(), no byte[] copy)
+ * - the writer thread swaps the two buffers, so producers keep filling
+ *   one while the other is written with a single write() call
+ * - everything that piled up while the last batch was written becomes
+ *   the next batch, so batches grow automatically under load
+ * - group fsync: appendAndSync() waits until its record is on disk. All
+ *   callers waiting at the same time share ONE fsync:
+ *
+ *       100 threads × appendAndSync()  →  1 write + 1 fsync, not 100
+ *
+ * With SyncPolicy.EVERY_BATCH every batch is fsynced, even without waiters.
+ *
+ * With Compression.GZIP the writer thread deflates every batch into one
+ * gzip member before writing it. A .gz file may hold any number of
+ * members in a row, so the file stays readable by gunzip and
+ * GZIPInputStream, also after appending to it again. Positions returned
+ * by append() still count uncompressed bytes.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.concurrent.locks.*;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+public class BatchedFileWriter implements AutoCloseable {
+
+    public enum SyncPolicy { NONE, EVERY_BATCH }
+
+    public enum Compression { NONE, GZIP }
+
+    private static final int DEFAULT_BUFFER_BYTES = 1 << 20;
+    private static final int GZIP_LEVEL = 1;  // The writer thread must keep up with all producers
+    private static final byte[] GZIP_HEADER = {
+        0x1f, (byte) 0x8b, 8, 0,  // Magic, method deflate, no flags
+        0, 0, 0, 0,               // No modification time
+        0, (byte) 0xff            // No extra flags, unknown OS
+    };
+
+    private final FileChannel channel;
+    private final SyncPolicy policy;
+    private final Thread writer;
+
+    // Only used by the writer thread; null without compression
+    private final Deflater deflater;
+    private final CRC32 crc;
+    private final ByteBuffer compressed;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasWork = lock.newCondition();
+    private final Condition hasSpace = lock.newCondition();
+    private final Condition progressed = lock.newCondition();
+
+    // Guarded by lock
+    private ByteBuffer active;
+    private ByteBuffer flushing;
+    private long appended;        // Bytes accepted by append()
+    private long written;         // Bytes handed to write()
+    private long durable;         // Bytes covered by an fsync
+    private long syncRequested;   // Highest position a caller waits to be durable
+    private long records;
+    private long batches;
+    private long fsyncs;
+    private boolean closed;
+    private IOException failure;
+
+    public static BatchedFileWriter open(Path file) throws IOException {
+        return new BatchedFileWriter(file, SyncPolicy.NONE, DEFAULT_BUFFER_BYTES);
+    }
+
+    public BatchedFileWriter(Path file, SyncPolicy policy, int bufferBytes) throws IOException {
+        this(file, policy, bufferBytes, Compression.NONE);
+    }
+
+    public BatchedFileWriter(Path file, SyncPolicy policy, int bufferBytes, Compression compression)
+            throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+        this.policy = policy;
+        boolean gzip = compression == Compression.GZIP;
+        this.deflater = gzip ? new Deflater(GZIP_LEVEL, true) : null;
+        this.crc = gzip ? new CRC32() : null;
+        this.compressed = gzip ? ByteBuffer.allocateDirect(64 * 1024).order(ByteOrder.LITTLE_ENDIAN) : null;
+        this.active = ByteBuffer.allocateDirect(bufferBytes);
+        this.flushing = ByteBuffer.allocateDirect(bufferBytes);
+        this.writer = new Thread(this::writeLoop, "batched-writer-" + file.getFileName());
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // ─────────────────────────────────────────────
+    // Producers
+    // ─────────────────────────────────────────────
+
+    /**
+     * Appends record plus a line break. Returns the record's end position
+     * (bytes appended by this writer so far), which can be passed to
+     * awaitDurable(). Blocks only while both buffers are full.
+     */
+    public long append(CharSequence record) throws IOException {
+        int maxBytes = record.length() * 3 + 1;  // UTF-8 worst case for a char, plus '\n'
+        if (maxBytes > active.capacity()) {
+            throw new IllegalArgumentException("Record of " + record.length()
+                + " chars may not fit the " + active.capacity() + " byte buffer");
+        }
+        lock.lock();
+        try {
+            while (active.remaining() < maxBytes) {
+                checkOpen();
+                hasWork.signal();
+                hasSpace.awaitUninterruptibly();
+            }
+            checkOpen();
+            boolean wasEmpty = active.position() == 0;
+            int start = active.position();
+            encode(record, active);
+            active.put((byte) '\n');
+            appended += active.position() - start;
+            records++;
+            if (wasEmpty) {
+                hasWork.signal();
+            }
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Appends record and returns once it is on disk (sharing the fsync with other waiters). */
+    public long appendAndSync(CharSequence record) throws IOException {
+        long position = append(record);
+        awaitDurable(position);
+        return position;
+    }
+
+    /** Blocks until every byte up to position has been written and fsynced. */
+    public void awaitDurable(long position) throws IOException {
+        lock.lock();
+        try {
+            if (position > syncRequested) {
+                syncRequested = position;
+                hasWork.signal();
+            }
+            while (durable < position) {
+                if (failure != null) {
+                    throw new IOException("Writer failed", failure);
+                }
+                if (closed && !writer.isAlive()) {
+                    throw new IOException("Writer closed before position " + position + " was synced");
+                }
+                progressed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** UTF-8 encoding without creating a byte[] (unpaired surrogates become '?'). */
+    private static void encode(CharSequence text, ByteBuffer out) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | c >> 6));
+                out.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                       && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                out.put((byte) (0xF0 | codePoint >> 18));
+                out.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                out.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                out.put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?');
+            } else {
+                out.put((byte) (0xE0 | c >> 12));
+                out.put((byte) (0x80 | c >> 6 & 0x3F));
+                out.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Writer thread
+    // ─────────────────────────────────────────────
+
+    private void writeLoop() {
+        while (true) {
+            ByteBuffer batch;
+            long batchEnd;
+            boolean sync;
+            lock.lock();
+            try {
+                while (active.position() == 0 && syncRequested <= durable && !closed) {
+                    hasWork.awaitUninterruptibly();
+                }
+                if (active.position() == 0 && syncRequested <= durable) {
+                    progressed.signalAll();
+                    return;  // Closed and nothing left to do
+                }
+                batch = active;
+                active = flushing;
+                flushing = batch;
+                batchEnd = appended;
+                sync = policy == SyncPolicy.EVERY_BATCH || syncRequested > durable || closed;
+                hasSpace.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                batch.flip();
+                if (deflater != null) {
+                    writeGzipMember(batch);
+                } else {
+                    while (batch.hasRemaining()) {
+                        channel.write(batch);
+                    }
+                }
+                if (sync) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+            batch.clear();
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                    closed = true;
+                    hasSpace.signalAll();
+                    progressed.signalAll();
+                    return;
+                }
+                if (written < batchEnd) {
+                    batches++;
+                }
+                written = batchEnd;
+                if (sync) {
+                    durable = batchEnd;
+                    fsyncs++;
+                }
+                progressed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** Deflates the whole batch as one gzip member (header, deflate data, CRC32, length). */
+    private void writeGzipMember(ByteBuffer batch) throws IOException {
+        int length = batch.remaining();
+        if (length == 0) {
+            return;  // Only an fsync was asked for
+        }
+        crc.reset();
+        crc.update(batch.duplicate());
+        deflater.reset();
+        deflater.setInput(batch);
+        deflater.finish();
+        compressed.clear();
+        compressed.put(GZIP_HEADER);
+        while (!deflater.finished()) {
+            deflater.deflate(compressed);
+            if (!compressed.hasRemaining()) {
+                writeCompressed();
+            }
+        }
+        if (compressed.remaining() < 8) {
+            writeCompressed();
+        }
+        compressed.putInt((int) crc.getValue());
+        compressed.putInt(length);  // Length modulo 2^32, as gzip defines it
+        writeCompressed();
+    }
+
+    private void writeCompressed() throws IOException {
+        compressed.flip();
+        while (compressed.hasRemaining()) {
+            channel.write(compressed);
+        }
+        compressed.clear();
+    }
+
+    private void checkOpen() throws IOException {
+        if (failure != null) {
+            throw new IOException("Writer failed", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Metrics and shutdown
+    // ─────────────────────────────────────────────
+
+    public long recordCount() {
+        lock.lock();
+        try {
+            return records;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long batchCount() {
+        lock.lock();
+        try {
+            return batches;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long fsyncCount() {
+        lock.lock();
+        try {
+            return fsyncs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Writes and fsyncs everything appended so far, then closes the file. */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            syncRequested = appended;  // Final fsync of everything written
+            hasWork.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (deflater != null && !writer.isAlive()) {
+            deflater.end();
+        }
+        if (failure != null) {
+            throw new IOException("Writer failed", failure);
+        }
+    }
+}
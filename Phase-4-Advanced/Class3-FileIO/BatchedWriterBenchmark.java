@@ -0,0 +1,194 @@
+/**
+ * ============================================
+ * APPEND WRITER BENCHMARK
+ * ============================================
+ *
+ * 4 threads append short log records to one file.
+ *
+ * Part 1 (no durability):
+ *   - new PrintWriter(new FileWriter(file, true)) per record (FileIODemo style)
+ *   - one shared BufferedWriter, synchronized
+ *   - BatchedFileWriter.append()
+ *   - BatchedFileWriter.append() with Compression.GZIP
+ *
+ * Part 2 (every record must be on disk before the call returns):
+ *   - one FileChannel, synchronized write() + force() per record
+ *   - BatchedFileWriter.appendAndSync() (group fsync)
+ *
+ * Part 2 also prints how many fsyncs were needed: group fsync lets many
+ * records share one.
+ *
+ * How to compile and run:
+ * $ javac BatchedFileWriter.java BatchedWriterBenchmark.java
+ * $ java BatchedWriterBenchmark            (200,000 records per thread)
+ * $ java BatchedWriterBenchmark 1000000    (custom records per thread)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+public class BatchedWriterBenchmark {
+
+    private static final int THREADS = 4;
+
+    interface Appender {
+        void append(String record) throws IOException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int recordsPerThread = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int reopenRecords = Math.max(1, recordsPerThread / 20);  // Reopening is slow, so fewer records
+        int syncRecords = Math.max(1, recordsPerThread / 100);   // fsync per record is slower still
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     APPEND WRITER BENCHMARK                              ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+        System.out.printf("Threads: %d%n%n", THREADS);
+
+        Path file = Files.createTempFile("append", ".log");
+
+        System.out.println("--- Part 1: append, no fsync ---");
+        System.out.printf("%-38s %12s %12s%n", "Writer", "records", "records/s");
+        System.out.println("──────────────────────────────────────────────────────────────");
+        for (int round = 0; round < 2; round++) {  // First round warms up the JIT
+            boolean print = round == 1;
+            double reopened = measure(file, reopenRecords, record -> {
+                try (PrintWriter writer = new PrintWriter(new FileWriter(file.toFile(), true))) {
+                    writer.println(record);
+                }
+            });
+            checkLines(file, reopenRecords);
+            double buffered;
+            try (BufferedWriter shared = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                     StandardOpenOption.APPEND)) {
+                buffered = measure(file, recordsPerThread, record -> {
+                    synchronized (shared) {
+                        shared.write(record);
+                        shared.newLine();
+                    }
+                });
+            }
+            checkLines(file, recordsPerThread);
+            double batched;
+            try (BatchedFileWriter writer = BatchedFileWriter.open(file)) {
+                batched = measure(file, recordsPerThread, writer::append);
+            }
+            checkLines(file, recordsPerThread);
+            double gzipped;
+            try (BatchedFileWriter writer = new BatchedFileWriter(file, BatchedFileWriter.SyncPolicy.NONE, 1 << 20,
+                     BatchedFileWriter.Compression.GZIP)) {
+                gzipped = measure(file, recordsPerThread, writer::append);
+            }
+            long gzipBytes = Files.size(file);
+            checkGzipLines(file, recordsPerThread);
+            if (print) {
+                printRow("PrintWriter reopened per record", reopenRecords, reopened, "");
+                printRow("shared BufferedWriter (synchronized)", recordsPerThread, buffered, "");
+                printRow("BatchedFileWriter.append", recordsPerThread, batched, "");
+                printRow("BatchedFileWriter.append, GZIP", recordsPerThread, gzipped,
+                    String.format("   (%,d bytes on disk)", gzipBytes));
+            }
+        }
+
+        System.out.println("\n--- Part 2: every record durable before returning ---");
+        System.out.printf("%-38s %12s %12s %10s%n", "Writer", "records", "records/s", "fsyncs");
+        System.out.println("─────────────────────────────────────────────────────────────────────────");
+        for (int round = 0; round < 2; round++) {
+            boolean print = round == 1;
+            double forced;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                     StandardOpenOption.APPEND)) {
+                forced = measure(file, syncRecords, record -> {
+                    synchronized (channel) {
+                        channel.write(ByteBuffer.wrap((record + "\n").getBytes(StandardCharsets.UTF_8)));
+                        channel.force(false);
+                    }
+                });
+            }
+            checkLines(file, syncRecords);
+            double grouped;
+            long groupedFsyncs;
+            try (BatchedFileWriter writer = BatchedFileWriter.open(file)) {
+                grouped = measure(file, syncRecords, writer::appendAndSync);
+                groupedFsyncs = writer.fsyncCount();
+            }
+            checkLines(file, syncRecords);
+            if (print) {
+                printRow("write + force per record", syncRecords, forced,
+                    String.format(" %,10d", (long) THREADS * syncRecords));
+                printRow("BatchedFileWriter.appendAndSync", syncRecords, grouped,
+                    String.format(" %,10d", groupedFsyncs));
+            }
+        }
+
+        Files.delete(file);
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    /** Runs THREADS threads that each append recordsPerThread records to an empty file; returns records/s. */
+    private static double measure(Path file, int recordsPerThread, Appender appender) throws Exception {
+        Files.write(file, new byte[0]);
+        Thread[] threads = new Thread[THREADS];
+        IOException[] failure = new IOException[1];
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                StringBuilder record = new StringBuilder(64);
+                try {
+                    for (int i = 0; i < recordsPerThread; i++) {
+                        record.setLength(0);
+                        record.append("[INFO] thread-").append(id).append(" request ").append(i).append(" done");
+                        appender.append(record.toString());
+                    }
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return THREADS * (double) recordsPerThread / seconds;
+    }
+
+    private static void printRow(String name, int recordsPerThread, double rate, String extra) {
+        System.out.printf("%-38s %,12d %,12.0f%s%n", name, (long) THREADS * recordsPerThread, rate, extra);
+    }
+
+    private static void checkLines(Path file, int recordsPerThread) throws IOException {
+        long lines;
+        try (java.util.stream.Stream<String> stream = Files.lines(file)) {
+            lines = stream.count();
+        }
+        checkCount(lines, recordsPerThread);
+    }
+
+    /** Reads the file back through GZIPInputStream, which reads every gzip member in a row. */
+    private static void checkGzipLines(Path file, int recordsPerThread) throws IOException {
+        long lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                 new java.util.zip.GZIPInputStream(Files.newInputStream(file), 64 * 1024), StandardCharsets.UTF_8))) {
+            lines = reader.lines().count();
+        }
+        checkCount(lines, recordsPerThread);
+    }
+
+    private static void checkCount(long lines, int recordsPerThread) {
+        if (lines != (long) THREADS * recordsPerThread) {
+            throw new IllegalStateException("Expected " + THREADS * recordsPerThread + " lines, found " + lines);
+        }
+    }
+}
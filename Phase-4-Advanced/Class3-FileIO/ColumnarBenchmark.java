@@ -0,0 +1,179 @@
+/**
+ * ============================================
+ * CSV vs COLUMNAR LOAD BENCHMARK
+ * ============================================
+ *
+ * Generates the id,name,age,city,score CSV from CsvReaderBenchmark,
+ * converts it to a ColumnarFile, and then loads all five columns into
+ * arrays (long[], String[], int[], String[], double[]) with:
+ *
+ * - MappedCsvReader                (parse text, one String per text field)
+ * - ColumnarFile.Reader            (copy fixed-width values, shared
+ *                                   dictionary Strings)
+ *
+ * It also sums only the age column, which the columnar file can do
+ * without touching the other columns. Finally the file is converted back
+ * to CSV and the sums are compared.
+ *
+ * How to compile and run:
+ * $ javac *.java                         (uses the generator from CsvReaderBenchmark.java)
+ * $ java ColumnarBenchmark                (200 MB CSV)
+ * $ java ColumnarBenchmark 500            (custom size in MB)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.*;
+import java.nio.file.*;
+
+public class ColumnarBenchmark {
+
+    private static final ColumnarFile.Type[] TYPES = {
+        ColumnarFile.Type.LONG, ColumnarFile.Type.STRING, ColumnarFile.Type.INT,
+        ColumnarFile.Type.STRING, ColumnarFile.Type.DOUBLE
+    };
+
+    /** The loaded table. */
+    static final class Table {
+        long[] ids;
+        String[] names;
+        int[] ages;
+        String[] cities;
+        double[] scores;
+
+        Table(int rows) {
+            ids = new long[rows];
+            names = new String[rows];
+            ages = new int[rows];
+            cities = new String[rows];
+            scores = new double[rows];
+        }
+
+        long[] sums() {
+            long ageSum = 0, scoreCents = 0;
+            for (int i = 0; i < ages.length; i++) {
+                ageSum += ages[i];
+                scoreCents += Math.round(scores[i] * 100);
+            }
+            return new long[] {ages.length, ageSum, scoreCents};
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     CSV vs COLUMNAR LOAD BENCHMARK                       ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+
+        Path csv = Files.createTempFile("demo_data", ".csv");
+        Path binary = Files.createTempFile("demo_data", ".colf");
+        long[] expected = CsvReaderBenchmark.generate(csv, megabytes * 1024L * 1024L);
+        int rows = (int) expected[0];
+
+        long start = System.nanoTime();
+        ColumnarFile.fromCsv(csv, binary, TYPES);
+        System.out.printf("Converted %,d rows in %.1f s%n", rows, (System.nanoTime() - start) / 1e9);
+        System.out.printf("Size: CSV %,.0f MB → columnar %,.0f MB%n%n", Files.size(csv) / 1e6,
+            Files.size(binary) / 1e6);
+
+        Table table = new Table(rows);  // Reused, so both loads measure reading, not allocating
+        System.out.printf("%-34s %10s %10s%n", "Load", "ms", "speedup");
+        System.out.println("──────────────────────────────────────────────────────────");
+        for (int round = 0; round < 2; round++) {  // First round warms up the JIT and page cache
+            boolean print = round == 1;
+            long csvNanos = time(() -> check(loadCsv(csv, table).sums(), expected));
+            long columnarNanos = time(() -> check(loadColumnar(binary, table).sums(), expected));
+            long ageOnlyNanos = time(() -> sumAges(binary, expected[1]));
+            if (print) {
+                System.out.printf("%-34s %,10.0f %10s%n", "CSV (MappedCsvReader)", csvNanos / 1e6, "1.0x");
+                System.out.printf("%-34s %,10.0f %9.1fx%n", "ColumnarFile, all columns", columnarNanos / 1e6,
+                    (double) csvNanos / columnarNanos);
+                System.out.printf("%-34s %,10.0f %9.1fx%n", "ColumnarFile, age column only", ageOnlyNanos / 1e6,
+                    (double) csvNanos / ageOnlyNanos);
+            }
+        }
+
+        Path back = Files.createTempFile("round_trip", ".csv");
+        ColumnarFile.toCsv(binary, back);
+        check(loadCsv(back, table).sums(), expected);
+        System.out.println("\nRound trip columnar → CSV gives the same data ✓");
+
+        Files.delete(csv);
+        Files.delete(binary);
+        Files.delete(back);
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    interface Load {
+        void run() throws IOException;
+    }
+
+    private static long time(Load load) throws IOException {
+        System.gc();  // Do not charge one load for the garbage of the previous one
+        long start = System.nanoTime();
+        load.run();
+        return System.nanoTime() - start;
+    }
+
+    private static Table loadCsv(Path csv, Table table) throws IOException {
+        try (MappedCsvReader reader = MappedCsvReader.open(csv)) {
+            reader.next();  // Header
+            for (int i = 0; reader.next(); i++) {
+                table.ids[i] = reader.getLong(0);
+                table.names[i] = reader.getString(1);
+                table.ages[i] = reader.getInt(2);
+                table.cities[i] = reader.getString(3);
+                table.scores[i] = reader.getDouble(4);
+            }
+        }
+        return table;
+    }
+
+    private static Table loadColumnar(Path binary, Table table) throws IOException {
+        try (ColumnarFile.Reader reader = ColumnarFile.open(binary)) {
+            String[] names = reader.dictionary(1);
+            String[] cities = reader.dictionary(3);
+            int row = 0;
+            for (int b = 0; b < reader.blockCount(); b++) {
+                ColumnarFile.Block block = reader.block(b);
+                int count = block.rows();
+                block.longs(0).get(table.ids, row, count);
+                block.ints(2).get(table.ages, row, count);
+                block.doubles(4).get(table.scores, row, count);
+                IntBuffer nameIds = block.stringIds(1);
+                IntBuffer cityIds = block.stringIds(3);
+                for (int i = 0; i < count; i++) {
+                    table.names[row + i] = names[nameIds.get(i)];
+                    table.cities[row + i] = cities[cityIds.get(i)];
+                }
+                row += count;
+            }
+        }
+        return table;
+    }
+
+    private static void sumAges(Path binary, long expectedSum) throws IOException {
+        long sum = 0;
+        try (ColumnarFile.Reader reader = ColumnarFile.open(binary)) {
+            for (int b = 0; b < reader.blockCount(); b++) {
+                ColumnarFile.Block block = reader.block(b);
+                IntBuffer ages = block.ints(2);
+                for (int i = 0; i < block.rows(); i++) {
+                    sum += ages.get(i);
+                }
+            }
+        }
+        if (sum != expectedSum) {
+            throw new IllegalStateException("Age sum " + sum + ", expected " + expectedSum);
+        }
+    }
+
+    private static void check(long[] actual, long[] expected) {
+        if (!java.util.Arrays.equals(actual, expected)) {
+            throw new IllegalStateException("Loaded " + java.util.Arrays.toString(actual)
+                + ", expected " + java.util.Arrays.toString(expected));
+        }
+    }
+}
@@ -0,0 +1,531 @@
+/**
+ * ============================================
+ * COMPACT BINARY COLUMNAR FILE FORMAT
+ * ============================================
+ *
+ * Loading a CSV means PARSING it: finding commas, turning "42" into 42,
+ * creating a String for every text field. A binary columnar file stores
+ * values the way the program uses them, so loading is mostly copying:
+ *
+ *   ┌──────────────────────────────────────────────────────────────┐
+ *   │ header   magic, version, column names and types, block size  │
+ *   ├──────────────────────────────────────────────────────────────┤
+ *   │ block 0  rows, CRC32 per column                              │
+ *   │          age: int int ... │ city: dictionary ids ... │ ...     │
+ *   ├──────────────────────────────────────────────────────────────┤
+ *   │ block 1  ...                                                 │
+ *   ├──────────────────────────────────────────────────────────────┤
+ *   │ footer   string dictionaries, block offsets, row count       │
+ *   │          footer offset, magic                                │
+ *   └──────────────────────────────────────────────────────────────┘
+ *
+ * - INT, LONG and DOUBLE columns are fixed width: 4 or 8 bytes per value
+ * - STRING columns are dictionary encoded: each distinct value is stored
+ *   once in the footer, and rows store a 4-byte id. "Chicago" written a
+ *   million times costs 4 MB of ids and 7 bytes of text
+ * - every column of every block carries a CRC32, checked the first
+ *   time that column is read
+ * - columns of a block lie next to each other: reading only "age" does
+ *   not touch the other columns
+ *
+ * Writer and Reader both work on memory-mapped blocks; fromCsv/toCsv
+ * convert between this format and CSV.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+public final class ColumnarFile {
+
+    public enum Type {
+        INT(4), LONG(8), DOUBLE(8), STRING(4);
+
+        final int width;  // Bytes per value in a block (STRING: dictionary id)
+
+        Type(int width) {
+            this.width = width;
+        }
+    }
+
+    private static final int MAGIC = 0x434F4C46;  // "COLF"
+    private static final int VERSION = 1;
+    private static final int DEFAULT_ROWS_PER_BLOCK = 64 * 1024;
+
+    private ColumnarFile() {
+    }
+
+    /** Column names and types, in order. */
+    public static final class Schema {
+        private final List<String> names = new ArrayList<>();
+        private final List<Type> types = new ArrayList<>();
+
+        public Schema add(String name, Type type) {
+            names.add(name);
+            types.add(type);
+            return this;
+        }
+
+        public int columnCount() {
+            return names.size();
+        }
+
+        public String name(int column) {
+            return names.get(column);
+        }
+
+        public Type type(int column) {
+            return types.get(column);
+        }
+
+        public int indexOf(String name) {
+            return names.indexOf(name);
+        }
+
+        @Override
+        public String toString() {
+            StringJoiner joiner = new StringJoiner(", ", "(", ")");
+            for (int c = 0; c < names.size(); c++) {
+                joiner.add(names.get(c) + " " + types.get(c));
+            }
+            return joiner.toString();
+        }
+    }
+
+    public static Writer create(Path file, Schema schema) throws IOException {
+        return new Writer(file, schema, DEFAULT_ROWS_PER_BLOCK);
+    }
+
+    public static Reader open(Path file) throws IOException {
+        return new Reader(file);
+    }
+
+    // ─────────────────────────────────────────────
+    // Writer
+    // ─────────────────────────────────────────────
+
+    /** Collects one block of rows in primitive arrays, then writes it through a mapping. */
+    public static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final Schema schema;
+        private final int rowsPerBlock;
+        private final Object[] columns;  // int[], long[] or double[] per column (ids for STRING)
+        private final List<Map<String, Integer>> dictionaryIds = new ArrayList<>();
+        private final List<List<String>> dictionaries = new ArrayList<>();
+        private final List<Long> blockOffsets = new ArrayList<>();
+        private long position;
+        private long rowCount;
+        private int row;  // Row within the current block
+
+        Writer(Path file, Schema schema, int rowsPerBlock) throws IOException {
+            this.schema = schema;
+            this.rowsPerBlock = rowsPerBlock;
+            this.columns = new Object[schema.columnCount()];
+            for (int c = 0; c < columns.length; c++) {
+                Type type = schema.type(c);
+                columns[c] = type == Type.LONG ? new long[rowsPerBlock]
+                           : type == Type.DOUBLE ? new double[rowsPerBlock] : new int[rowsPerBlock];
+                dictionaryIds.add(new HashMap<>());
+                dictionaries.add(new ArrayList<>());
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            writeHeader();
+        }
+
+        public Writer setInt(int column, int value) {
+            ((int[]) column(column, Type.INT))[row] = value;
+            return this;
+        }
+
+        public Writer setLong(int column, long value) {
+            ((long[]) column(column, Type.LONG))[row] = value;
+            return this;
+        }
+
+        public Writer setDouble(int column, double value) {
+            ((double[]) column(column, Type.DOUBLE))[row] = value;
+            return this;
+        }
+
+        public Writer setString(int column, String value) {
+            int[] ids = (int[]) column(column, Type.STRING);
+            List<String> dictionary = dictionaries.get(column);
+            ids[row] = dictionaryIds.get(column).computeIfAbsent(value, key -> {
+                dictionary.add(key);
+                return dictionary.size() - 1;
+            });
+            return this;
+        }
+
+        /** Finishes the current row; values not set keep 0 / the previous row's value. */
+        public void endRow() throws IOException {
+            row++;
+            rowCount++;
+            if (row == rowsPerBlock) {
+                flushBlock();
+            }
+        }
+
+        private Object column(int column, Type expected) {
+            if (schema.type(column) != expected) {
+                throw new IllegalArgumentException("Column " + schema.name(column) + " is "
+                    + schema.type(column) + ", not " + expected);
+            }
+            return columns[column];
+        }
+
+        private void writeHeader() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(rowsPerBlock);
+            out.writeInt(schema.columnCount());
+            for (int c = 0; c < schema.columnCount(); c++) {
+                byte[] name = schema.name(c).getBytes(StandardCharsets.UTF_8);
+                out.writeByte(schema.type(c).ordinal());
+                out.writeShort(name.length);
+                out.write(name);
+            }
+            position += channel.write(ByteBuffer.wrap(bytes.toByteArray()), 0);
+        }
+
+        /**
+         * Block: int rows, one CRC32 per column, then the columns one after
+         * another. Every part starts at a multiple of 8 bytes.
+         */
+        private void flushBlock() throws IOException {
+            if (row == 0) {
+                return;
+            }
+            long size = align(4 + 4L * columns.length);
+            for (int c = 0; c < columns.length; c++) {
+                size += align((long) row * schema.type(c).width);
+            }
+            MappedByteBuffer block = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+            block.order(ByteOrder.LITTLE_ENDIAN);
+            block.putInt(0, row);
+            int offset = (int) align(4 + 4L * columns.length);
+            CRC32 crc = new CRC32();
+            for (int c = 0; c < columns.length; c++) {
+                int length = row * schema.type(c).width;
+                ByteBuffer column = block.slice(offset, length).order(ByteOrder.LITTLE_ENDIAN);
+                Object values = columns[c];
+                if (values instanceof long[]) {
+                    column.asLongBuffer().put((long[]) values, 0, row);
+                } else if (values instanceof double[]) {
+                    column.asDoubleBuffer().put((double[]) values, 0, row);
+                } else {
+                    column.asIntBuffer().put((int[]) values, 0, row);
+                }
+                crc.reset();
+                crc.update(column);
+                block.putInt(4 + 4 * c, (int) crc.getValue());
+                offset += (int) align(length);
+            }
+            blockOffsets.add(position);
+            position += size;
+            row = 0;
+        }
+
+        /** Writes the last block, the dictionaries and the footer. */
+        @Override
+        public void close() throws IOException {
+            try {
+                flushBlock();
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes);
+                for (int c = 0; c < columns.length; c++) {
+                    List<String> dictionary = dictionaries.get(c);
+                    out.writeInt(dictionary.size());
+                    for (String value : dictionary) {
+                        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                        out.writeInt(utf8.length);
+                        out.write(utf8);
+                    }
+                }
+                out.writeLong(rowCount);
+                out.writeInt(blockOffsets.size());
+                for (long offset : blockOffsets) {
+                    out.writeLong(offset);
+                }
+                out.writeLong(position);  // Where the footer starts
+                out.writeInt(MAGIC);
+                ByteBuffer footer = ByteBuffer.wrap(bytes.toByteArray());
+                while (footer.hasRemaining()) {
+                    position += channel.write(footer, position);
+                }
+                // No truncate(): the file was emptied on open and every block was mapped
+                // at exactly its size, so it already ends here. Windows would refuse to
+                // shorten it anyway while block mappings are still alive.
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Reader
+    // ─────────────────────────────────────────────
+
+    public static final class Reader implements AutoCloseable {
+        private final FileChannel channel;
+        private final Schema schema = new Schema();
+        private final String[][] dictionaries;
+        private final long[] blockOffsets;
+        private final long rowCount;
+        private final long footerOffset;
+
+        Reader(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                long size = channel.size();
+                String notColumnar = file + " is not a columnar file (or was not closed)";
+                if (size < 28) {  // Smallest possible: 16-byte header + 12-byte tail
+                    throw new IOException(notColumnar);
+                }
+                ByteBuffer tail = read(size - 12, 12);
+                long footerAt = tail.getLong();
+                if (tail.getInt() != MAGIC || footerAt < 16 || footerAt > size - 12) {
+                    throw new IOException(notColumnar);
+                }
+                this.footerOffset = footerAt;
+
+                ByteBuffer header = read(0, (int) Math.min(footerAt, 64 * 1024));
+                if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                    throw new IOException(file + " has an unknown header");
+                }
+                header.getInt();  // Rows per block
+                int columnCount = header.getInt();
+                for (int c = 0; c < columnCount; c++) {
+                    Type type = Type.values()[header.get()];
+                    byte[] name = new byte[header.getShort() & 0xFFFF];
+                    header.get(name);
+                    schema.add(new String(name, StandardCharsets.UTF_8), type);
+                }
+
+                DataInputStream footer = new DataInputStream(new ByteArrayInputStream(
+                    read(footerAt, (int) (size - footerAt)).array()));
+                dictionaries = new String[columnCount][];
+                for (int c = 0; c < columnCount; c++) {
+                    String[] dictionary = new String[footer.readInt()];
+                    for (int i = 0; i < dictionary.length; i++) {
+                        byte[] utf8 = new byte[footer.readInt()];
+                        footer.readFully(utf8);
+                        dictionary[i] = new String(utf8, StandardCharsets.UTF_8);
+                    }
+                    dictionaries[c] = dictionary;
+                }
+                rowCount = footer.readLong();
+                blockOffsets = new long[footer.readInt()];
+                for (int b = 0; b < blockOffsets.length; b++) {
+                    blockOffsets[b] = footer.readLong();
+                }
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        private ByteBuffer read(long position, int length) throws IOException {
+            ByteBuffer bytes = ByteBuffer.allocate(length);
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes, position + bytes.position()) < 0) {
+                    throw new EOFException("Columnar file is truncated");
+                }
+            }
+            return bytes.flip();
+        }
+
+        public Schema schema() {
+            return schema;
+        }
+
+        public long rowCount() {
+            return rowCount;
+        }
+
+        public int blockCount() {
+            return blockOffsets.length;
+        }
+
+        /** The distinct values of a STRING column, indexed by dictionary id. */
+        public String[] dictionary(int column) {
+            return dictionaries[column];
+        }
+
+        /** Maps block b; each column's CRC32 is checked the first time it is used. */
+        public Block block(int b) throws IOException {
+            long start = blockOffsets[b];
+            long end = b + 1 < blockOffsets.length ? blockOffsets[b + 1] : footerOffset;
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            bytes.order(ByteOrder.LITTLE_ENDIAN);
+            return new Block(this, b, bytes);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /** One block of rows; column buffers are views of the mapped file (no copying). */
+    public static final class Block {
+        private final Reader reader;
+        private final int index;
+        private final int rows;
+        private final ByteBuffer header;
+        private final ByteBuffer[] columns;
+        private final boolean[] verified;
+
+        Block(Reader reader, int index, MappedByteBuffer bytes) {
+            this.reader = reader;
+            this.index = index;
+            this.rows = bytes.getInt(0);
+            this.header = bytes;
+            Schema schema = reader.schema;
+            this.columns = new ByteBuffer[schema.columnCount()];
+            this.verified = new boolean[columns.length];
+            int offset = (int) align(4 + 4L * columns.length);
+            for (int c = 0; c < columns.length; c++) {
+                int length = rows * schema.type(c).width;
+                columns[c] = bytes.slice(offset, length).order(ByteOrder.LITTLE_ENDIAN);
+                offset += (int) align(length);
+            }
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        public IntBuffer ints(int column) {
+            return column(column, Type.INT).asIntBuffer();
+        }
+
+        public LongBuffer longs(int column) {
+            return column(column, Type.LONG).asLongBuffer();
+        }
+
+        public DoubleBuffer doubles(int column) {
+            return column(column, Type.DOUBLE).asDoubleBuffer();
+        }
+
+        /** Dictionary ids of a STRING column; look them up in Reader.dictionary(column). */
+        public IntBuffer stringIds(int column) {
+            return column(column, Type.STRING).asIntBuffer();
+        }
+
+        /** The value of a STRING cell (shared String from the dictionary, no allocation). */
+        public String string(int column, int row) {
+            return reader.dictionaries[column][column(column, Type.STRING).getInt(row * 4)];
+        }
+
+        private ByteBuffer column(int column, Type expected) {
+            if (reader.schema.type(column) != expected) {
+                throw new IllegalArgumentException("Column " + reader.schema.name(column) + " is "
+                    + reader.schema.type(column) + ", not " + expected);
+            }
+            if (!verified[column]) {
+                CRC32 crc = new CRC32();
+                crc.update(columns[column].duplicate());
+                if ((int) crc.getValue() != header.getInt(4 + 4 * column)) {
+                    throw new IllegalStateException("Column " + reader.schema.name(column) + " of block "
+                        + index + " is corrupt (checksum mismatch)");
+                }
+                verified[column] = true;
+            }
+            return columns[column];
+        }
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    // ─────────────────────────────────────────────
+    // CSV conversion
+    // ─────────────────────────────────────────────
+
+    /** Converts a CSV with a header row; types gives the type of each column. Returns the row count. */
+    public static long fromCsv(Path csv, Path target, Type... types) throws IOException {
+        try (MappedCsvReader reader = MappedCsvReader.open(csv)) {
+            if (!reader.next()) {
+                throw new IOException(csv + " has no header");
+            }
+            Schema schema = new Schema();
+            for (int c = 0; c < types.length; c++) {
+                schema.add(reader.getString(c), types[c]);
+            }
+            try (Writer writer = create(target, schema)) {
+                long rows = 0;
+                while (reader.next()) {
+                    for (int c = 0; c < types.length; c++) {
+                        switch (types[c]) {
+                            case INT -> writer.setInt(c, reader.getInt(c));
+                            case LONG -> writer.setLong(c, reader.getLong(c));
+                            case DOUBLE -> writer.setDouble(c, reader.getDouble(c));
+                            case STRING -> writer.setString(c, reader.getString(c));
+                        }
+                    }
+                    writer.endRow();
+                    rows++;
+                }
+                return rows;
+            }
+        }
+    }
+
+    /** Writes the columnar file back as CSV (quoting text that needs it). Returns the row count. */
+    public static long toCsv(Path source, Path csv) throws IOException {
+        try (Reader reader = open(source);
+             BufferedWriter out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            Schema schema = reader.schema();
+            for (int c = 0; c < schema.columnCount(); c++) {
+                out.write(c == 0 ? "" : ",");
+                out.write(quote(schema.name(c)));
+            }
+            out.write('\n');
+            for (int b = 0; b < reader.blockCount(); b++) {
+                Block block = reader.block(b);
+                Buffer[] views = new Buffer[schema.columnCount()];
+                for (int c = 0; c < views.length; c++) {
+                    views[c] = switch (schema.type(c)) {
+                        case INT -> block.ints(c);
+                        case LONG -> block.longs(c);
+                        case DOUBLE -> block.doubles(c);
+                        case STRING -> block.stringIds(c);
+                    };
+                }
+                for (int row = 0; row < block.rows(); row++) {
+                    for (int c = 0; c < views.length; c++) {
+                        if (c > 0) {
+                            out.write(',');
+                        }
+                        switch (schema.type(c)) {
+                            case INT -> out.write(Integer.toString(((IntBuffer) views[c]).get(row)));
+                            case LONG -> out.write(Long.toString(((LongBuffer) views[c]).get(row)));
+                            case DOUBLE -> out.write(Double.toString(((DoubleBuffer) views[c]).get(row)));
+                            case STRING -> out.write(quote(reader.dictionary(c)[((IntBuffer) views[c]).get(row)]));
+                        }
+                    }
+                    out.write('\n');
+                }
+            }
+            return reader.rowCount();
+        }
+    }
+
+    private static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
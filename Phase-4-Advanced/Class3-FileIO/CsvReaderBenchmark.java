@@ -0,0 +1,146 @@
+/**
+ * ============================================
+ * CSV READER BENCHMARK
+ * ============================================
+ *
+ * Generates a large CSV file in the style of demo_data.csv (some names
+ * and cities are quoted and contain commas), then sums the age and score
+ * columns with:
+ *
+ * - BufferedReader.readLine() + String.split(",")   (FileIODemo style)
+ * - MappedCsvReader                                 (memory-mapped bytes)
+ *
+ * and reports MB/s, bytes allocated per record and whether the sums are
+ * correct. split() gets the quoted rows wrong, so it is also shown how
+ * many records it misread.
+ *
+ * How to compile and run:
+ * $ javac CsvReaderBenchmark.java
+ * $ java CsvReaderBenchmark              (200 MB file)
+ * $ java CsvReaderBenchmark 1000         (custom size in MB)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+public class CsvReaderBenchmark {
+
+    private static final String[] FIRST = {"Alice", "Bob", "Charlie", "Dana", "Eve", "Frank"};
+    private static final String[] CITIES = {"New York", "Los Angeles", "Chicago", "\"Washington, D.C.\"",
+                                            "Houston", "\"Portland, OR\""};
+
+    public static void main(String[] args) throws IOException {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     CSV READER BENCHMARK                                 ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+
+        Path file = Files.createTempFile("demo_data", ".csv");
+        long[] expected = generate(file, megabytes * 1024L * 1024L);
+        double fileMb = Files.size(file) / 1e6;
+        System.out.printf("File: %.0f MB, %,d records (+ header)%n%n", fileMb, expected[0]);
+
+        System.out.printf("%-26s %10s %12s %14s  %s%n", "Reader", "MB/s", "bytes/rec", "age sum", "result");
+        System.out.println("────────────────────────────────────────────────────────────────────────────");
+        for (int round = 0; round < 2; round++) {  // First round warms up the JIT and page cache
+            boolean print = round == 1;
+            measure(print, "readLine + split", fileMb, expected, () -> readWithSplit(file));
+            measure(print, "MappedCsvReader", fileMb, expected, () -> readMapped(file));
+        }
+
+        Files.delete(file);
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    interface Reader {
+        long[] read() throws IOException;  // {records, age sum, score sum in cents}
+    }
+
+    private static void measure(boolean print, String name, double fileMb, long[] expected, Reader reader)
+            throws IOException {
+        com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long[] result = reader.read();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        if (print) {
+            String verdict = Arrays.equals(result, expected) ? "✓ correct"
+                : String.format("✗ wrong (%,d records misread)", result[3]);
+            System.out.printf("%-26s %,10.0f %12.1f %,14d  %s%n", name, fileMb / seconds,
+                (double) allocated / expected[0], result[1], verdict);
+        }
+    }
+
+    private static long[] readWithSplit(Path file) throws IOException {
+        long records = 0, ageSum = 0, scoreCents = 0, misread = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine();  // Header
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                records++;
+                try {
+                    ageSum += Integer.parseInt(parts[2]);
+                    scoreCents += Math.round(Double.parseDouble(parts[4]) * 100);
+                } catch (RuntimeException e) {
+                    misread++;  // A quoted comma shifted the columns
+                }
+            }
+        }
+        return misread == 0 ? new long[] {records, ageSum, scoreCents}
+                            : new long[] {records, ageSum, scoreCents, misread};
+    }
+
+    private static long[] readMapped(Path file) throws IOException {
+        long records = 0, ageSum = 0, scoreCents = 0;
+        try (MappedCsvReader csv = MappedCsvReader.open(file)) {
+            csv.next();  // Header
+            while (csv.next()) {
+                records++;
+                ageSum += csv.getInt(2);
+                scoreCents += Math.round(csv.getDouble(4) * 100);
+            }
+        }
+        return new long[] {records, ageSum, scoreCents};
+    }
+
+    /** Writes id,name,age,city,score rows; returns the correct {records, age sum, score cents}. */
+    static long[] generate(Path file, long targetBytes) throws IOException {
+        Random random = new Random(7);
+        long records = 0, ageSum = 0, scoreCents = 0, written = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("id,name,age,city,score\n");
+            StringBuilder row = new StringBuilder(128);
+            while (written < targetBytes) {
+                int age = 18 + random.nextInt(70);
+                int cents = random.nextInt(100_000);
+                String first = FIRST[random.nextInt(FIRST.length)];
+                row.setLength(0);
+                row.append(records).append(',');
+                if (random.nextInt(10) == 0) {
+                    row.append("\"Smith, ").append(first).append('"');  // Comma inside quotes
+                } else {
+                    row.append(first).append(" Smith");
+                }
+                row.append(',').append(age).append(',').append(CITIES[random.nextInt(CITIES.length)])
+                   .append(',').append(cents / 100).append('.').append(cents % 100 / 10).append(cents % 10)
+                   .append('\n');
+                out.append(row);
+                written += row.length();
+                records++;
+                ageSum += age;
+                scoreCents += cents;
+            }
+        }
+        return new long[] {records, ageSum, scoreCents};
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * ============================================
+ * DIRECTORY WALK BENCHMARK
+ * ============================================
+ *
+ * Creates a tree of small files (3 levels of directories), then finds
+ * all ".log" files and sums their sizes with:
+ *
+ * - Files.walk + Files.size per match      (one thread, extra stat calls)
+ * - Files.find                             (one thread, attributes once)
+ * - ParallelDirectoryWalker, 1/2/4/8 threads
+ *
+ * The tree is in the page cache after the first round, so this measures
+ * system-call and CPU cost. On network or cold disks the parallel walker
+ * gains more, because several directories wait on I/O at once.
+ *
+ * How to compile and run:
+ * $ javac ParallelDirectoryWalker.java DirectoryWalkBenchmark.java
+ * $ java DirectoryWalkBenchmark           (100,000 files)
+ * $ java DirectoryWalkBenchmark 500000    (custom number of files)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+public class DirectoryWalkBenchmark {
+
+    private static final int FILES_PER_DIRECTORY = 100;
+
+    public static void main(String[] args) throws IOException {
+        int files = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     DIRECTORY WALK BENCHMARK                             ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+
+        Path root = Files.createTempDirectory("walk");
+        long[] expected = createTree(root, files);
+        System.out.printf("Tree: %,d files in %,d directories, %,d of them .log%n%n",
+            files, files / FILES_PER_DIRECTORY, expected[0]);
+
+        System.out.printf("%-34s %12s %14s%n", "Walker", "ms", "files/s");
+        System.out.println("──────────────────────────────────────────────────────────────");
+        for (int round = 0; round < 2; round++) {  // First round warms up the JIT and the cache
+            boolean print = round == 1;
+            measure(print, "Files.walk + Files.size", files, expected, () -> {
+                long count = 0, bytes = 0;
+                try (Stream<Path> paths = Files.walk(root)) {
+                    for (Path path : (Iterable<Path>) paths::iterator) {
+                        if (Files.isRegularFile(path) && path.toString().endsWith(".log")) {
+                            count++;
+                            bytes += Files.size(path);
+                        }
+                    }
+                }
+                return new long[] {count, bytes};
+            });
+            measure(print, "Files.find", files, expected, () -> {
+                long[] result = new long[2];
+                try (Stream<Path> paths = Files.find(root, Integer.MAX_VALUE,
+                         (path, attributes) -> attributes.isRegularFile() && path.toString().endsWith(".log"))) {
+                    paths.forEach(path -> {
+                        result[0]++;
+                        result[1] += path.toFile().length();
+                    });
+                }
+                return result;
+            });
+            for (int threads : new int[] {1, 2, 4, 8}) {
+                ParallelDirectoryWalker walker = new ParallelDirectoryWalker(root, threads).matching("**.log");
+                measure(print, "ParallelDirectoryWalker, " + threads + " thr", files, expected, () -> {
+                    long[] result = new long[2];
+                    try (Stream<ParallelDirectoryWalker.Entry> entries = walker.stream()) {
+                        entries.forEach(entry -> {
+                            result[0]++;
+                            result[1] += entry.attributes.size();
+                        });
+                    }
+                    return result;
+                });
+                if (print && threads == 8) {
+                    System.out.println("\n  " + walker.metrics());
+                }
+            }
+        }
+
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    interface Walk {
+        long[] run() throws IOException;  // {matching files, their total size}
+    }
+
+    private static void measure(boolean print, String name, int files, long[] expected, Walk walk)
+            throws IOException {
+        long start = System.nanoTime();
+        long[] result = walk.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (!Arrays.equals(result, expected)) {
+            throw new IllegalStateException(name + " found " + Arrays.toString(result)
+                + ", expected " + Arrays.toString(expected));
+        }
+        if (print) {
+            System.out.printf("%-34s %,12.0f %,14.0f%n", name, seconds * 1e3, files / seconds);
+        }
+    }
+
+    /** root/dNN/dNN/dNNN with 100 files each; every 4th file is .log. Returns {logs, log bytes}. */
+    private static long[] createTree(Path root, int files) throws IOException {
+        long logs = 0, logBytes = 0;
+        byte[] content = new byte[64];
+        for (int i = 0; i < files; i++) {
+            int directory = i / FILES_PER_DIRECTORY;
+            Path parent = root.resolve("d" + directory % 10).resolve("d" + directory / 10 % 10)
+                .resolve("d" + directory);
+            if (i % FILES_PER_DIRECTORY == 0) {
+                Files.createDirectories(parent);
+            }
+            int size = i % 64;
+            boolean log = i % 4 == 0;
+            Files.write(parent.resolve("file-" + i + (log ? ".log" : ".txt")), Arrays.copyOf(content, size));
+            if (log) {
+                logs++;
+                logBytes += size;
+            }
+        }
+        return new long[] {logs, logBytes};
+    }
+}
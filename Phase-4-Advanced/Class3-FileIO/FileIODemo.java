@@ -17,6 +17,7 @@
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class FileIODemo {
 
@@ -156,6 +157,16 @@ public class FileIODemo {
             System.out.println("Error: " + e.getMessage());
         }
 
+        // Many appends (or many threads)? Keep one writer open and let it batch
+        try (BatchedFileWriter writer = BatchedFileWriter.open(Paths.get(filename))) {
+            writer.append("Appended by BatchedFileWriter.");
+            writer.appendAndSync("This one is on disk when the call returns.");
+            System.out.println("Batched writer: " + writer.recordCount() + " records, "
+                + writer.fsyncCount() + " fsync");
+        } catch (IOException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+
         // Show updated content
         try {
             System.out.println("Updated contents:");
@@ -180,6 +191,10 @@ public class FileIODemo {
             Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
             System.out.println("Copied " + source + " to " + target);
             System.out.println("Copy exists: " + Files.exists(target));
+
+            // For big files: transferTo lets the OS copy without a Java buffer
+            FileTransfer.Result result = new FileTransfer().copyFile(source, target);
+            System.out.println("FileTransfer: " + result);
         } catch (IOException e) {
             System.out.println("Error copying: " + e.getMessage());
         }
@@ -206,9 +221,17 @@ public class FileIODemo {
             Files.write(fileInDir, Arrays.asList("File inside directory"));
             System.out.println("Created file: " + fileInDir);
 
-            // List directory contents
+            // List directory contents (the stream holds an open directory handle: close it)
             System.out.println("Directory contents:");
-            Files.list(dirPath).forEach(p -> System.out.println("  " + p.getFileName()));
+            try (Stream<Path> entries = Files.list(dirPath)) {
+                entries.forEach(p -> System.out.println("  " + p.getFileName()));
+            }
+
+            // Whole trees: walk subdirectories in parallel, filter while walking
+            try (Stream<ParallelDirectoryWalker.Entry> textFiles =
+                     new ParallelDirectoryWalker(dirPath, 2).matching("**.txt").stream()) {
+                textFiles.forEach(entry -> System.out.println("  found " + entry));
+            }
 
         } catch (IOException e) {
             System.out.println("Error: " + e.getMessage());
@@ -230,24 +253,41 @@ public class FileIODemo {
             csv.println("Alice,25,New York");
             csv.println("Bob,30,Los Angeles");
             csv.println("Charlie,35,Chicago");
+            csv.println("\"Dana \"\"DJ\"\" Lee\",28,\"Washington, D.C.\"");  // Quoted fields
             System.out.println("Created CSV file: " + csvFile);
         } catch (IOException e) {
             System.out.println("Error: " + e.getMessage());
         }
 
         // Read and parse CSV
-        try (BufferedReader reader = new BufferedReader(new FileReader(csvFile))) {
+        // line.split(",") would cut "Washington, D.C." in two, so we use
+        // MappedCsvReader (MappedCsvReader.java): it understands quotes and
+        // reads fields straight from the memory-mapped file.
+        try (MappedCsvReader reader = MappedCsvReader.open(Paths.get(csvFile))) {
             System.out.println("\nParsed CSV data:");
-            String line;
-            boolean header = true;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (header) {
-                    System.out.println("  [" + String.join(" | ", parts) + "]");
-                    header = false;
-                } else {
-                    System.out.printf("  %s is %s years old, lives in %s%n",
-                                      parts[0], parts[1], parts[2]);
+            reader.next();
+            System.out.println("  [" + reader.getString(0) + " | " + reader.getString(1)
+                               + " | " + reader.getString(2) + "]");
+            while (reader.next()) {
+                System.out.printf("  %s is %d years old, lives in %s%n",
+                                  reader.getString(0), reader.getInt(1), reader.getString(2));
+            }
+        } catch (IOException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+
+        // Loaded often? Convert once to a binary columnar file (ColumnarFile.java):
+        // numbers are stored as numbers, so loading needs no parsing
+        String binaryFile = "demo_data.colf";
+        try {
+            ColumnarFile.fromCsv(Paths.get(csvFile), Paths.get(binaryFile),
+                ColumnarFile.Type.STRING, ColumnarFile.Type.INT, ColumnarFile.Type.STRING);
+            try (ColumnarFile.Reader reader = ColumnarFile.open(Paths.get(binaryFile))) {
+                ColumnarFile.Block block = reader.block(0);
+                System.out.println("\nColumnar copy " + reader.schema() + ", "
+                    + Files.size(Paths.get(binaryFile)) + " bytes:");
+                for (int row = 0; row < block.rows(); row++) {
+                    System.out.printf("  %s, %d%n", block.string(0, row), block.ints(1).get(row));
                 }
             }
         } catch (IOException e) {
@@ -263,7 +303,7 @@ public class FileIODemo {
         System.out.println("─────────────────────────────────────────");
 
         // Delete created files
-        String[] filesToDelete = {filename, "modern_output.txt", "demo_copy.txt", csvFile};
+        String[] filesToDelete = {filename, "modern_output.txt", "demo_copy.txt", csvFile, binaryFile};
         for (String f : filesToDelete) {
             try {
                 Files.deleteIfExists(Paths.get(f));
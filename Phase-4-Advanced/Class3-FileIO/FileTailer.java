@@ -0,0 +1,277 @@
+/**
+ * ============================================
+ * INCREMENTAL FILE TAILER ("tail -F" in Java)
+ * ============================================
+ *
+ * Re-reading a growing log with Files.readAllLines reads the WHOLE file
+ * every time, just to find the few new lines at the end. A tailer
+ * remembers how far it got and only reads what was added:
+ *
+ *   app.log   [ already delivered ........ | new bytes ]
+ *                                          ▲
+ *                                       position
+ *
+ * - a WatchService wakes the tailer as soon as the file changes; a timed
+ *   wait is the fallback for file systems that send no events
+ * - new bytes are read into ONE reusable direct buffer
+ * - each record ('\n'-terminated) is handed to the handler as a position
+ *   and length inside that buffer: no String, no byte[] per line. An
+ *   incomplete last line stays in the buffer until its '\n' arrives
+ * - rotation (app.log renamed, a new app.log created): the old file is
+ *   read to its end, then the new one is followed from the start
+ * - truncation (the file got shorter): start again from offset 0
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+public class FileTailer implements AutoCloseable {
+
+    /** Receives records; the buffer region is only valid during the call. */
+    public interface RecordHandler {
+        void onRecord(ByteBuffer buffer, int offset, int length);
+
+        /** Called when the file was rotated or truncated and is followed from its start. */
+        default void onReset(String reason) {
+        }
+    }
+
+    private static final int DEFAULT_BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private final Path file;
+    private final RecordHandler handler;
+    private final long pollMillis;
+    private final WatchService watcher;
+
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(DEFAULT_BUFFER_BYTES);
+    private FileChannel channel;
+    private Object fileKey;
+    private long position;       // File offset of the next byte to read
+    private volatile long records;   // Written only by the tailing thread
+    private volatile long bytesRead;
+    private volatile long rotations;
+    private volatile long truncations;
+    private volatile boolean closed;
+    private Thread thread;
+
+    /**
+     * @param fromEnd    start at the current end of the file (true) or at its beginning
+     * @param pollMillis longest wait between checks when no change event arrives
+     */
+    public FileTailer(Path file, boolean fromEnd, long pollMillis, RecordHandler handler) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.handler = handler;
+        this.pollMillis = pollMillis;
+        this.watcher = this.file.getFileSystem().newWatchService();
+        this.file.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+        if (openCurrent() && fromEnd) {
+            position = channel.size();
+        }
+    }
+
+    /** Follows the file on a daemon thread until close(). */
+    public FileTailer start() {
+        thread = new Thread(() -> {
+            try {
+                while (!closed) {
+                    if (poll() == 0) {
+                        awaitChange();
+                    }
+                }
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Tailer of " + file + " stopped: " + e.getMessage());
+                }
+            }
+        }, "tailer-" + file.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+        return this;
+    }
+
+    /** Reads everything added since the last call; returns the number of records delivered. */
+    public long poll() throws IOException {
+        long before = records;
+        if (channel == null && !openCurrent()) {
+            return 0;  // The file does not exist (yet)
+        }
+        long size = channel.size();
+        if (size < position) {
+            truncations++;
+            position = 0;
+            buffer.clear();
+            handler.onReset("truncated");
+        }
+        readToEnd();
+
+        // Rotated? Finish the old file (done above), then switch to the new one
+        Object currentKey = currentFileKey();
+        if (currentKey != null && !currentKey.equals(fileKey)) {
+            readToEnd();  // Bytes written to the old file just before it was renamed
+            deliverRemainder();
+            channel.close();
+            channel = null;
+            rotations++;
+            if (openCurrent()) {
+                handler.onReset("rotated");
+                readToEnd();
+            }
+        }
+        return records - before;
+    }
+
+    private void readToEnd() throws IOException {
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                growBuffer();
+            }
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                return;
+            }
+            position += read;
+            bytesRead += read;
+            deliverRecords();
+        }
+    }
+
+    /** Hands every complete record in the buffer to the handler, then keeps the partial one. */
+    private void deliverRecords() {
+        int end = buffer.position();
+        int start = 0;
+        for (int i = 0; i < end; i++) {
+            if (buffer.get(i) == '\n') {
+                int length = i > start && buffer.get(i - 1) == '\r' ? i - 1 - start : i - start;
+                handler.onRecord(buffer, start, length);
+                records++;
+                start = i + 1;
+            }
+        }
+        // Move the incomplete record to the front
+        buffer.limit(end).position(start);
+        buffer.compact();
+    }
+
+    /** The old file ended without '\n': deliver what is left as the last record. */
+    private void deliverRemainder() {
+        if (buffer.position() > 0) {
+            handler.onRecord(buffer, 0, buffer.position());
+            records++;
+            buffer.clear();
+        }
+    }
+
+    private void growBuffer() {
+        if (buffer.capacity() >= MAX_RECORD_BYTES) {
+            throw new IllegalStateException("Record in " + file + " is longer than " + MAX_RECORD_BYTES + " bytes");
+        }
+        ByteBuffer larger = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+
+    private boolean openCurrent() throws IOException {
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        fileKey = currentFileKey();
+        position = 0;
+        return true;
+    }
+
+    private Object currentFileKey() throws IOException {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+        } catch (NoSuchFileException e) {
+            return null;  // Rotated away, new file not created yet
+        }
+    }
+
+    /** Waits for a change event on the file, or at most pollMillis. */
+    private void awaitChange() {
+        try {
+            WatchKey key = watcher.poll(pollMillis, TimeUnit.MILLISECONDS);
+            if (key != null) {
+                key.pollEvents();  // Which file changed does not matter much: poll() checks cheaply
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            closed = true;
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers and metrics
+    // ─────────────────────────────────────────────
+
+    /** Decodes a record as UTF-8 (allocates; use only when a String is really needed). */
+    public static String asString(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Parses a decimal number at offset (stops at the first non-digit), without allocating. */
+    public static long parseLong(ByteBuffer buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.capacity());
+        long value = 0;
+        int i = offset;
+        boolean negative = length > 0 && buffer.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+        for (; i < offset + length; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    public long recordCount() {
+        return records;
+    }
+
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    public long rotationCount() {
+        return rotations;
+    }
+
+    public long truncationCount() {
+        return truncations;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        watcher.close();
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/**
+ * ============================================
+ * ZERO-COPY FILE TRANSFER
+ * ============================================
+ *
+ * Files.copy and stream copies move every byte through a Java buffer:
+ *
+ *   stream copy:   disk → kernel → byte[] in the JVM → kernel → disk
+ *   transferTo:    disk → kernel ─────────────────────────→ disk / socket
+ *
+ * FileChannel.transferTo / transferFrom ask the operating system to move
+ * the bytes itself (sendfile / copy_file_range on Linux), so the data
+ * never enters the JVM. This class wraps them with what big transfers need:
+ *
+ * - chunking: transfer at most chunkBytes per call, so progress can be
+ *   reported and a multi-GB copy does not hold one huge system call
+ * - sync policy: NONE (leave it in the page cache), AT_END (one fsync per
+ *   file) or EVERY_CHUNK (fsync after each chunk, limits dirty memory)
+ * - copyTree: copies many small files with a thread pool
+ * - a Result with bytes, files and MB/s
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+public class FileTransfer {
+
+    public enum SyncPolicy { NONE, AT_END, EVERY_CHUNK }
+
+    /** Called after every chunk; total is -1 when the size is not known. */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void progress(Path file, long transferred, long total);
+    }
+
+    private static final long DEFAULT_CHUNK_BYTES = 64L * 1024 * 1024;
+
+    private final long chunkBytes;
+    private final SyncPolicy sync;
+    private final ProgressListener listener;
+
+    public FileTransfer() {
+        this(DEFAULT_CHUNK_BYTES, SyncPolicy.NONE, null);
+    }
+
+    public FileTransfer(long chunkBytes, SyncPolicy sync, ProgressListener listener) {
+        if (chunkBytes <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkBytes);
+        }
+        this.chunkBytes = chunkBytes;
+        this.sync = sync;
+        this.listener = listener;
+    }
+
+    // ─────────────────────────────────────────────
+    // Single files and channels
+    // ─────────────────────────────────────────────
+
+    /** Copies source to target (replacing it) with transferTo. */
+    public Result copyFile(Path source, Path target) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                 StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long bytes = copy(source, in, out);
+            return new Result(1, bytes, System.nanoTime() - start);
+        }
+    }
+
+    /** Sends a whole file into a blocking channel, for example a SocketChannel. */
+    public Result send(Path source, WritableByteChannel target) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                long sent = in.transferTo(position, Math.min(chunkBytes, size - position), target);
+                position += sent;
+                report(source, position, size);
+            }
+            return new Result(1, size, System.nanoTime() - start);
+        }
+    }
+
+    /** Writes everything from a blocking source (until end of stream) into target with transferFrom. */
+    public Result receive(ReadableByteChannel source, Path target) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                 StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = 0;
+            while (true) {
+                // A blocking channel only returns 0 here at the end of the stream
+                long received = out.transferFrom(source, position, chunkBytes);
+                if (received == 0) {
+                    break;
+                }
+                position += received;
+                afterChunk(out);
+                report(target, position, -1);
+            }
+            if (sync == SyncPolicy.AT_END) {
+                out.force(true);
+            }
+            return new Result(1, position, System.nanoTime() - start);
+        }
+    }
+
+    private long copy(Path source, FileChannel in, FileChannel out) throws IOException {
+        long size = in.size();
+        long position = 0;
+        while (position < size) {
+            // transferTo may move fewer bytes than asked, so loop until the chunk is done
+            long copied = in.transferTo(position, Math.min(chunkBytes, size - position), out);
+            if (copied == 0 && in.size() < size) {
+                break;  // Source was truncated while copying
+            }
+            position += copied;
+            afterChunk(out);
+            report(source, position, size);
+        }
+        if (sync == SyncPolicy.AT_END) {
+            out.force(true);
+        }
+        return position;
+    }
+
+    private void afterChunk(FileChannel out) throws IOException {
+        if (sync == SyncPolicy.EVERY_CHUNK) {
+            out.force(false);
+        }
+    }
+
+    private void report(Path file, long transferred, long total) {
+        if (listener != null) {
+            listener.progress(file, transferred, total);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Directory trees
+    // ─────────────────────────────────────────────
+
+    /**
+     * Copies every file under sourceDir to the same relative path under
+     * targetDir, using the given number of threads. Directories are
+     * created first, on this thread; the files are then copied in parallel.
+     */
+    public Result copyTree(Path sourceDir, Path targetDir, int threads) throws IOException {
+        long start = System.nanoTime();
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(sourceDir)) {
+            for (Path path : (Iterable<Path>) walk::iterator) {
+                Path copy = targetDir.resolve(sourceDir.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(copy);
+                } else {
+                    files.add(path);
+                }
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Result>> results = new ArrayList<>();
+            for (Path file : files) {
+                Path copy = targetDir.resolve(sourceDir.relativize(file).toString());
+                results.add(pool.submit(() -> copyFile(file, copy)));
+            }
+            long bytes = 0;
+            for (Future<Result> result : results) {
+                bytes += result.get().bytes;
+            }
+            return new Result(files.size(), bytes, System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Copy of " + sourceDir + " was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Copy of " + sourceDir + " failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** What a transfer moved and how fast. */
+    public static final class Result {
+        public final long files;
+        public final long bytes;
+        public final long nanos;
+
+        Result(long files, long bytes, long nanos) {
+            this.files = files;
+            this.bytes = bytes;
+            this.nanos = nanos;
+        }
+
+        public double megabytesPerSecond() {
+            return nanos == 0 ? 0 : bytes / 1e6 / (nanos / 1e9);
+        }
+
+        public double filesPerSecond() {
+            return nanos == 0 ? 0 : files / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d file(s), %,d bytes in %.1f ms (%.0f MB/s)",
+                files, bytes, nanos / 1e6, megabytesPerSecond());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * ============================================
+ * FILE COPY BENCHMARK
+ * ============================================
+ *
+ * Part 1: one large file is copied with
+ *         - FileInputStream → FileOutputStream with an 8 KB byte[]
+ *         - Files.copy
+ *         - FileTransfer.copyFile (transferTo, no fsync / fsync at end)
+ *
+ * Part 2: a tree of many small files is copied with a Files.copy loop
+ *         and with FileTransfer.copyTree on 1 and 4 threads.
+ *
+ * Part 3: the large file is sent through a local socket with transferTo
+ *         and received into a file with transferFrom.
+ *
+ * Everything is read from the page cache after the first round, so the
+ * numbers show CPU and copy overhead, not disk speed.
+ *
+ * How to compile and run:
+ * $ javac FileTransferBenchmark.java
+ * $ java FileTransferBenchmark            (512 MB file, 2,000 small files)
+ * $ java FileTransferBenchmark 2048       (custom large-file size in MB)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+public class FileTransferBenchmark {
+
+    private static final int SMALL_FILES = 2_000;
+    private static final int SMALL_FILE_BYTES = 16 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 512;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     FILE COPY BENCHMARK                                  ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+
+        Path work = Files.createTempDirectory("transfer");
+        Path big = work.resolve("artifact.bin");
+        writeRandom(big, megabytes * 1024L * 1024L);
+        Path copy = work.resolve("artifact.copy");
+
+        FileTransfer transfer = new FileTransfer();
+        FileTransfer synced = new FileTransfer(64L * 1024 * 1024, FileTransfer.SyncPolicy.AT_END, null);
+
+        System.out.printf("--- Part 1: one %,d MB file ---%n", megabytes);
+        System.out.printf("%-34s %10s%n", "Copy", "MB/s");
+        System.out.println("──────────────────────────────────────────────");
+        for (int round = 0; round < 2; round++) {  // First round warms up the JIT and page cache
+            boolean print = round == 1;
+            measure(print, "stream copy (8 KB buffer)", Files.size(big), () -> streamCopy(big, copy));
+            measure(print, "Files.copy", Files.size(big),
+                () -> Files.copy(big, copy, StandardCopyOption.REPLACE_EXISTING));
+            measure(print, "transferTo, no fsync", Files.size(big), () -> transfer.copyFile(big, copy));
+            measure(print, "transferTo, fsync at end", Files.size(big), () -> synced.copyFile(big, copy));
+        }
+        check(big, copy);
+
+        System.out.printf("%n--- Part 2: %,d files of %d KB in 20 directories ---%n",
+            SMALL_FILES, SMALL_FILE_BYTES / 1024);
+        Path tree = work.resolve("tree");
+        writeTree(tree);
+        System.out.printf("%-34s %10s %12s%n", "Copy", "MB/s", "files/s");
+        System.out.println("──────────────────────────────────────────────────────────");
+        for (int round = 0; round < 2; round++) {
+            boolean print = round == 1;
+            Path target = work.resolve("tree-copy-" + round);
+            long start = System.nanoTime();
+            long bytes = filesCopyTree(tree, target.resolve("files-copy"));
+            FileTransfer.Result loop = new FileTransfer.Result(SMALL_FILES, bytes, System.nanoTime() - start);
+            FileTransfer.Result one = transfer.copyTree(tree, target.resolve("one-thread"), 1);
+            FileTransfer.Result four = transfer.copyTree(tree, target.resolve("four-threads"), 4);
+            if (print) {
+                printTree("Files.copy loop", loop);
+                printTree("copyTree, 1 thread", one);
+                printTree("copyTree, 4 threads", four);
+            }
+        }
+
+        System.out.println("\n--- Part 3: file → socket → file ---");
+        Path received = work.resolve("artifact.received");
+        FileTransfer.Result sent = sendOverSocket(transfer, big, received);
+        System.out.println("  sendfile + transferFrom: " + sent);
+        check(big, received);
+
+        deleteTree(work);
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    interface Copy {
+        Object run() throws IOException;
+    }
+
+    private static void measure(boolean print, String name, long bytes, Copy copy) throws IOException {
+        long start = System.nanoTime();
+        copy.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (print) {
+            System.out.printf("%-34s %,10.0f%n", name, bytes / 1e6 / seconds);
+        }
+    }
+
+    private static void printTree(String name, FileTransfer.Result result) {
+        System.out.printf("%-34s %,10.0f %,12.0f%n", name, result.megabytesPerSecond(), result.filesPerSecond());
+    }
+
+    private static long streamCopy(Path source, Path target) throws IOException {
+        try (InputStream in = new FileInputStream(source.toFile());
+             OutputStream out = new FileOutputStream(target.toFile())) {
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+                total += read;
+            }
+            return total;
+        }
+    }
+
+    private static long filesCopyTree(Path sourceDir, Path targetDir) throws IOException {
+        long bytes = 0;
+        try (Stream<Path> walk = Files.walk(sourceDir)) {
+            for (Path path : (Iterable<Path>) walk::iterator) {
+                Path copy = targetDir.resolve(sourceDir.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(path, copy, StandardCopyOption.REPLACE_EXISTING);
+                    bytes += Files.size(path);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /** Sends file over a loopback socket; a second thread receives it into target. */
+    private static FileTransfer.Result sendOverSocket(FileTransfer transfer, Path file, Path target)
+            throws Exception {
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress("127.0.0.1", 0));
+            ExecutorService receiver = Executors.newSingleThreadExecutor();
+            Future<FileTransfer.Result> done = receiver.submit(() -> {
+                try (SocketChannel socket = server.accept()) {
+                    return transfer.receive(socket, target);
+                }
+            });
+            long start = System.nanoTime();
+            try (SocketChannel socket = SocketChannel.open(server.getLocalAddress())) {
+                transfer.send(file, socket);
+            }
+            FileTransfer.Result result = done.get();
+            receiver.shutdown();
+            return new FileTransfer.Result(1, result.bytes, System.nanoTime() - start);
+        }
+    }
+
+    private static void writeRandom(Path file, long size) throws IOException {
+        Random random = new Random(42);
+        byte[] block = new byte[1024 * 1024];
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (long written = 0; written < size; written += block.length) {
+                random.nextBytes(block);
+                out.write(block, 0, (int) Math.min(block.length, size - written));
+            }
+        }
+    }
+
+    private static void writeTree(Path root) throws IOException {
+        Random random = new Random(1);
+        byte[] content = new byte[SMALL_FILE_BYTES];
+        for (int i = 0; i < SMALL_FILES; i++) {
+            Path directory = root.resolve("dir-" + (i % 20));
+            Files.createDirectories(directory);
+            random.nextBytes(content);
+            Files.write(directory.resolve("file-" + i + ".bin"), content);
+        }
+    }
+
+    private static void check(Path expected, Path actual) throws IOException {
+        if (Files.mismatch(expected, actual) != -1) {
+            throw new IllegalStateException(actual + " differs from " + expected);
+        }
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        try (Stream<Path> walk = Files.walk(root)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,326 @@
+/**
+ * ============================================
+ * SIDECAR LINE-OFFSET INDEX
+ * ============================================
+ *
+ * readAllLines / BufferedReader / Scanner can only go forward: to show
+ * line 150,000,000 of a 20 GB log, they read every line before it.
+ *
+ * A line index does that scan ONCE and remembers where every line starts:
+ *
+ *   big.log        line 0 ... \n line 1 ......... \n line 2 .. \n
+ *   big.log.idx    [header] 38 87 23 ...      ← line LENGTHS as varints
+ *
+ * Storing lengths (deltas between line starts) instead of 8-byte offsets
+ * keeps the index small: a typical line length fits in 1-2 bytes. In
+ * memory, the absolute offset of every 64th line is kept as a checkpoint,
+ * so finding line N decodes at most 63 small numbers. Reading a range of
+ * lines is then ONE positional read.
+ *
+ * The index covers complete lines only (ending in '\n'). When the file
+ * grows, update() scans just the new bytes and appends to the .idx file.
+ * The header stores a CRC of the last indexed bytes; if the file was
+ * replaced or truncated, the index is rebuilt.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+public class LineIndex implements AutoCloseable {
+
+    private static final int MAGIC = 0x4C494458;  // "LIDX"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;   // magic, version, lineCount, indexedBytes, fingerprint
+    private static final int CHECKPOINT_SHIFT = 6;  // A checkpoint every 64 lines
+    private static final int FINGERPRINT_BYTES = 4096;
+    private static final int SCAN_BUFFER_BYTES = 1 << 20;
+
+    private final Path file;
+    private final Path sidecar;
+    private final FileChannel data;
+
+    // Line lengths as varints, plus a checkpoint every 64 lines
+    private byte[] lengths = new byte[1024];
+    private int lengthsUsed;
+    private long[] checkpointOffsets = new long[64];
+    private int[] checkpointPositions = new int[64];
+    private long lineCount;
+    private long indexedBytes;  // End of the last complete line
+    private long storedFingerprint;
+
+    private LineIndex(Path file) throws IOException {
+        this.file = file;
+        this.sidecar = file.resolveSibling(file.getFileName() + ".idx");
+        this.data = FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    /**
+     * Opens the index for file: loads file.idx if it still matches the
+     * file, builds it otherwise, then indexes any lines added since.
+     */
+    public static LineIndex open(Path file) throws IOException {
+        LineIndex index = new LineIndex(file);
+        try {
+            if (!index.load()) {
+                index.reset();
+            }
+            index.update();
+            return index;
+        } catch (IOException | RuntimeException e) {
+            index.close();
+            throw e;
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Lookups
+    // ─────────────────────────────────────────────
+
+    /** Number of complete (newline-terminated) lines indexed. */
+    public long lineCount() {
+        return lineCount;
+    }
+
+    /** Bytes of the file covered by the index. */
+    public long indexedBytes() {
+        return indexedBytes;
+    }
+
+    /** Size of the line lengths in memory / on disk (without header). */
+    public long indexBytes() {
+        return lengthsUsed;
+    }
+
+    /** File offset where line starts; lineStart(lineCount()) is the end of the last line. */
+    public long lineStart(long line) {
+        if (line < 0 || line > lineCount) {
+            throw new IndexOutOfBoundsException("Line " + line + " of " + lineCount);
+        }
+        if (line == lineCount) {
+            return indexedBytes;
+        }
+        int block = (int) (line >>> CHECKPOINT_SHIFT);
+        long offset = checkpointOffsets[block];
+        int position = checkpointPositions[block];
+        for (int skip = (int) (line & ((1 << CHECKPOINT_SHIFT) - 1)); skip > 0; skip--) {
+            long length = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = lengths[position++];
+                length |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            offset += length;
+        }
+        return offset;
+    }
+
+    /** Reads count lines starting at line with one positional read (line breaks removed). */
+    public List<String> readLines(long line, int count) throws IOException {
+        ByteBuffer bytes = readRange(line, count);
+        List<String> lines = new ArrayList<>(count);
+        byte[] array = bytes.array();
+        int start = 0;
+        for (int i = 0; i < bytes.limit(); i++) {
+            if (array[i] == '\n') {
+                int end = i > start && array[i - 1] == '\r' ? i - 1 : i;
+                lines.add(new String(array, start, end - start, StandardCharsets.UTF_8));
+                start = i + 1;
+            }
+        }
+        return lines;
+    }
+
+    /** The raw bytes of count lines starting at line, including their line breaks. */
+    public ByteBuffer readRange(long line, int count) throws IOException {
+        long last = Math.min(lineCount, line + count);
+        long start = lineStart(line);
+        long end = lineStart(last);
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Range of " + (end - start) + " bytes is too large");
+        }
+        ByteBuffer bytes = ByteBuffer.allocate((int) (end - start));
+        while (bytes.hasRemaining()) {
+            if (data.read(bytes, start + bytes.position()) < 0) {
+                throw new EOFException(file + " is shorter than its index");
+            }
+        }
+        bytes.flip();
+        return bytes;
+    }
+
+    // ─────────────────────────────────────────────
+    // Building and growing
+    // ─────────────────────────────────────────────
+
+    /**
+     * Indexes lines added to the file since the last call and appends them
+     * to the sidecar. If the file shrank or was replaced, the index is
+     * rebuilt. Returns the number of new lines.
+     */
+    public long update() throws IOException {
+        long size = data.size();
+        boolean rebuild = size < indexedBytes || fingerprint(indexedBytes) != storedFingerprint;
+        if (rebuild) {
+            reset();
+        }
+        long before = lineCount;
+        int sidecarFrom = lengthsUsed;
+
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        byte[] array = buffer.array();
+        long position = indexedBytes;
+        while (position < size) {
+            buffer.clear();
+            int read = data.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (array[i] == '\n') {
+                    addLine(position + i + 1 - indexedBytes);
+                }
+            }
+            position += read;
+        }
+        if (lineCount != before || rebuild || !Files.exists(sidecar)) {
+            storedFingerprint = fingerprint(indexedBytes);
+            saveFrom(sidecarFrom);
+        }
+        return lineCount - before;
+    }
+
+    private void addLine(long length) {
+        if ((lineCount & ((1 << CHECKPOINT_SHIFT) - 1)) == 0) {
+            int block = (int) (lineCount >>> CHECKPOINT_SHIFT);
+            if (block == checkpointOffsets.length) {
+                checkpointOffsets = Arrays.copyOf(checkpointOffsets, block * 2);
+                checkpointPositions = Arrays.copyOf(checkpointPositions, block * 2);
+            }
+            checkpointOffsets[block] = indexedBytes;
+            checkpointPositions[block] = lengthsUsed;
+        }
+        if (lengthsUsed + 10 > lengths.length) {
+            if (lengths.length >= Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Index of " + file + " is too large");
+            }
+            lengths = Arrays.copyOf(lengths, (int) Math.min(Integer.MAX_VALUE - 8, lengths.length * 2L));
+        }
+        long value = length;
+        while (value >= 0x80) {
+            lengths[lengthsUsed++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        lengths[lengthsUsed++] = (byte) value;
+        indexedBytes += length;
+        lineCount++;
+    }
+
+    private void reset() {
+        lengthsUsed = 0;
+        lineCount = 0;
+        indexedBytes = 0;
+        storedFingerprint = 0;  // CRC32 of no bytes
+    }
+
+    /** CRC32 of the (up to) 4 KB before end, to notice a replaced file. */
+    private long fingerprint(long end) throws IOException {
+        int length = (int) Math.min(FINGERPRINT_BYTES, end);
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        long start = end - length;
+        while (bytes.hasRemaining()) {
+            if (data.read(bytes, start + bytes.position()) < 0) {
+                return -1;
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.flip());
+        return crc.getValue();
+    }
+
+    // ─────────────────────────────────────────────
+    // Sidecar file
+    // ─────────────────────────────────────────────
+
+    /** Appends lengths[from..] to the sidecar, then rewrites the header. */
+    private void saveFrom(int from) throws IOException {
+        try (FileChannel out = FileChannel.open(sidecar, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (from == 0) {
+                out.truncate(0);
+            }
+            // Lines first, header last: a crash in between leaves extra bytes
+            // after the lines the header counts, and load() ignores them
+            ByteBuffer body = ByteBuffer.wrap(lengths, from, lengthsUsed - from);
+            long position = HEADER_BYTES + from;
+            while (body.hasRemaining()) {
+                position += out.write(body, position);
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putLong(lineCount).putLong(indexedBytes)
+                  .putLong(storedFingerprint).flip();
+            while (header.hasRemaining()) {
+                out.write(header, header.position());
+            }
+            out.truncate(HEADER_BYTES + (long) lengthsUsed);
+        }
+    }
+
+    /** Loads the sidecar; returns false if it is missing, damaged or belongs to other content. */
+    private boolean load() throws IOException {
+        if (!Files.exists(sidecar)) {
+            return false;
+        }
+        byte[] stored = Files.readAllBytes(sidecar);
+        if (stored.length < HEADER_BYTES) {
+            return false;
+        }
+        ByteBuffer header = ByteBuffer.wrap(stored, 0, HEADER_BYTES);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            return false;
+        }
+        long lines = header.getLong();
+        long end = header.getLong();
+        long fingerprint = header.getLong();
+        if (end > data.size() || fingerprint(end) != fingerprint) {
+            return false;
+        }
+
+        // Decode once to rebuild the checkpoints
+        lengths = new byte[Math.max(1024, stored.length - HEADER_BYTES + 10)];
+        int position = HEADER_BYTES;
+        for (long line = 0; line < lines; line++) {
+            long length = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (position >= stored.length) {
+                    reset();
+                    return false;
+                }
+                b = stored[position++];
+                length |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            addLine(length);
+        }
+        if (indexedBytes != end) {
+            reset();
+            return false;
+        }
+        storedFingerprint = fingerprint;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        data.close();
+    }
+}
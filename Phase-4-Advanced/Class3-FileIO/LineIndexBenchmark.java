@@ -0,0 +1,147 @@
+/**
+ * ============================================
+ * LINE INDEX BENCHMARK
+ * ============================================
+ *
+ * Generates a large log file, then:
+ *
+ * 1. builds the line index (one sequential pass) and reports its size
+ * 2. reads 10 lines at random line numbers:
+ *      - BufferedReader, skipping lines from the start (a few lookups)
+ *      - LineIndex.readLines (many lookups)
+ * 3. reopens the index from the .idx sidecar (no scan)
+ * 4. appends lines to the file and updates the index incrementally
+ *
+ * How to compile and run:
+ * $ javac LineIndex.java LineIndexBenchmark.java
+ * $ java LineIndexBenchmark              (500 MB file)
+ * $ java LineIndexBenchmark 2000         (custom size in MB)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+public class LineIndexBenchmark {
+
+    private static final String[] MESSAGES = {
+        "GET /api/orders 200", "POST /api/orders 201 created", "GET /health 200",
+        "WARN slow query on table customers took 812 ms", "ERROR payment gateway timeout, retrying"
+    };
+
+    public static void main(String[] args) throws IOException {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     LINE INDEX BENCHMARK                                 ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+
+        Path file = Files.createTempFile("server", ".log");
+        Path sidecar = file.resolveSibling(file.getFileName() + ".idx");
+        long lines = append(file, 0, megabytes * 1024L * 1024L);
+        double fileMb = Files.size(file) / 1e6;
+        System.out.printf("File: %.0f MB, %,d lines%n%n", fileMb, lines);
+
+        // 1. Build
+        long start = System.nanoTime();
+        LineIndex index = LineIndex.open(file);
+        double buildSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.println("--- Build ---");
+        System.out.printf("  Scanned %,d lines in %.2f s (%.0f MB/s)%n", index.lineCount(), buildSeconds,
+            fileMb / buildSeconds);
+        System.out.printf("  Index: %,d bytes = %.2f bytes/line (vs 8 for a long[] of offsets)%n%n",
+            Files.size(sidecar), (double) index.indexBytes() / index.lineCount());
+
+        // 2. Random access
+        System.out.println("--- Read 10 lines at a random line number ---");
+        System.out.printf("%-30s %10s %14s%n", "Method", "lookups", "µs/lookup");
+        System.out.println("──────────────────────────────────────────────────────────");
+        Random random = new Random(3);
+        int slowLookups = 5;
+        start = System.nanoTime();
+        for (int i = 0; i < slowLookups; i++) {
+            long line = (long) (random.nextDouble() * (lines - 10));
+            check(line, readBySkipping(file, line, 10));
+        }
+        System.out.printf("%-30s %,10d %,14.1f%n", "BufferedReader, skip lines", slowLookups,
+            (System.nanoTime() - start) / 1e3 / slowLookups);
+        for (int round = 0; round < 2; round++) {  // First round warms up the JIT
+            int lookups = 200_000;
+            start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                long line = (long) (random.nextDouble() * (lines - 10));
+                check(line, index.readLines(line, 10));
+            }
+            if (round == 1) {
+                System.out.printf("%-30s %,10d %,14.1f%n", "LineIndex.readLines", lookups,
+                    (System.nanoTime() - start) / 1e3 / lookups);
+            }
+        }
+        index.close();
+
+        // 3. Reopen from the sidecar
+        start = System.nanoTime();
+        index = LineIndex.open(file);
+        System.out.printf("%n--- Reopen ---%n  Loaded %,d lines from %s in %.0f ms%n", index.lineCount(),
+            sidecar.getFileName(), (System.nanoTime() - start) / 1e6);
+
+        // 4. The file grows
+        long added = append(file, lines, 10L * 1024 * 1024) - lines;
+        start = System.nanoTime();
+        long indexed = index.update();
+        System.out.printf("%n--- Grow ---%n  Appended %,d lines; update() indexed %,d in %.0f ms%n",
+            added, indexed, (System.nanoTime() - start) / 1e6);
+        long last = index.lineCount() - 3;
+        check(last, index.readLines(last, 3));
+        System.out.println("  Last lines: " + index.readLines(last, 3).get(2));
+
+        index.close();
+        Files.delete(file);
+        Files.delete(sidecar);
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    /** Appends numbered log lines until bytes more have been written; returns the new line count. */
+    private static long append(Path file, long firstLine, long bytes) throws IOException {
+        Random random = new Random(firstLine);
+        long line = firstLine;
+        long written = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                 StandardOpenOption.APPEND)) {
+            StringBuilder text = new StringBuilder(128);
+            while (written < bytes) {
+                text.setLength(0);
+                text.append("line=").append(line).append(" user=").append(random.nextInt(100_000))
+                    .append(' ').append(MESSAGES[random.nextInt(MESSAGES.length)]).append('\n');
+                out.append(text);
+                written += text.length();
+                line++;
+            }
+        }
+        return line;
+    }
+
+    private static List<String> readBySkipping(Path file, long line, int count) throws IOException {
+        List<String> result = new ArrayList<>(count);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for (long skipped = 0; skipped < line; skipped++) {
+                reader.readLine();
+            }
+            for (int i = 0; i < count; i++) {
+                result.add(reader.readLine());
+            }
+        }
+        return result;
+    }
+
+    private static void check(long firstLine, List<String> lines) {
+        for (int i = 0; i < lines.size(); i++) {
+            if (!lines.get(i).startsWith("line=" + (firstLine + i) + " ")) {
+                throw new IllegalStateException("Expected line " + (firstLine + i) + ", got " + lines.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,443 @@
+/**
+ * ============================================
+ * MEMORY-MAPPED, ZERO-ALLOCATION CSV READER
+ * ============================================
+ *
+ * The CSV demo in FileIODemo reads with readLine() + split(","):
+ *
+ *   - every line becomes a String, every field another String, plus a
+ *     String[] per line: gigabytes of garbage for a large file
+ *   - "Washington, D.C." is split in two, because split() knows nothing
+ *     about quotes
+ *
+ * This reader maps the file into memory and works on the raw bytes:
+ *
+ *   file bytes:  1 , " W a s h i n g t o n ,   D . C . " , 3 . 5 \n
+ *                ▲   ▲                                 ▲   ▲
+ *   fields:      [0] [1]: offset + length, quoted      [2] ...
+ *
+ * - A record is described by field OFFSETS and LENGTHS into the mapped
+ *   bytes; nothing is copied or allocated while scanning.
+ * - Values are converted only when asked for: getInt(), getDouble() parse
+ *   digits straight from the bytes, getString() creates a String.
+ * - Delimiters are found 8 bytes at a time: one long is read and every
+ *   byte is compared at once with bit tricks (SWAR, "SIMD within a
+ *   register").
+ * - Quoting follows RFC 4180: "..." may contain delimiters and line
+ *   breaks, and "" inside quotes is one " character. Lines may end with
+ *   \n or \r\n.
+ * - Files larger than 2 GB are mapped in windows (a single mapping is
+ *   limited to 2 GB); a record must fit in one window.
+ *
+ * Usage:
+ *   try (MappedCsvReader csv = MappedCsvReader.open(path)) {
+ *       csv.next();                           // skip the header
+ *       while (csv.next()) {
+ *           String name = csv.getString(0);
+ *           int age = csv.getInt(1);
+ *       }
+ *   }
+ *
+ * How to compile and run the benchmark:
+ * $ javac CsvReaderBenchmark.java
+ * $ java CsvReaderBenchmark
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+public class MappedCsvReader implements AutoCloseable {
+
+    private static final long DEFAULT_WINDOW_BYTES = 512L * 1024 * 1024;
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long NEWLINES = ONES * '\n';
+    private static final long QUOTES = ONES * '"';
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;  // Exact up to 10^22
+        }
+    }
+
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    private final long end;
+    private final long windowBytes;
+    private final byte delimiter;
+    private final long delimiters;  // The delimiter repeated in all 8 bytes
+
+    private MappedByteBuffer window;
+    private long windowStart;        // File offset of window index 0
+    private int limit;               // Bytes in the window
+    private boolean windowReachesEnd;
+    private int position;            // Next record start (window index)
+    private int maskBase = -8;       // Window index of the last scanned word...
+    private long maskBits;           // ...and its delimiter/newline match bits
+
+    // The current record: one entry per field, window indexes
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private byte[] flags = new byte[16];  // QUOTED / ESCAPED
+    private int fieldCount;
+    private long recordCount;
+    private byte[] scratch = new byte[256];
+
+    private static final byte QUOTED = 1;
+    private static final byte ESCAPED = 2;  // Contains "" that getString() must turn into "
+
+    public static MappedCsvReader open(Path file) throws IOException {
+        return open(file, ',');
+    }
+
+    public static MappedCsvReader open(Path file, char delimiter) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return new MappedCsvReader(channel, true, 0, channel.size(), delimiter, DEFAULT_WINDOW_BYTES);
+    }
+
+    /**
+     * Reads only the records in [start, end) of an open channel; start must
+     * be the beginning of a record. The channel is not closed by close().
+     */
+    MappedCsvReader(FileChannel channel, long start, long end, char delimiter) throws IOException {
+        this(channel, false, start, end, delimiter, DEFAULT_WINDOW_BYTES);
+    }
+
+    private MappedCsvReader(FileChannel channel, boolean ownsChannel, long start, long end,
+                            char delimiter, long windowBytes) throws IOException {
+        if (delimiter > 127 || delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Unsupported delimiter: " + delimiter);
+        }
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.end = end;
+        this.windowBytes = windowBytes;
+        this.delimiter = (byte) delimiter;
+        this.delimiters = ONES * delimiter;
+        map(start);
+    }
+
+    private void map(long fileOffset) throws IOException {
+        long size = Math.min(windowBytes, end - fileOffset);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, fileOffset, size);
+        window.order(ByteOrder.LITTLE_ENDIAN);  // Byte i of a word is the i-th byte in the file
+        windowStart = fileOffset;
+        limit = (int) size;
+        windowReachesEnd = fileOffset + size >= end;
+        position = 0;
+        maskBase = -8;
+    }
+
+    // ─────────────────────────────────────────────
+    // Scanning
+    // ─────────────────────────────────────────────
+
+    /** Moves to the next record; returns false at the end of the file. */
+    public boolean next() throws IOException {
+        while (true) {
+            if (position >= limit) {
+                if (windowReachesEnd) {
+                    fieldCount = 0;
+                    return false;
+                }
+                map(windowStart + position);
+                continue;
+            }
+            int nextRecord = parseRecord(position);
+            if (nextRecord >= 0) {
+                position = nextRecord;
+                recordCount++;
+                return true;
+            }
+            // The record runs past the end of this window: map a new window starting at it
+            if (position == 0) {
+                throw new IOException("Record at offset " + windowStart + " is larger than "
+                    + windowBytes + " bytes");
+            }
+            map(windowStart + position);
+        }
+    }
+
+    /** Parses one record starting at p; returns where the next one starts, or -1 if cut off. */
+    private int parseRecord(int p) {
+        fieldCount = 0;
+        while (true) {
+            int terminator;
+            if (p < limit && window.get(p) == '"') {
+                int contentStart = p + 1;
+                int q = contentStart;
+                byte fieldFlags = QUOTED;
+                while (true) {
+                    q = indexOfQuote(q);
+                    if (q >= limit || (q + 1 >= limit && !windowReachesEnd)) {
+                        if (!windowReachesEnd) {
+                            return -1;
+                        }
+                        break;  // Unterminated quote at end of file: take the rest
+                    }
+                    if (q + 1 < limit && window.get(q + 1) == '"') {
+                        fieldFlags |= ESCAPED;  // "" = one quote character
+                        q += 2;
+                        continue;
+                    }
+                    break;
+                }
+                addField(contentStart, Math.min(q, limit), fieldFlags);
+                terminator = q + 1;
+                // Anything between the closing quote and the delimiter (e.g. \r) is skipped
+                if (terminator < limit && window.get(terminator) != delimiter
+                        && window.get(terminator) != '\n') {
+                    terminator = indexOfDelimiterOrNewline(terminator);
+                }
+            } else {
+                terminator = indexOfDelimiterOrNewline(p);
+                int fieldEnd = Math.min(terminator, limit);
+                if (fieldEnd > p && window.get(fieldEnd - 1) == '\r'
+                        && (terminator >= limit || window.get(terminator) == '\n')) {
+                    fieldEnd--;  // \r\n line ending
+                }
+                addField(p, fieldEnd, (byte) 0);
+            }
+
+            if (terminator >= limit) {
+                return windowReachesEnd ? limit : -1;
+            }
+            if (window.get(terminator) != delimiter) {
+                return terminator + 1;  // '\n': end of record
+            }
+            p = terminator + 1;
+        }
+    }
+
+    /**
+     * Index of the next delimiter or '\n' at or after from, or limit if none.
+     * The match bits of the last word are kept, so the many short fields
+     * that share one 8-byte word do not read it again.
+     */
+    private int indexOfDelimiterOrNewline(int from) {
+        int i = from;
+        int offsetInWord = from - maskBase;
+        if (offsetInWord >= 0 && offsetInWord < 8) {
+            long remaining = maskBits & (-1L << (offsetInWord << 3));
+            if (remaining != 0) {
+                return maskBase + (Long.numberOfTrailingZeros(remaining) >>> 3);
+            }
+            i = maskBase + 8;
+        }
+        while (i + 8 <= limit) {
+            long word = window.getLong(i);
+            long found = zeroBytes(word ^ delimiters) | zeroBytes(word ^ NEWLINES);
+            if (found != 0) {
+                maskBase = i;
+                maskBits = found;
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+            i += 8;
+        }
+        while (i < limit) {
+            byte b = window.get(i);
+            if (b == delimiter || b == '\n') {
+                return i;
+            }
+            i++;
+        }
+        return limit;
+    }
+
+    private int indexOfQuote(int from) {
+        int i = from;
+        while (i + 8 <= limit) {
+            long found = zeroBytes(window.getLong(i) ^ QUOTES);
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+            i += 8;
+        }
+        while (i < limit && window.get(i) != '"') {
+            i++;
+        }
+        return i;
+    }
+
+    /** Sets the high bit of exactly those bytes of the word that are zero. */
+    private static long zeroBytes(long word) {
+        return ~(((word & LOW_SEVEN_BITS) + LOW_SEVEN_BITS) | word | LOW_SEVEN_BITS);
+    }
+
+    private void addField(int start, int end, byte fieldFlags) {
+        if (fieldCount == starts.length) {
+            int size = fieldCount * 2;
+            starts = java.util.Arrays.copyOf(starts, size);
+            ends = java.util.Arrays.copyOf(ends, size);
+            flags = java.util.Arrays.copyOf(flags, size);
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        flags[fieldCount] = fieldFlags;
+        fieldCount++;
+    }
+
+    // ─────────────────────────────────────────────
+    // Field access (current record)
+    // ─────────────────────────────────────────────
+
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /** Records read so far, including the header if there is one. */
+    public long recordCount() {
+        return recordCount;
+    }
+
+    /** File offset of the field's first byte (inside the quotes, if quoted). */
+    public long fieldOffset(int field) {
+        return windowStart + starts[check(field)];
+    }
+
+    /** Length in bytes, without quotes (and before "" is unescaped). */
+    public int fieldLength(int field) {
+        return ends[check(field)] - starts[field];
+    }
+
+    public boolean isQuoted(int field) {
+        return (flags[check(field)] & QUOTED) != 0;
+    }
+
+    public boolean isEmpty(int field) {
+        return fieldLength(field) == 0;
+    }
+
+    /** Compares the field with an ASCII string without creating any objects. */
+    public boolean fieldEquals(int field, String ascii) {
+        int start = starts[check(field)];
+        int length = ends[field] - start;
+        if ((flags[field] & ESCAPED) != 0 || length != ascii.length()) {
+            return (flags[field] & ESCAPED) != 0 && getString(field).equals(ascii);
+        }
+        for (int i = 0; i < length; i++) {
+            if (window.get(start + i) != ascii.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String getString(int field) {
+        int start = starts[check(field)];
+        int length = ends[field] - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        window.get(start, scratch, 0, length);
+        if ((flags[field] & ESCAPED) != 0) {
+            int out = 0;
+            for (int in = 0; in < length; in++) {
+                scratch[out++] = scratch[in];
+                if (scratch[in] == '"' && in + 1 < length && scratch[in + 1] == '"') {
+                    in++;  // Keep one of the two quotes
+                }
+            }
+            length = out;
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    public int getInt(int field) {
+        long value = getLong(field);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Out of int range: " + getString(field));
+        }
+        return (int) value;
+    }
+
+    /** Parses digits directly from the mapped bytes. */
+    public long getLong(int field) {
+        int i = starts[check(field)];
+        int end = ends[field];
+        boolean negative = false;
+        if (i < end && (window.get(i) == '-' || window.get(i) == '+')) {
+            negative = window.get(i) == '-';
+            i++;
+        }
+        if (i == end || end - i > 18) {
+            return Long.parseLong(getString(field).trim());  // Empty, or may overflow: let the JDK decide
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = window.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Not a number: " + getString(field));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Fast path for plain decimals like -123.45: the digits are collected
+     * into a long and divided by an exact power of ten once, which gives
+     * the correctly rounded double. Anything else (exponents, more than
+     * 15 significant digits) goes through Double.parseDouble.
+     */
+    public double getDouble(int field) {
+        int i = starts[check(field)];
+        int end = ends[field];
+        boolean negative = false;
+        if (i < end && (window.get(i) == '-' || window.get(i) == '+')) {
+            negative = window.get(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        boolean anyDigit = false;
+        int digits = 0;
+        int fractionDigits = -1;  // -1 = no decimal point seen yet
+        for (; i < end; i++) {
+            byte b = window.get(i);
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                anyDigit = true;
+                if (mantissa != 0) {
+                    digits++;
+                }
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                digits = Integer.MAX_VALUE;  // Not a plain decimal
+                break;
+            }
+        }
+        if (!anyDigit || digits > 15 || fractionDigits >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(getString(field).trim());
+        }
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private int check(int field) {
+        if (field < 0 || field >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + field + " of " + fieldCount
+                + " in record " + recordCount);
+        }
+        return field;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;  // The mapping is released when the buffer is garbage collected
+        if (ownsChannel) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * ============================================
+ * PARALLEL CSV PARSING BENCHMARK
+ * ============================================
+ *
+ * Generates the same id,name,age,city,score file as CsvReaderBenchmark
+ * and sums the age and score columns with:
+ *
+ * - MappedCsvReader                         (one thread)
+ * - ParallelCsvParser ORDERED / UNORDERED   (1, 2, 4, ... pool threads)
+ *
+ * It reports MB/s and the speedup over one thread. Before timing, a small
+ * file with line breaks INSIDE quoted fields is parsed with tiny chunks,
+ * to check that chunk cuts never split a record.
+ *
+ * Speedup depends on the cores you have. On one core, the parallel parser
+ * can only be as fast as the single reader (plus a quote-counting pass).
+ *
+ * How to compile and run:
+ * $ javac *.java                         (uses the generator from CsvReaderBenchmark.java)
+ * $ java ParallelCsvBenchmark             (200 MB file)
+ * $ java ParallelCsvBenchmark 1000        (custom size in MB)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ParallelCsvBenchmark {
+
+    private static final ParallelCsvParser.ColumnType[] COLUMNS = {
+        ParallelCsvParser.ColumnType.SKIP, ParallelCsvParser.ColumnType.SKIP,
+        ParallelCsvParser.ColumnType.INT, ParallelCsvParser.ColumnType.SKIP,
+        ParallelCsvParser.ColumnType.DOUBLE
+    };
+
+    public static void main(String[] args) throws Exception {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     PARALLEL CSV PARSING BENCHMARK                       ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+
+        checkQuotedLineBreaks();
+
+        Path file = Files.createTempFile("demo_data", ".csv");
+        long[] expected = CsvReaderBenchmark.generate(file, megabytes * 1024L * 1024L);
+        double fileMb = Files.size(file) / 1e6;
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("File: %.0f MB, %,d records, %d core(s) available%n%n", fileMb, expected[0], cores);
+
+        TreeSet<Integer> poolSizes = new TreeSet<>(List.of(1, 2, 4, cores));
+
+        System.out.printf("%-34s %10s %10s  %s%n", "Parser", "MB/s", "speedup", "result");
+        System.out.println("──────────────────────────────────────────────────────────────────");
+        for (int round = 0; round < 2; round++) {  // First round warms up the JIT and page cache
+            boolean print = round == 1;
+            double baseline = measure(print, "MappedCsvReader (1 thread)", fileMb, 0, expected,
+                () -> readSequential(file));
+            for (int threads : poolSizes) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                measure(print, "ORDERED,   " + threads + " thread(s)", fileMb, baseline, expected,
+                    () -> readParallel(file, pool, ParallelCsvParser.Order.ORDERED));
+                measure(print, "UNORDERED, " + threads + " thread(s)", fileMb, baseline, expected,
+                    () -> readParallel(file, pool, ParallelCsvParser.Order.UNORDERED));
+                pool.shutdown();
+            }
+        }
+
+        Files.delete(file);
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    interface Reader {
+        long[] read() throws IOException;  // {records, age sum, score sum in cents}
+    }
+
+    /** Runs the reader once; returns MB/s. */
+    private static double measure(boolean print, String name, double fileMb, double baseline,
+                                  long[] expected, Reader reader) throws IOException {
+        long start = System.nanoTime();
+        long[] result = reader.read();
+        double rate = fileMb / ((System.nanoTime() - start) / 1e9);
+        if (print) {
+            String speedup = baseline == 0 ? "1.00x" : String.format("%.2fx", rate / baseline);
+            System.out.printf("%-34s %,10.0f %10s  %s%n", name, rate, speedup,
+                Arrays.equals(result, expected) ? "✓ correct" : "✗ wrong " + Arrays.toString(result));
+        }
+        return rate;
+    }
+
+    private static long[] readSequential(Path file) throws IOException {
+        long records = 0, ageSum = 0, scoreCents = 0;
+        try (MappedCsvReader csv = MappedCsvReader.open(file)) {
+            csv.next();  // Header
+            while (csv.next()) {
+                records++;
+                ageSum += csv.getInt(2);
+                scoreCents += Math.round(csv.getDouble(4) * 100);
+            }
+        }
+        return new long[] {records, ageSum, scoreCents};
+    }
+
+    private static long[] readParallel(Path file, ForkJoinPool pool, ParallelCsvParser.Order order)
+            throws IOException {
+        LongAdder ageSum = new LongAdder();
+        LongAdder scoreCents = new LongAdder();
+        ParallelCsvParser parser = new ParallelCsvParser(file, true, COLUMNS);
+        long records = parser.parse(pool, order, chunk -> {
+            int[] ages = chunk.ints(2);
+            double[] scores = chunk.doubles(4);
+            long chunkAges = 0, chunkCents = 0;
+            for (int row = 0; row < chunk.rows(); row++) {
+                chunkAges += ages[row];
+                chunkCents += Math.round(scores[row] * 100);
+            }
+            ageSum.add(chunkAges);
+            scoreCents.add(chunkCents);
+        });
+        return new long[] {records, ageSum.sum(), scoreCents.sum()};
+    }
+
+    /** Quoted fields with line breaks and commas, cut into 1 KB chunks, must give the same rows. */
+    private static void checkQuotedLineBreaks() throws IOException {
+        Path file = Files.createTempFile("notes", ".csv");
+        List<String> expected = new ArrayList<>();
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("id,note\n");
+            for (int i = 0; i < 2_000; i++) {
+                String note = i % 3 == 0 ? "line one\nline \"\"two\"\", with comma" : "plain note " + i;
+                out.write(i + ",\"" + note + "\"\n");
+                expected.add(i + ":" + note.replace("\"\"", "\""));
+            }
+        }
+
+        ParallelCsvParser parser = new ParallelCsvParser(file, true, ',', 1024,
+            ParallelCsvParser.ColumnType.INT, ParallelCsvParser.ColumnType.STRING);
+        List<String> actual = new ArrayList<>();
+        int[] chunks = {0};
+        parser.parse(ForkJoinPool.commonPool(), ParallelCsvParser.Order.ORDERED, chunk -> {
+            chunks[0]++;
+            for (int row = 0; row < chunk.rows(); row++) {
+                actual.add(chunk.ints(0)[row] + ":" + chunk.strings(1)[row]);
+            }
+        });
+        Files.delete(file);
+
+        if (!actual.equals(expected)) {
+            throw new IllegalStateException("Chunk boundaries split a quoted record");
+        }
+        System.out.printf("Boundary check: %,d records with quoted line breaks in %d chunks ✓%n%n",
+            actual.size(), chunks[0]);
+    }
+}
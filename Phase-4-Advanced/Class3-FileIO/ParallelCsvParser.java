@@ -0,0 +1,336 @@
+/**
+ * ============================================
+ * PARALLEL CHUNKED CSV PARSER
+ * ============================================
+ *
+ * MappedCsvReader is fast, but it only uses one core. This parser cuts
+ * the file into byte ranges and parses them at the same time on a
+ * ForkJoinPool:
+ *
+ *   file:   |████ chunk 0 ████|████ chunk 1 ████|████ chunk 2 ████|
+ *                             ▲                 ▲
+ *                   each cut is moved forward to the start of the
+ *                   next RECORD, so no record is split in two
+ *
+ * Finding record starts is harder than "the next \n": a quoted field may
+ * contain line breaks. So parsing takes two parallel passes:
+ *
+ *   1. count the quote characters in every range; an odd count flips
+ *      "inside quotes" for everything after it. A running XOR over the
+ *      ranges tells whether each range STARTS inside quotes.
+ *   2. from each cut, find the first \n that is outside quotes, then
+ *      parse the records between two such points.
+ *
+ * Every chunk fills one primitive array per column (int[], long[],
+ * double[]), so a million rows of numbers are a few arrays, not a million
+ * objects. The caller picks how chunks are delivered:
+ *
+ *   ORDERED     in file order, on the calling thread
+ *   UNORDERED   as soon as each chunk is parsed, on the pool's threads
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+public class ParallelCsvParser {
+
+    public enum ColumnType { INT, LONG, DOUBLE, STRING, SKIP }
+
+    public enum Order { ORDERED, UNORDERED }
+
+    private static final long DEFAULT_CHUNK_BYTES = 16L * 1024 * 1024;
+    private static final long QUOTES = 0x0101010101010101L * '"';
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    private final Path file;
+    private final boolean hasHeader;
+    private final char delimiter;
+    private final long chunkBytes;
+    private final ColumnType[] columns;
+
+    public ParallelCsvParser(Path file, boolean hasHeader, ColumnType... columns) {
+        this(file, hasHeader, ',', DEFAULT_CHUNK_BYTES, columns);
+    }
+
+    /** @param chunkBytes target size of one chunk (chunks end on record boundaries) */
+    public ParallelCsvParser(Path file, boolean hasHeader, char delimiter, long chunkBytes,
+                             ColumnType... columns) {
+        if (chunkBytes < 1024 || chunkBytes > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Chunk size out of range: " + chunkBytes);
+        }
+        this.file = file;
+        this.hasHeader = hasHeader;
+        this.delimiter = delimiter;
+        this.chunkBytes = chunkBytes;
+        this.columns = columns.clone();
+    }
+
+    /**
+     * Parses the whole file. With ORDERED the sink is called on this
+     * thread in file order; with UNORDERED it is called on pool threads
+     * and must be thread-safe. Returns the number of records parsed.
+     */
+    public long parse(ForkJoinPool pool, Order order, Consumer<Chunk> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] starts = recordAlignedStarts(channel, pool);
+            int chunkCount = starts.length - 1;
+
+            if (order == Order.UNORDERED) {
+                List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+                for (int i = 0; i < chunkCount; i++) {
+                    int index = i;
+                    tasks.add(pool.submit(() -> {
+                        Chunk chunk = parseChunk(channel, index, starts[index], starts[index + 1]);
+                        sink.accept(chunk);
+                        return chunk;
+                    }));
+                }
+                long records = 0;
+                for (ForkJoinTask<Chunk> task : tasks) {
+                    records += join(task).rows;
+                }
+                return records;
+            }
+
+            // ORDERED: keep a limited number of chunks in flight so memory stays bounded
+            int window = Math.max(2, pool.getParallelism() * 2);
+            Deque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>();
+            long records = 0;
+            int next = 0;
+            while (next < chunkCount || !inFlight.isEmpty()) {
+                while (next < chunkCount && inFlight.size() < window) {
+                    int index = next++;
+                    inFlight.add(pool.submit(() -> parseChunk(channel, index, starts[index], starts[index + 1])));
+                }
+                Chunk chunk = join(inFlight.poll());
+                sink.accept(chunk);
+                records += chunk.rows;
+            }
+            return records;
+        }
+    }
+
+    private static Chunk join(ForkJoinTask<Chunk> task) throws IOException {
+        try {
+            return task.join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Pass 1: record-aligned chunk boundaries
+    // ─────────────────────────────────────────────
+
+    /** Returns chunk start offsets, plus the file size as the final entry. */
+    private long[] recordAlignedStarts(FileChannel channel, ForkJoinPool pool) throws IOException {
+        long size = channel.size();
+        int ranges = (int) Math.max(1, (size + chunkBytes - 1) / chunkBytes);
+
+        // Count quotes in every range at the same time
+        List<ForkJoinTask<Long>> counts = new ArrayList<>();
+        for (int i = 0; i < ranges; i++) {
+            long from = i * chunkBytes;
+            long to = Math.min(size, from + chunkBytes);
+            counts.add(pool.submit(() -> countQuotes(channel, from, to)));
+        }
+
+        // A range starts inside quotes if the quotes before it add up to an odd number
+        long[] starts = new long[ranges + 1];
+        int chunks = 0;
+        boolean insideQuotes = false;
+        for (int i = 0; i < ranges; i++) {
+            long from = i * chunkBytes;
+            long start = i == 0 ? 0 : firstRecordStart(channel, from, size, insideQuotes);
+            if (start < size && (chunks == 0 || start > starts[chunks - 1])) {
+                starts[chunks++] = start;
+            }
+            insideQuotes ^= (counts.get(i).join() & 1) == 1;
+        }
+        if (chunks == 0) {
+            starts[chunks++] = 0;  // Empty file: one empty chunk
+        }
+        starts[chunks] = size;
+        return Arrays.copyOf(starts, chunks + 1);
+    }
+
+    private static long countQuotes(FileChannel channel, long from, long to) {
+        try {
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+            bytes.order(ByteOrder.LITTLE_ENDIAN);
+            int limit = bytes.limit();
+            long count = 0;
+            int i = 0;
+            for (; i + 8 <= limit; i += 8) {
+                long word = bytes.getLong(i) ^ QUOTES;
+                count += Long.bitCount(~(((word & LOW_SEVEN_BITS) + LOW_SEVEN_BITS) | word | LOW_SEVEN_BITS));
+            }
+            for (; i < limit; i++) {
+                if (bytes.get(i) == '"') {
+                    count++;
+                }
+            }
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Offset just after the first line break at or after from that is outside quotes. */
+    private static long firstRecordStart(FileChannel channel, long from, long size, boolean insideQuotes)
+            throws IOException {
+        long position = from;
+        MappedByteBuffer bytes = null;
+        long mappedAt = 0;
+        while (position < size) {
+            if (bytes == null || position - mappedAt >= bytes.limit()) {
+                mappedAt = position;
+                bytes = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(1 << 20, size - position));
+            }
+            byte b = bytes.get((int) (position - mappedAt));
+            if (b == '"') {
+                insideQuotes = !insideQuotes;
+            } else if (b == '\n' && !insideQuotes) {
+                return position + 1;
+            }
+            position++;
+        }
+        return size;
+    }
+
+    // ─────────────────────────────────────────────
+    // Pass 2: parse one chunk into column arrays
+    // ─────────────────────────────────────────────
+
+    private Chunk parseChunk(FileChannel channel, int index, long start, long end) {
+        Chunk chunk = new Chunk(index, start, columns, (int) Math.max(16, (end - start) / 32));
+        try (MappedCsvReader csv = new MappedCsvReader(channel, start, end, delimiter)) {
+            if (index == 0 && hasHeader) {
+                csv.next();
+            }
+            while (csv.next()) {
+                if (csv.fieldCount() < columns.length) {
+                    throw new IllegalStateException("Record " + (chunk.rows + 1) + " of chunk " + index
+                        + " has " + csv.fieldCount() + " fields, expected " + columns.length);
+                }
+                chunk.add(csv);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return chunk;
+    }
+
+    /** The records of one chunk, stored column by column. */
+    public static final class Chunk {
+        private final int index;
+        private final long fileOffset;
+        private final ColumnType[] types;
+        private final Object[] columns;  // int[], long[], double[] or String[] per column
+        private int rows;
+
+        Chunk(int index, long fileOffset, ColumnType[] types, int capacity) {
+            this.index = index;
+            this.fileOffset = fileOffset;
+            this.types = types;
+            this.columns = new Object[types.length];
+            for (int c = 0; c < types.length; c++) {
+                columns[c] = switch (types[c]) {
+                    case INT -> new int[capacity];
+                    case LONG -> new long[capacity];
+                    case DOUBLE -> new double[capacity];
+                    case STRING -> new String[capacity];
+                    case SKIP -> null;
+                };
+            }
+        }
+
+        void add(MappedCsvReader csv) {
+            if (rows == capacity()) {
+                grow();
+            }
+            for (int c = 0; c < types.length; c++) {
+                switch (types[c]) {
+                    case INT -> ((int[]) columns[c])[rows] = csv.getInt(c);
+                    case LONG -> ((long[]) columns[c])[rows] = csv.getLong(c);
+                    case DOUBLE -> ((double[]) columns[c])[rows] = csv.getDouble(c);
+                    case STRING -> ((String[]) columns[c])[rows] = csv.getString(c);
+                    case SKIP -> { }
+                }
+            }
+            rows++;
+        }
+
+        private int capacity() {
+            for (Object column : columns) {
+                if (column != null) {
+                    return java.lang.reflect.Array.getLength(column);
+                }
+            }
+            return Integer.MAX_VALUE;  // Only SKIP columns: nothing to store
+        }
+
+        private void grow() {
+            int size = rows * 2;
+            for (int c = 0; c < columns.length; c++) {
+                Object column = columns[c];
+                if (column instanceof int[]) {
+                    columns[c] = Arrays.copyOf((int[]) column, size);
+                } else if (column instanceof long[]) {
+                    columns[c] = Arrays.copyOf((long[]) column, size);
+                } else if (column instanceof double[]) {
+                    columns[c] = Arrays.copyOf((double[]) column, size);
+                } else if (column instanceof String[]) {
+                    columns[c] = Arrays.copyOf((String[]) column, size);
+                }
+            }
+        }
+
+        /** Position of this chunk in the file (0 = first). */
+        public int index() {
+            return index;
+        }
+
+        /** File offset of the chunk's first record. */
+        public long fileOffset() {
+            return fileOffset;
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        /** Column values; only the first rows() entries are valid. */
+        public int[] ints(int column) {
+            return (int[]) column(column, ColumnType.INT);
+        }
+
+        public long[] longs(int column) {
+            return (long[]) column(column, ColumnType.LONG);
+        }
+
+        public double[] doubles(int column) {
+            return (double[]) column(column, ColumnType.DOUBLE);
+        }
+
+        public String[] strings(int column) {
+            return (String[]) column(column, ColumnType.STRING);
+        }
+
+        private Object column(int column, ColumnType expected) {
+            if (types[column] != expected) {
+                throw new IllegalArgumentException("Column " + column + " is " + types[column]
+                    + ", not " + expected);
+            }
+            return columns[column];
+        }
+    }
+}
@@ -0,0 +1,305 @@
+/**
+ * ============================================
+ * PARALLEL DIRECTORY WALKER
+ * ============================================
+ *
+ * Files.walk visits one directory at a time on one thread. On a tree with
+ * millions of files most of that time is spent waiting for the file
+ * system, so several directories can be read at once:
+ *
+ *   ForkJoinPool (work stealing)
+ *     task(/data) ──fork──► task(/data/a) ──fork──► task(/data/a/x)
+ *                 └─fork──► task(/data/b)     idle threads steal these
+ *
+ * - every directory is one task; subdirectories are forked, so idle
+ *   threads steal whole subtrees
+ * - each entry's attributes are read ONCE, relative to the open
+ *   directory handle when the platform supports it (no repeated
+ *   isDirectory()/size() calls, no path lookup from the root)
+ * - filters (glob or predicate) run inside the walk; pruned directories
+ *   are never opened
+ * - matches are handed over in batches through a BOUNDED queue: when the
+ *   consumer is slow, the walkers wait, so memory does not grow with
+ *   the size of the tree
+ * - stream() must be closed (try-with-resources); closing stops the walk
+ *   and its threads
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+public class ParallelDirectoryWalker {
+
+    private static final int BATCH_SIZE = 256;
+    private static final int QUEUED_BATCHES = 64;
+    private static final List<Entry> END = new ArrayList<>(0);
+
+    /** A matching file and the attributes read while walking. */
+    public static final class Entry {
+        public final Path path;
+        public final BasicFileAttributes attributes;
+
+        Entry(Path path, BasicFileAttributes attributes) {
+            this.path = path;
+            this.attributes = attributes;
+        }
+
+        @Override
+        public String toString() {
+            return path + " (" + attributes.size() + " bytes)";
+        }
+    }
+
+    private final Path root;
+    private final int parallelism;
+    private BiPredicate<Path, BasicFileAttributes> fileFilter = (path, attributes) -> true;
+    private Predicate<Path> directoryFilter = path -> true;
+    private volatile Walk lastWalk;
+
+    public ParallelDirectoryWalker(Path root, int parallelism) {
+        this.root = root;
+        this.parallelism = parallelism;
+    }
+
+    /** Only return files whose full path matches a glob, e.g. "**.java". */
+    public ParallelDirectoryWalker matching(String glob) {
+        PathMatcher matcher = root.getFileSystem().getPathMatcher("glob:" + glob);
+        return filter((path, attributes) -> matcher.matches(path));
+    }
+
+    /** Only return files accepted by filter (combined with earlier filters). */
+    public ParallelDirectoryWalker filter(BiPredicate<Path, BasicFileAttributes> filter) {
+        fileFilter = fileFilter.and(filter);
+        return this;
+    }
+
+    /** Do not descend into directories rejected by filter (e.g. ".git"). */
+    public ParallelDirectoryWalker skipDirectories(Predicate<Path> filter) {
+        directoryFilter = directoryFilter.and(filter.negate());
+        return this;
+    }
+
+    /** Starts the walk; the stream must be closed to stop it and free its threads. */
+    public Stream<Entry> stream() {
+        Walk walk = new Walk();
+        walk.start();
+        return StreamSupport.stream(walk, false).onClose(walk::close);
+    }
+
+    /** Walks the whole tree and returns the metrics (entries are only counted). */
+    public Metrics count() {
+        try (Stream<Entry> entries = stream()) {
+            entries.forEach(entry -> { });
+            return metrics();
+        }
+    }
+
+    /** What the most recent walk did so far. */
+    public Metrics metrics() {
+        Walk walk = lastWalk;
+        return walk == null ? new Metrics(0, 0, 0, 0, 0) : walk.metrics();
+    }
+
+    // ─────────────────────────────────────────────
+    // One walk: pool, bounded queue and spliterator
+    // ─────────────────────────────────────────────
+
+    private final class Walk implements Spliterator<Entry> {
+        private final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        private final BlockingQueue<List<Entry>> queue = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+        private final AtomicLong pendingDirectories = new AtomicLong();
+        private final LongAdder directories = new LongAdder();
+        private final LongAdder filesSeen = new LongAdder();
+        private final LongAdder filesMatched = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final long startNanos = System.nanoTime();
+        private volatile long endNanos;
+        private volatile boolean closed;
+
+        private List<Entry> batch = Collections.emptyList();
+        private int next;
+        private boolean finished;
+
+        void start() {
+            lastWalk = this;
+            pendingDirectories.incrementAndGet();
+            pool.execute(new DirectoryTask(root));
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Entry> action) {
+            while (next == batch.size()) {
+                if (finished) {
+                    return false;
+                }
+                try {
+                    batch = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while walking " + root, e);
+                }
+                next = 0;
+                if (batch == END) {
+                    finished = true;
+                    batch = Collections.emptyList();
+                }
+            }
+            action.accept(batch.get(next++));
+            return true;
+        }
+
+        @Override
+        public Spliterator<Entry> trySplit() {
+            return null;  // The walk itself is parallel; the consumer reads one queue
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL | DISTINCT;
+        }
+
+        /** Hands a batch to the consumer; waits while the queue is full. Returns false once closed. */
+        boolean publish(List<Entry> entries) {
+            try {
+                while (!closed) {
+                    if (queue.offer(entries, 50, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        void directoryDone() {
+            if (pendingDirectories.decrementAndGet() == 0) {
+                endNanos = System.nanoTime();
+                publish(END);
+            }
+        }
+
+        void close() {
+            closed = true;
+            pool.shutdownNow();
+            queue.clear();
+            if (endNanos == 0) {
+                endNanos = System.nanoTime();
+            }
+        }
+
+        Metrics metrics() {
+            long end = endNanos == 0 ? System.nanoTime() : endNanos;
+            return new Metrics(directories.sum(), filesSeen.sum(), filesMatched.sum(), errors.sum(),
+                end - startNanos);
+        }
+
+        /** Lists one directory: forks a task per subdirectory, publishes matching files in batches. */
+        private final class DirectoryTask extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+            private final Path directory;
+
+            DirectoryTask(Path directory) {
+                this.directory = directory;
+            }
+
+            @Override
+            protected void compute() {
+                try {
+                    if (!closed) {
+                        list();
+                    }
+                } finally {
+                    directoryDone();
+                }
+            }
+
+            private void list() {
+                directories.increment();
+                List<Entry> matches = new ArrayList<>(BATCH_SIZE);
+                try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+                    SecureDirectoryStream<Path> secure = children instanceof SecureDirectoryStream
+                        ? (SecureDirectoryStream<Path>) children : null;
+                    for (Path child : children) {
+                        if (closed) {
+                            return;
+                        }
+                        BasicFileAttributes attributes;
+                        try {
+                            attributes = secure != null
+                                ? secure.getFileAttributeView(child.getFileName(), BasicFileAttributeView.class,
+                                      LinkOption.NOFOLLOW_LINKS).readAttributes()
+                                : Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                        } catch (IOException e) {
+                            errors.increment();  // Deleted or unreadable meanwhile
+                            continue;
+                        }
+                        if (attributes.isDirectory()) {
+                            if (directoryFilter.test(child)) {
+                                pendingDirectories.incrementAndGet();
+                                new DirectoryTask(child).fork();
+                            }
+                        } else {
+                            filesSeen.increment();
+                            if (fileFilter.test(child, attributes)) {
+                                filesMatched.increment();
+                                matches.add(new Entry(child, attributes));
+                                if (matches.size() == BATCH_SIZE) {
+                                    if (!publish(matches)) {
+                                        return;
+                                    }
+                                    matches = new ArrayList<>(BATCH_SIZE);
+                                }
+                            }
+                        }
+                    }
+                } catch (IOException | DirectoryIteratorException e) {
+                    errors.increment();  // Unreadable directory: skip it, like a permission error
+                }
+                if (!matches.isEmpty()) {
+                    publish(matches);
+                }
+            }
+        }
+    }
+
+    /** Counts and speed of a walk. */
+    public static final class Metrics {
+        public final long directories;
+        public final long filesSeen;
+        public final long filesMatched;
+        public final long errors;
+        public final long nanos;
+
+        Metrics(long directories, long filesSeen, long filesMatched, long errors, long nanos) {
+            this.directories = directories;
+            this.filesSeen = filesSeen;
+            this.filesMatched = filesMatched;
+            this.errors = errors;
+            this.nanos = nanos;
+        }
+
+        public double filesPerSecond() {
+            return nanos == 0 ? 0 : filesSeen / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d dirs, %,d files seen, %,d matched, %,d errors in %.0f ms (%,.0f files/s)",
+                directories, filesSeen, filesMatched, errors, nanos / 1e6, filesPerSecond());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * ============================================
+ * FILE TAILER BENCHMARK
+ * ============================================
+ *
+ * Part 1: a writer appends "sequence,nanoTime" lines to a log, one about
+ *         every half millisecond. Two followers run at the same time:
+ *         - re-read the file with Files.readAllLines every 10 ms
+ *         - FileTailer (WatchService + reusable direct buffer)
+ *         Both report write-to-delivery latency and how many bytes they
+ *         had to read.
+ *
+ * Part 2: the log is rotated (renamed, new file created) and then
+ *         truncated; the tailer must still deliver every line once.
+ *
+ * How to compile and run:
+ * $ javac FileTailer.java TailerBenchmark.java
+ * $ java TailerBenchmark                 (5,000 lines)
+ * $ java TailerBenchmark 20000           (custom number of lines)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class TailerBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     FILE TAILER BENCHMARK                                ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+
+        Path directory = Files.createTempDirectory("tail");
+        Path log = directory.resolve("app.log");
+        Files.createFile(log);
+
+        latency(log, lines);
+        rotation(directory, log);
+
+        try (var paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    // ─────────────────────────────────────────────
+    // Part 1: latency and bytes read
+    // ─────────────────────────────────────────────
+
+    private static void latency(Path log, int lines) throws Exception {
+        System.out.printf("--- Part 1: %,d lines, one every ~0.5 ms ---%n", lines);
+        long[] tailLatency = new long[lines];
+        int[] tailCount = {0};
+        FileTailer tailer = new FileTailer(log, true, 100, (buffer, offset, length) -> {
+            long sequence = FileTailer.parseLong(buffer, offset, length);
+            int comma = offset;
+            while (buffer.get(comma) != ',') {
+                comma++;
+            }
+            long written = FileTailer.parseLong(buffer, comma + 1, offset + length - comma - 1);
+            if (sequence != tailCount[0]) {
+                throw new IllegalStateException("Expected line " + tailCount[0] + ", got " + sequence);
+            }
+            tailLatency[tailCount[0]++] = System.nanoTime() - written;
+        }).start();
+
+        long[] rereadLatency = new long[lines];
+        long[] rereadBytes = {0};
+        Thread rereader = new Thread(() -> {
+            int seen = 0;
+            while (seen < lines) {
+                try {
+                    List<String> all = Files.readAllLines(log, StandardCharsets.UTF_8);
+                    rereadBytes[0] += Files.size(log);
+                    long now = System.nanoTime();
+                    for (; seen < all.size(); seen++) {
+                        String line = all.get(seen);
+                        rereadLatency[seen] = now - Long.parseLong(line.substring(line.indexOf(',') + 1));
+                    }
+                    Thread.sleep(10);
+                } catch (IOException | InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        rereader.start();
+
+        try (FileChannel out = FileChannel.open(log, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            for (int i = 0; i < lines; i++) {
+                String line = i + "," + System.nanoTime() + "\n";
+                out.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII)));
+                LockSupport.parkNanos(500_000);
+            }
+        }
+        rereader.join();
+        waitFor(() -> tailer.recordCount() == lines);
+        long tailBytes = tailer.bytesRead();
+        tailer.close();
+
+        System.out.printf("%-30s %10s %10s %10s %14s%n", "Follower", "p50 ms", "p99 ms", "max ms", "bytes read");
+        System.out.println("──────────────────────────────────────────────────────────────────────────────");
+        print("readAllLines every 10 ms", rereadLatency, rereadBytes[0]);
+        print("FileTailer", tailLatency, tailBytes);
+    }
+
+    private static void print(String name, long[] latencies, long bytes) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-30s %10.2f %10.2f %10.2f %,14d%n", name, sorted[sorted.length / 2] / 1e6,
+            sorted[(int) (sorted.length * 0.99)] / 1e6, sorted[sorted.length - 1] / 1e6, bytes);
+    }
+
+    // ─────────────────────────────────────────────
+    // Part 2: rotation and truncation
+    // ─────────────────────────────────────────────
+
+    private static void rotation(Path directory, Path log) throws Exception {
+        System.out.println("\n--- Part 2: rotation and truncation ---");
+        Files.write(log, new byte[0]);
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        List<String> resets = Collections.synchronizedList(new ArrayList<>());
+        try (FileTailer tailer = new FileTailer(log, false, 100, new FileTailer.RecordHandler() {
+            @Override
+            public void onRecord(ByteBuffer buffer, int offset, int length) {
+                received.add(FileTailer.asString(buffer, offset, length));
+            }
+
+            @Override
+            public void onReset(String reason) {
+                resets.add(reason);
+            }
+        }).start()) {
+            appendLines(log, 0, 1_000);
+            Files.writeString(log, "1000 (no line break before rotation)", StandardOpenOption.APPEND);
+            waitFor(() -> received.size() == 1_000);
+            Files.move(log, directory.resolve("app.log.1"));
+            Files.createFile(log);
+            appendLines(log, 1_001, 1_000);
+            waitFor(() -> received.size() == 2_001);
+            System.out.println("  After rotation:   " + received.size() + " lines, resets " + resets);
+
+            try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+                channel.truncate(0);
+            }
+            waitFor(() -> tailer.truncationCount() == 1);
+            appendLines(log, 2_001, 1_000);
+            waitFor(() -> received.size() == 3_001);
+            System.out.println("  After truncation: " + received.size() + " lines, resets " + resets);
+        }
+
+        for (int i = 0; i < received.size(); i++) {
+            if (!received.get(i).startsWith(i + " ")) {
+                throw new IllegalStateException("Line " + i + " is " + received.get(i));
+            }
+        }
+        System.out.println("  Every line delivered once, in order ✓");
+    }
+
+    private static void appendLines(Path log, int first, int count) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = first; i < first + count; i++) {
+            text.append(i).append(" event\n");
+        }
+        Files.writeString(log, text, StandardOpenOption.APPEND);
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Timed out waiting for the tailer");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * ============================================
+ * BATCHED DRAIN BENCHMARK
+ * ============================================
+ *
+ * Moves the same stream of ints from one producer to one consumer in
+ * three ways and prints the per-item cost of each:
+ *
+ * 1. ArrayBlockingQueue<Integer>  - what ProducerConsumerExample in
+ *                                   ThreadingDemo.java does: boxed, one
+ *                                   put/take per item
+ * 2. IntRingBuffer put()/take()   - no boxing, still one call per item
+ * 3. IntRingBuffer batches        - no boxing, put(int[]) / takeBatch(int[])
+ *
+ * How to compile and run:
+ * $ javac *.java
+ * $ java BatchDrainBenchmark             (default: 5,000,000 items per run)
+ * $ java BatchDrainBenchmark 20000000    (custom item count)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+public class BatchDrainBenchmark {
+
+    private static final int CAPACITY = 4096;
+    private static final int[] BATCH_SIZES = {16, 256, 4096};
+
+    /** Work done by the producer or consumer thread of one run. */
+    interface Side {
+        long run() throws InterruptedException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        long expectedSum = (long) items * (items - 1) / 2;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║            BATCHED DRAIN BENCHMARK                       ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+        System.out.println("Items per run: " + items + ", capacity: " + CAPACITY + "\n");
+
+        System.out.printf("%-32s %15s %10s%n", "Pipeline", "items/sec", "ns/item");
+        System.out.println("───────────────────────────────────────────────────────────");
+
+        // 1. Boxed, one item at a time (the ProducerConsumerExample way)
+        BlockingQueue<Integer> boxed = new ArrayBlockingQueue<>(CAPACITY);
+        report("ArrayBlockingQueue<Integer>", items, expectedSum,
+            () -> {
+                for (int i = 0; i < items; i++) {
+                    boxed.put(i);
+                }
+                return 0;
+            },
+            () -> {
+                long sum = 0;
+                for (int i = 0; i < items; i++) {
+                    sum += boxed.take();
+                }
+                return sum;
+            });
+
+        // 2. Primitive, one item at a time
+        IntRingBuffer single = newBuffer();
+        report("IntRingBuffer put/take", items, expectedSum,
+            () -> {
+                for (int i = 0; i < items; i++) {
+                    single.put(i);
+                }
+                return 0;
+            },
+            () -> {
+                long sum = 0;
+                for (int i = 0; i < items; i++) {
+                    sum += single.take();
+                }
+                return sum;
+            });
+
+        // 3. Primitive, batched on both sides
+        for (int batchSize : BATCH_SIZES) {
+            IntRingBuffer batched = newBuffer();
+            report("IntRingBuffer batch=" + batchSize, items, expectedSum,
+                () -> {
+                    int[] batch = new int[batchSize];
+                    int next = 0;
+                    while (next < items) {
+                        int n = Math.min(batchSize, items - next);
+                        for (int i = 0; i < n; i++) {
+                            batch[i] = next + i;
+                        }
+                        batched.put(batch, 0, n);
+                        next += n;
+                    }
+                    return 0;
+                },
+                () -> {
+                    int[] batch = new int[batchSize];
+                    long sum = 0;
+                    int received = 0;
+                    while (received < items) {
+                        int n = batched.takeBatch(batch, batchSize);
+                        for (int i = 0; i < n; i++) {
+                            sum += batch[i];
+                        }
+                        received += n;
+                    }
+                    return sum;
+                });
+        }
+
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    private static IntRingBuffer newBuffer() {
+        return new IntRingBuffer(CAPACITY, RingSequencer.ProducerType.SINGLE, WaitStrategy.PARKING);
+    }
+
+    private static void report(String name, int items, long expectedSum,
+                               Side producer, Side consumer) throws InterruptedException {
+        long[] consumedSum = new long[1];
+        Thread producerThread = new Thread(() -> {
+            try {
+                producer.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread consumerThread = new Thread(() -> {
+            try {
+                consumedSum[0] = consumer.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        long start = System.nanoTime();
+        producerThread.start();
+        consumerThread.start();
+        producerThread.join();
+        consumerThread.join();
+        long elapsed = System.nanoTime() - start;
+
+        String check = consumedSum[0] == expectedSum ? "" : "  ✗ checksum mismatch!";
+        System.out.printf("%-32s %,15.0f %10.1f%s%n",
+            name, items / (elapsed / 1e9), (double) elapsed / items, check);
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * ============================================
+ * COUNTER SCALING BENCHMARK
+ * ============================================
+ *
+ * Repeats demo10_AtomicVariables (many threads incrementing one counter)
+ * with 1 to 64 threads and compares:
+ *
+ * - AtomicLong      - one shared value, every increment is a contended CAS
+ * - LongAdder       - the JDK's striped counter
+ * - StripedCounter  - our striped counter (see StripedCounter.java)
+ *
+ * It finishes by showing a MetricsRegistry snapshot.
+ *
+ * How to compile and run:
+ * $ javac CounterScalingBenchmark.java
+ * $ java CounterScalingBenchmark            (default: 2,000,000 increments per thread)
+ * $ java CounterScalingBenchmark 500000     (custom increments per thread)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+public class CounterScalingBenchmark {
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+    /** The operation every counter under test must support. */
+    interface Incrementable {
+        void increment();
+        long total();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║            COUNTER SCALING BENCHMARK                     ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+        System.out.println("Increments per thread: " + perThread
+            + ", cores: " + Runtime.getRuntime().availableProcessors() + "\n");
+
+        System.out.printf("%-8s %18s %18s %18s%n", "Threads", "AtomicLong", "LongAdder", "StripedCounter");
+        System.out.println("─────────────────────────────────────────────────────────────────");
+
+        for (int threads : THREAD_COUNTS) {
+            AtomicLong atomic = new AtomicLong();
+            LongAdder adder = new LongAdder();
+            StripedCounter striped = new StripedCounter();
+
+            double atomicOps = run(threads, perThread, new Incrementable() {
+                public void increment() { atomic.incrementAndGet(); }
+                public long total() { return atomic.get(); }
+            });
+            double adderOps = run(threads, perThread, new Incrementable() {
+                public void increment() { adder.increment(); }
+                public long total() { return adder.sum(); }
+            });
+            double stripedOps = run(threads, perThread, new Incrementable() {
+                public void increment() { striped.increment(); }
+                public long total() { return striped.sum(); }
+            });
+
+            System.out.printf("%-8d %,18.0f %,18.0f %,18.0f%n", threads, atomicOps, adderOps, stripedOps);
+        }
+        System.out.println("(increments per second, higher is better)\n");
+
+        // Using the counters through a registry
+        System.out.println("--- MetricsRegistry snapshot ---");
+        MetricsRegistry metrics = new MetricsRegistry();
+        StripedCounter requests = metrics.counter("requests.total");
+        RateCounter requestRate = metrics.rate("requests.rate");
+        Gauge activeThreads = metrics.gauge("threads.active");
+        metrics.gauge("memory.usedMB", () ->
+            (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / (1024 * 1024));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    requests.increment();
+                    requestRate.mark();
+                }
+            });
+        }
+        activeThreads.set(4);
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        activeThreads.set(0);
+
+        metrics.snapshot().forEach((name, value) -> System.out.println("  " + name + " = " + value));
+
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    /** Runs the increments on the given number of threads and returns increments per second. */
+    private static double run(int threads, int perThread, Incrementable counter) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    counter.increment();
+                }
+            });
+            workers[t].start();
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - startNanos;
+
+        long expected = (long) threads * perThread;
+        if (counter.total() != expected) {
+            System.out.println("  ✗ Lost updates: expected " + expected + " but got " + counter.total());
+        }
+        return expected / (elapsed / 1e9);
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ * ============================================
+ * PLUGGABLE EXECUTOR FACTORY
+ * ============================================
+ *
+ * demo6_ExecutorServiceBasics and demo7_CallableAndFuture hard-code
+ * Executors.newFixedThreadPool(3). That is fine for CPU work, but tasks
+ * that mostly sleep or wait on I/O leave those 3 threads blocked and
+ * everything else queued behind them.
+ *
+ * This factory lets the same code pick its execution model:
+ *
+ * - FIXED          - N platform threads, tasks queue up behind them
+ * - WORK_STEALING  - ForkJoinPool, idle threads steal queued work
+ * - VIRTUAL        - a new virtual thread per task (Java 21+); blocking
+ *                    a virtual thread is cheap, so 100k sleeping tasks
+ *                    do not need 100k OS threads
+ *
+ * limit(executor, permits) adds a Semaphore so that at most "permits"
+ * tasks run at the same time - important with virtual threads, which
+ * will otherwise happily open 100k database connections at once.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+public class ExecutorFactory {
+
+    public enum Mode {
+        FIXED,
+        WORK_STEALING,
+        VIRTUAL
+    }
+
+    private ExecutorFactory() {}
+
+    /**
+     * Creates an executor for the given mode.
+     *
+     * @param parallelism number of threads for FIXED and WORK_STEALING
+     *                    (ignored for VIRTUAL, which has no pool)
+     * @throws UnsupportedOperationException for VIRTUAL on Java versions
+     *                                       without virtual threads
+     */
+    public static ExecutorService create(Mode mode, int parallelism) {
+        switch (mode) {
+            case FIXED:
+                return Executors.newFixedThreadPool(parallelism);
+            case WORK_STEALING:
+                return Executors.newWorkStealingPool(parallelism);
+            case VIRTUAL:
+                return newVirtualThreadPerTaskExecutor();
+            default:
+                throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+    }
+
+    /** Same as create(), but at most maxConcurrent tasks run at once. */
+    public static ExecutorService create(Mode mode, int parallelism, int maxConcurrent) {
+        return limit(create(mode, parallelism), maxConcurrent);
+    }
+
+    /** Wraps an executor so that at most "permits" of its tasks run at the same time. */
+    public static ExecutorService limit(ExecutorService executor, int permits) {
+        return new SemaphoreLimitedExecutor(executor, permits);
+    }
+
+    /** True when the running JVM supports virtual threads (Java 21+). */
+    public static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Calls Executors.newVirtualThreadPerTaskExecutor() through reflection,
+     * so this file still compiles and runs (minus VIRTUAL) on Java 17.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new UnsupportedOperationException(
+                "Virtual threads need Java 21+, running on " + System.getProperty("java.version"));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create virtual thread executor", e);
+        }
+    }
+
+    /**
+     * Runs every task inside acquire()/release() of a shared Semaphore.
+     * The permit is taken on the executing thread, so callers never block
+     * in submit(). A task interrupted while waiting for its permit (e.g. by
+     * shutdownNow()) is never lost: a Future from submit() is cancelled,
+     * a plain Runnable still runs, with the interrupt flag set.
+     */
+    static class SemaphoreLimitedExecutor extends AbstractExecutorService {
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+
+        SemaphoreLimitedExecutor(ExecutorService delegate, int permits) {
+            if (permits < 1) {
+                throw new IllegalArgumentException("Permits must be at least 1: " + permits);
+            }
+            this.delegate = delegate;
+            this.permits = new Semaphore(permits);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            delegate.execute(new LimitedTask(task));
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            List<Runnable> notStarted = new ArrayList<>();
+            for (Runnable runnable : delegate.shutdownNow()) {
+                // Hand back the caller's tasks, not our wrappers
+                notStarted.add(runnable instanceof LimitedTask ? ((LimitedTask) runnable).task : runnable);
+            }
+            return notStarted;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+
+        private final class LimitedTask implements Runnable {
+            final Runnable task;
+
+            LimitedTask(Runnable task) {
+                this.task = task;
+            }
+
+            @Override
+            public void run() {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    if (task instanceof Future) {
+                        ((Future<?>) task).cancel(false);  // Wakes up anyone blocked in get()
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    permits.acquireUninterruptibly();
+                    Thread.currentThread().interrupt();  // The task can still see it was interrupted
+                }
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
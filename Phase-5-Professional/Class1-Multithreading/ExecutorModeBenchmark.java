@@ -0,0 +1,93 @@
+/**
+ * ============================================
+ * EXECUTOR MODE BENCHMARK
+ * ============================================
+ *
+ * Runs many blocking tasks (each one sleeps, like a task waiting on a
+ * database or HTTP call) under every ExecutorFactory mode and reports:
+ *
+ * - throughput     tasks completed per second
+ * - peak threads   highest number of live JVM threads during the run
+ * - heap used      heap in use right after all tasks finished
+ *
+ * How to compile and run:
+ * $ javac ExecutorModeBenchmark.java
+ * $ java ExecutorModeBenchmark                  (100,000 tasks, 10 ms each, pools of 200)
+ * $ java ExecutorModeBenchmark 20000 5 100      (tasks, sleep ms, pool size)
+ *
+ * VIRTUAL is skipped on Java versions before 21.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.lang.management.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+public class ExecutorModeBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int sleepMillis = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int poolSize = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║            EXECUTOR MODE BENCHMARK                       ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+        System.out.println("Tasks: " + tasks + ", sleep per task: " + sleepMillis
+            + " ms, pool size: " + poolSize + ", Java " + System.getProperty("java.version") + "\n");
+
+        System.out.printf("%-16s %15s %14s %14s%n", "Mode", "tasks/sec", "peak threads", "heap used MB");
+        System.out.println("───────────────────────────────────────────────────────────────");
+
+        for (ExecutorFactory.Mode mode : ExecutorFactory.Mode.values()) {
+            if (mode == ExecutorFactory.Mode.VIRTUAL && !ExecutorFactory.virtualThreadsAvailable()) {
+                System.out.printf("%-16s %15s%n", mode, "skipped (needs Java 21+)");
+                continue;
+            }
+            run(mode.toString(), ExecutorFactory.create(mode, poolSize), tasks, sleepMillis);
+        }
+
+        // Virtual threads with a concurrency limit (e.g. a connection pool of poolSize)
+        if (ExecutorFactory.virtualThreadsAvailable()) {
+            run("VIRTUAL+limit", ExecutorFactory.create(ExecutorFactory.Mode.VIRTUAL, 0, poolSize),
+                tasks, sleepMillis);
+        }
+
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    private static void run(String name, ExecutorService executor, int tasks, int sleepMillis)
+            throws InterruptedException {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        threadBean.resetPeakThreadCount();
+
+        AtomicInteger completed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(tasks);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(sleepMillis);  // Simulated blocking I/O
+                    completed.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        long heapUsed = memoryBean.getHeapMemoryUsage().getUsed() / (1024 * 1024);
+
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        System.out.printf("%-16s %,15.0f %14d %14d%n",
+            name, completed.get() / (elapsed / 1e9), threadBean.getPeakThreadCount(), heapUsed);
+    }
+}
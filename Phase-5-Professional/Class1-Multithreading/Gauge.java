@@ -0,0 +1,55 @@
+/**
+ * ============================================
+ * GAUGE
+ * ============================================
+ *
+ * A gauge reports a value that goes up AND down (queue size, open
+ * connections, memory in use) instead of counting events.
+ *
+ * Two flavors:
+ * - Set by the application:   gauge.set(42)
+ * - Computed when read:       Gauge.of(() -> queue.size())
+ *
+ * Reads are a single volatile load (or one supplier call), so it is
+ * cheap to poll from a dashboard.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.function.LongSupplier;
+
+public class Gauge {
+
+    private final LongSupplier supplier;
+    private volatile long value;
+
+    /** A gauge whose value is set with set(). */
+    public Gauge() {
+        this.supplier = null;
+    }
+
+    private Gauge(LongSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    /** A gauge that asks the supplier every time it is read. */
+    public static Gauge of(LongSupplier supplier) {
+        return new Gauge(supplier);
+    }
+
+    public void set(long newValue) {
+        if (supplier != null) {
+            throw new IllegalStateException("This gauge is computed by a supplier and cannot be set");
+        }
+        value = newValue;
+    }
+
+    public long get() {
+        return supplier != null ? supplier.getAsLong() : value;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(get());
+    }
+}
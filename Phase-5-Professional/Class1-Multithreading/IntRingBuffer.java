@@ -0,0 +1,84 @@
+/**
+ * ============================================
+ * INT RING BUFFER
+ * ============================================
+ *
+ * A bounded, lock-free queue of plain int values (no Integer boxing).
+ *
+ * Single values:  offer(int) / put(int) / take()
+ * Batches:        offer(int[], off, len) / put(int[], off, len)
+ *                 drainTo(int[], max) / takeBatch(int[], max)
+ *
+ * @author Learn Java With Me
+ */
+
+public class IntRingBuffer extends PrimitiveRingBuffer {
+
+    private final int[] values;
+
+    public IntRingBuffer(int capacity, RingSequencer.ProducerType producerType, WaitStrategy waitStrategy) {
+        this(new int[capacity], producerType, waitStrategy);
+    }
+
+    private IntRingBuffer(int[] values, RingSequencer.ProducerType producerType, WaitStrategy waitStrategy) {
+        super(values, values.length, producerType, waitStrategy);
+        this.values = values;
+    }
+
+    /** Adds one value if there is room. Never blocks. */
+    public boolean offer(int value) {
+        long pos = sequencer.tryClaimWrite(1);
+        if (pos < 0) {
+            return false;
+        }
+        values[sequencer.index(pos)] = value;
+        sequencer.publish(pos, 1);
+        return true;
+    }
+
+    /** Adds one value, waiting while the buffer is full. */
+    public void put(int value) throws InterruptedException {
+        int attempt = 0;
+        while (!offer(value)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            attempt = waitStrategy.idle(attempt);
+        }
+    }
+
+    /** Publishes as many values as currently fit and returns that count. Never blocks. */
+    public int offer(int[] src, int offset, int length) {
+        return tryPublishBatch(src, offset, length);
+    }
+
+    /** Publishes all values, waiting for room as needed. */
+    public void put(int[] src, int offset, int length) throws InterruptedException {
+        publishBatch(src, offset, length);
+    }
+
+    /** Removes one value, waiting while the buffer is empty. */
+    public int take() throws InterruptedException {
+        int attempt = 0;
+        long pos;
+        while ((pos = sequencer.tryClaimRead(1)) < 0) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            attempt = waitStrategy.idle(attempt);
+        }
+        int value = values[sequencer.index(pos)];
+        sequencer.releaseRead(pos, 1);
+        return value;
+    }
+
+    /** Moves up to max values into buffer and returns that count (0 if empty). Never blocks. */
+    public int drainTo(int[] buffer, int max) {
+        return tryDrainBatch(buffer, 0, Math.min(max, buffer.length));
+    }
+
+    /** Like drainTo, but waits until at least one value is available. */
+    public int takeBatch(int[] buffer, int max) throws InterruptedException {
+        return drainBatch(buffer, 0, Math.min(max, buffer.length));
+    }
+}
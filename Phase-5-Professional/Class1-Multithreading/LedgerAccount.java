@@ -0,0 +1,211 @@
+/**
+ * ============================================
+ * LEDGER ACCOUNT (OPTIMISTIC READS + CAS)
+ * ============================================
+ *
+ * The BankAccount in demo5_ReentrantLockDemo takes the SAME lock for
+ * getBalance(), deposit() and withdraw(). In most systems balance reads
+ * vastly outnumber writes, yet every read still waits for every write.
+ *
+ * This account splits the work:
+ *
+ * - deposit / withdraw    one compare-and-set on a long holding CENTS
+ *                         (no lock at all, and never goes negative)
+ * - balance()             StampedLock optimistic read: read the value,
+ *                         then check nobody was mid-transfer; only retry
+ *                         with a real read lock if somebody was
+ * - transfer(...)         takes the write locks of every account involved,
+ *                         always in account-id order, so two transfers
+ *                         (A→B and B→A) can never deadlock each other
+ *
+ * Money is stored as a long number of cents: doubles cannot represent
+ * 0.10 exactly, and a long can be updated with a single CAS.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+
+public class LedgerAccount {
+
+    private final long id;
+    private final AtomicLong balanceCents;
+    private final StampedLock transferLock = new StampedLock();
+
+    public LedgerAccount(long id, long initialCents) {
+        if (initialCents < 0) {
+            throw new IllegalArgumentException("Initial balance cannot be negative");
+        }
+        this.id = id;
+        this.balanceCents = new AtomicLong(initialCents);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Reads the balance without blocking. If a multi-account transfer is
+     * running on this account at the same moment, falls back to a read
+     * lock so we never see its half-applied state.
+     */
+    public long balanceCents() {
+        long stamp = transferLock.tryOptimisticRead();
+        long balance = balanceCents.get();
+        if (transferLock.validate(stamp)) {
+            return balance;
+        }
+        stamp = transferLock.readLock();
+        try {
+            return balanceCents.get();
+        } finally {
+            transferLock.unlockRead(stamp);
+        }
+    }
+
+    public void deposit(long cents) {
+        if (cents <= 0) {
+            throw new IllegalArgumentException("Deposit must be positive");
+        }
+        balanceCents.addAndGet(cents);
+    }
+
+    /** Withdraws if the balance covers it. Lock-free: a CAS retry loop. */
+    public boolean withdraw(long cents) {
+        if (cents <= 0) {
+            throw new IllegalArgumentException("Withdrawal must be positive");
+        }
+        while (true) {
+            long current = balanceCents.get();
+            if (current < cents) {
+                return false;
+            }
+            if (balanceCents.compareAndSet(current, current - cents)) {
+                return true;
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Multi-account operations
+    // ─────────────────────────────────────────────
+
+    /** Moves cents from one account to another, all or nothing. */
+    public static boolean transfer(LedgerAccount from, LedgerAccount to, long cents) {
+        if (cents <= 0) {
+            throw new IllegalArgumentException("Transfer must be positive");
+        }
+        if (from == to) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        Map<LedgerAccount, Long> changes = new HashMap<>();
+        changes.put(from, -cents);
+        changes.put(to, cents);
+        return transfer(changes);
+    }
+
+    /**
+     * Applies several balance changes atomically, e.g. {A: -500, B: +300,
+     * C: +200}. The changes must add up to zero (money is moved, not made).
+     * Returns false and changes nothing if any account lacks the funds.
+     */
+    public static boolean transfer(Map<LedgerAccount, Long> changes) {
+        long net = changes.values().stream().mapToLong(Long::longValue).sum();
+        if (net != 0) {
+            throw new IllegalArgumentException("Transfer must balance to zero, off by " + net + " cents");
+        }
+
+        List<LedgerAccount> ordered = lockOrder(changes.keySet());
+        long[] stamps = new long[ordered.size()];
+        for (int i = 0; i < ordered.size(); i++) {
+            stamps[i] = ordered.get(i).transferLock.writeLock();
+        }
+        try {
+            // Debits first: plain withdraw() calls may still race with us,
+            // so each debit is a CAS that can fail and must be undone.
+            List<LedgerAccount> debited = new ArrayList<>();
+            for (LedgerAccount account : ordered) {
+                long change = changes.get(account);
+                if (change < 0) {
+                    if (!account.withdraw(-change)) {
+                        for (LedgerAccount undo : debited) {
+                            undo.balanceCents.addAndGet(-changes.get(undo));
+                        }
+                        return false;
+                    }
+                    debited.add(account);
+                }
+            }
+            for (LedgerAccount account : ordered) {
+                long change = changes.get(account);
+                if (change > 0) {
+                    account.balanceCents.addAndGet(change);
+                }
+            }
+            return true;
+        } finally {
+            for (int i = ordered.size() - 1; i >= 0; i--) {
+                ordered.get(i).transferLock.unlockWrite(stamps[i]);
+            }
+        }
+    }
+
+    /**
+     * Sum of several balances as one consistent snapshot: no transfer
+     * between these accounts can be half-counted.
+     */
+    public static long totalCents(Collection<LedgerAccount> accounts) {
+        List<LedgerAccount> ordered = lockOrder(accounts);
+        long[] stamps = new long[ordered.size()];
+
+        // Optimistic attempt: read everything, then check no writer came by
+        long total = 0;
+        for (int i = 0; i < ordered.size(); i++) {
+            stamps[i] = ordered.get(i).transferLock.tryOptimisticRead();
+            total += ordered.get(i).balanceCents.get();
+        }
+        boolean valid = true;
+        for (int i = 0; i < ordered.size() && valid; i++) {
+            valid = ordered.get(i).transferLock.validate(stamps[i]);
+        }
+        if (valid) {
+            return total;
+        }
+
+        // Fallback: real read locks, in the same order transfers use
+        for (int i = 0; i < ordered.size(); i++) {
+            stamps[i] = ordered.get(i).transferLock.readLock();
+        }
+        try {
+            total = 0;
+            for (LedgerAccount account : ordered) {
+                total += account.balanceCents.get();
+            }
+            return total;
+        } finally {
+            for (int i = ordered.size() - 1; i >= 0; i--) {
+                ordered.get(i).transferLock.unlockRead(stamps[i]);
+            }
+        }
+    }
+
+    /** The single global lock order: ascending account id. */
+    private static List<LedgerAccount> lockOrder(Collection<LedgerAccount> accounts) {
+        List<LedgerAccount> ordered = new ArrayList<>(accounts);
+        ordered.sort(Comparator.comparingLong(LedgerAccount::getId));
+        for (int i = 1; i < ordered.size(); i++) {
+            if (ordered.get(i).id == ordered.get(i - 1).id) {
+                throw new IllegalArgumentException("Duplicate account id: " + ordered.get(i).id);
+            }
+        }
+        return ordered;
+    }
+
+    @Override
+    public String toString() {
+        long cents = balanceCents();
+        return String.format("Account #%d: $%d.%02d", id, cents / 100, cents % 100);
+    }
+}
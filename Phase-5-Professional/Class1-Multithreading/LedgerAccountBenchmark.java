@@ -0,0 +1,199 @@
+/**
+ * ============================================
+ * LEDGER ACCOUNT vs REENTRANTLOCK BENCHMARK
+ * ============================================
+ *
+ * Part 1: mixed balance reads and deposits/withdrawals on one account,
+ *         comparing demo5's ReentrantLock BankAccount with LedgerAccount
+ *         at several read ratios.
+ * Part 2: threads transfer money back and forth between accounts in
+ *         opposite directions (the classic deadlock setup) while readers
+ *         check that the total never changes.
+ *
+ * How to compile and run:
+ * $ javac LedgerAccountBenchmark.java
+ * $ java LedgerAccountBenchmark             (1,000,000 operations per thread)
+ * $ java LedgerAccountBenchmark 200000      (custom operations per thread)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+public class LedgerAccountBenchmark {
+
+    private static final int THREADS = 4;
+    private static final int[] READ_PERCENTAGES = {50, 90, 99};
+
+    /** The BankAccount from demo5_ReentrantLockDemo (without the sleep), in cents. */
+    static class LockedAccount {
+        private long balance;
+        private final Lock lock = new ReentrantLock();
+
+        LockedAccount(long balance) {
+            this.balance = balance;
+        }
+
+        boolean withdraw(long amount) {
+            lock.lock();
+            try {
+                if (balance >= amount) {
+                    balance -= amount;
+                    return true;
+                }
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void deposit(long amount) {
+            lock.lock();
+            try {
+                balance += amount;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long getBalance() {
+            lock.lock();
+            try {
+                return balance;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** One account API, so both implementations run the same workload. */
+    interface Account {
+        long balance();
+        void deposit(long cents);
+        boolean withdraw(long cents);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int opsPerThread = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     LEDGER ACCOUNT vs REENTRANTLOCK BENCHMARK            ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+        System.out.println("Threads: " + THREADS + ", operations per thread: " + opsPerThread + "\n");
+
+        System.out.printf("%-10s %20s %20s%n", "Reads", "ReentrantLock ops/s", "LedgerAccount ops/s");
+        System.out.println("───────────────────────────────────────────────────────");
+        for (int readPercent : READ_PERCENTAGES) {
+            LockedAccount locked = new LockedAccount(1_000_000);
+            LedgerAccount ledger = new LedgerAccount(1, 1_000_000);
+
+            double lockedOps = run(readPercent, opsPerThread, new Account() {
+                public long balance() { return locked.getBalance(); }
+                public void deposit(long cents) { locked.deposit(cents); }
+                public boolean withdraw(long cents) { return locked.withdraw(cents); }
+            });
+            double ledgerOps = run(readPercent, opsPerThread, new Account() {
+                public long balance() { return ledger.balanceCents(); }
+                public void deposit(long cents) { ledger.deposit(cents); }
+                public boolean withdraw(long cents) { return ledger.withdraw(cents); }
+            });
+            System.out.printf("%-10s %,20.0f %,20.0f%n", readPercent + "%", lockedOps, ledgerOps);
+        }
+
+        transferStressTest(opsPerThread / 10);
+
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    private static double run(int readPercent, int opsPerThread, Account account) throws InterruptedException {
+        Thread[] threads = new Thread[THREADS];
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long sink = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < opsPerThread; i++) {
+                    int roll = random.nextInt(100);
+                    if (roll < readPercent) {
+                        sink += account.balance();
+                    } else if ((roll & 1) == 0) {
+                        account.deposit(100);
+                    } else {
+                        account.withdraw(100);
+                    }
+                }
+                if (sink == 42) {
+                    System.out.print("");  // Keep the reads from being optimized away
+                }
+            });
+            threads[t].start();
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return (double) THREADS * opsPerThread / ((System.nanoTime() - startNanos) / 1e9);
+    }
+
+    /**
+     * Two threads move money A→B→C and C→B→A (opposite lock orders if
+     * locks were taken naively) while a reader keeps checking the total.
+     */
+    private static void transferStressTest(int transfersPerThread) throws InterruptedException {
+        System.out.println("\n--- Multi-account transfers (ordered locking) ---");
+        LedgerAccount a = new LedgerAccount(1, 100_000);
+        LedgerAccount b = new LedgerAccount(2, 100_000);
+        LedgerAccount c = new LedgerAccount(3, 100_000);
+        List<LedgerAccount> all = List.of(a, b, c);
+        long expectedTotal = LedgerAccount.totalCents(all);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong inconsistentReads = new AtomicLong();
+        AtomicLong reads = new AtomicLong();
+
+        Thread forward = new Thread(() -> {
+            for (int i = 0; i < transfersPerThread; i++) {
+                LedgerAccount.transfer(Map.of(a, -300L, b, 100L, c, 200L));
+            }
+        });
+        Thread backward = new Thread(() -> {
+            for (int i = 0; i < transfersPerThread; i++) {
+                LedgerAccount.transfer(c, a, 150);
+                LedgerAccount.transfer(b, a, 150);
+            }
+        });
+        Thread auditor = new Thread(() -> {
+            while (running.get()) {
+                reads.incrementAndGet();
+                if (LedgerAccount.totalCents(all) != expectedTotal) {
+                    inconsistentReads.incrementAndGet();
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        auditor.start();
+        forward.start();
+        backward.start();
+        forward.join();
+        backward.join();
+        running.set(false);
+        auditor.join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("  %,d multi-account transfers in %.2f s (no deadlock)%n", transfersPerThread * 3, seconds);
+        System.out.printf("  %,d audits of the total, %d inconsistent%n", reads.get(), inconsistentReads.get());
+        System.out.println("  Final: " + a + ", " + b + ", " + c);
+    }
+}
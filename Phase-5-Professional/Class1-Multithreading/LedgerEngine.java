@@ -0,0 +1,459 @@
+/**
+ * ============================================
+ * SHARDED IN-MEMORY LEDGER ENGINE
+ * ============================================
+ *
+ * Every BankAccount in the earlier lessons is one object with one double
+ * balance, updated one operation at a time. That is great for learning,
+ * but holding millions of accounts that way means millions of objects,
+ * and every transfer pays for a lock.
+ *
+ * This engine stores balances in plain long[] arrays (cents) and splits
+ * the accounts into shards:
+ *
+ *     account id → shard = id % shards, slot = id / shards
+ *
+ *     ┌─────────┐   ┌─────────┐   ┌─────────┐
+ *     │ Shard 0 │   │ Shard 1 │   │ Shard 2 │   each shard: one long[]
+ *     │ thread  │   │ thread  │   │ thread  │   and ONE writer thread
+ *     └────▲────┘   └────▲────┘   └────▲────┘
+ *          └──── RingBuffer inboxes ───┘
+ *
+ * Single-writer principle: only a shard's own thread ever changes its
+ * balances, so there are no locks and no CAS on the hot path.
+ *
+ * A transfer batch is split by SOURCE shard. Each shard debits its
+ * accounts (rejecting transfers without funds), applies credits to its
+ * own accounts directly, and sends the remaining credits - grouped per
+ * destination shard - to the other shards' inboxes. The batch completes
+ * when every piece has been applied.
+ *
+ * While a batch is in flight, money that has been debited but not yet
+ * credited is "in transit"; totals are exact once all batches completed.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+public class LedgerEngine implements AutoCloseable {
+
+    private static final int INBOX_CAPACITY = 1024;
+    private static final VarHandle BALANCES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long accounts;
+    private final Shard[] shards;
+    private final LatencyHistogram batchLatency = new LatencyHistogram();
+    private final AtomicLong transfersApplied = new AtomicLong();
+    private final AtomicLong transfersRejected = new AtomicLong();
+    private final AtomicLong batchesCompleted = new AtomicLong();
+    private final AtomicInteger batchesInFlight = new AtomicInteger();
+    private final long startNanos = System.nanoTime();
+    private volatile boolean closed;
+
+    /**
+     * @param accounts       number of accounts, ids 0 .. accounts-1
+     * @param shardCount     number of shards (one writer thread each)
+     * @param initialCents   starting balance of every account
+     */
+    public LedgerEngine(long accounts, int shardCount, long initialCents) {
+        if (accounts < 1 || shardCount < 1) {
+            throw new IllegalArgumentException("Need at least one account and one shard");
+        }
+        this.accounts = accounts;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            int slots = (int) ((accounts - i + shardCount - 1) / shardCount);
+            shards[i] = new Shard(i, slots, initialCents);
+        }
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+    }
+
+    public long accounts() {
+        return accounts;
+    }
+
+    /** Current balance of one account (may lag in-flight batches). */
+    public long balance(long accountId) {
+        checkAccount(accountId);
+        Shard shard = shards[shardOf(accountId)];
+        return (long) BALANCES.getAcquire(shard.balances, slotOf(accountId));
+    }
+
+    /** Sum of all balances. Exact when no batch is in flight. */
+    public long totalCents() {
+        long total = 0;
+        for (Shard shard : shards) {
+            for (int i = 0; i < shard.balances.length; i++) {
+                total += (long) BALANCES.getAcquire(shard.balances, i);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Submits count transfers (from[i] → to[i], amounts[i] cents). The
+     * arrays must not be changed until the returned future completes.
+     * Blocks while shard inboxes are full (back-pressure). Throws
+     * IllegalStateException once close() has been called.
+     *
+     * If interrupted before any part of the batch was queued, nothing is
+     * applied and InterruptedException is thrown. If interrupted later, the
+     * parts already queued still run; the interrupt flag is set again and
+     * the returned future fails with the InterruptedException once they
+     * are done, so the caller knows the batch was only partly applied.
+     */
+    public CompletableFuture<BatchResult> submit(long[] from, long[] to, long[] amounts, int count)
+            throws InterruptedException {
+        // Group transfer indexes by the shard that owns the source account
+        int[] perShard = new int[shards.length];
+        for (int i = 0; i < count; i++) {
+            checkAccount(from[i]);
+            checkAccount(to[i]);
+            if (amounts[i] <= 0) {
+                throw new IllegalArgumentException("Transfer amount must be positive at index " + i);
+            }
+            perShard[shardOf(from[i])]++;
+        }
+        int[][] indexes = new int[shards.length][];
+        int parts = 0;
+        for (int s = 0; s < shards.length; s++) {
+            if (perShard[s] > 0) {
+                indexes[s] = new int[perShard[s]];
+                parts++;
+            }
+        }
+        int[] fill = new int[shards.length];
+        for (int i = 0; i < count; i++) {
+            int s = shardOf(from[i]);
+            indexes[s][fill[s]++] = i;
+        }
+
+        // Count the batch BEFORE checking closed: close() sets closed and then
+        // waits for the count, so either it sees this batch or we see closed.
+        batchesInFlight.incrementAndGet();
+        if (closed) {
+            batchesInFlight.decrementAndGet();
+            throw new IllegalStateException("Ledger engine is closed");
+        }
+        Batch batch = new Batch(from, to, amounts, count);
+        if (parts == 0) {
+            batch.complete();
+            return batch.future;
+        }
+        batch.outstanding.set(parts);
+        int unsent = parts;
+        try {
+            for (int s = 0; s < shards.length; s++) {
+                if (indexes[s] != null) {
+                    shards[s].inbox.put(new DebitWork(batch, indexes[s]));
+                    unsent--;
+                }
+            }
+        } catch (InterruptedException e) {
+            if (unsent == parts) {
+                batchesInFlight.decrementAndGet();  // Nothing was queued: as if never submitted
+                throw e;
+            }
+            // The queued parts are already being applied and cannot be taken back
+            batch.failure = e;
+            if (batch.outstanding.addAndGet(-unsent) == 0) {
+                batch.complete();
+            }
+            Thread.currentThread().interrupt();
+        }
+        return batch.future;
+    }
+
+    public Stats stats() {
+        return new Stats(transfersApplied.get(), transfersRejected.get(), batchesCompleted.get(),
+            System.nanoTime() - startNanos, batchLatency);
+    }
+
+    /**
+     * Refuses new batches, waits for every submitted batch to complete,
+     * then stops the shard threads. If interrupted, stops waiting and keeps
+     * the interrupt flag.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        int attempt = 0;
+        while (batchesInFlight.get() > 0 && !Thread.currentThread().isInterrupted()) {
+            attempt = WaitStrategy.PARKING.idle(attempt);
+        }
+        for (Shard shard : shards) {
+            shard.running = false;
+        }
+        try {
+            for (Shard shard : shards) {
+                shard.thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int shardOf(long accountId) {
+        return (int) (accountId % shards.length);
+    }
+
+    private int slotOf(long accountId) {
+        return (int) (accountId / shards.length);
+    }
+
+    private void checkAccount(long accountId) {
+        if (accountId < 0 || accountId >= accounts) {
+            throw new IllegalArgumentException("Unknown account: " + accountId);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Shard: one long[] and its single writer thread
+    // ─────────────────────────────────────────────
+
+    private final class Shard {
+        final int id;
+        final long[] balances;
+        final RingBuffer<Object> inbox =
+            new RingBuffer<>(INBOX_CAPACITY, RingSequencer.ProducerType.MULTI, WaitStrategy.PARKING);
+        final Thread thread;
+        volatile boolean running = true;
+
+        /** Credits for other shards whose inboxes were full; retried later. */
+        private final Deque<CreditWork> outbox = new ArrayDeque<>();
+
+        Shard(int id, int slots, long initialCents) {
+            this.id = id;
+            this.balances = new long[slots];
+            Arrays.fill(balances, initialCents);
+            this.thread = new Thread(this::runLoop, "ledger-shard-" + id);
+            this.thread.setDaemon(true);
+        }
+
+        private void runLoop() {
+            int attempt = 0;
+            while (running || inbox.size() > 0) {
+                Object work = inbox.poll();
+                if (work instanceof DebitWork) {
+                    debit((DebitWork) work);
+                    attempt = 0;
+                } else if (work instanceof CreditWork) {
+                    credit((CreditWork) work);
+                    attempt = 0;
+                } else {
+                    attempt = WaitStrategy.PARKING.idle(attempt);
+                }
+                flushOutbox();
+            }
+        }
+
+        private void debit(DebitWork work) {
+            Batch batch = work.batch;
+            int shardCount = shards.length;
+            long[][] creditTo = new long[shardCount][];
+            long[][] creditAmount = new long[shardCount][];
+            int[] creditCount = new int[shardCount];
+            long applied = 0;
+            long rejected = 0;
+
+            for (int index : work.indexes) {
+                long from = batch.from[index];
+                long to = batch.to[index];
+                long amount = batch.amounts[index];
+                int fromSlot = slotOf(from);
+                long balance = balances[fromSlot];
+                if (balance < amount) {
+                    rejected++;
+                    continue;
+                }
+                BALANCES.setRelease(balances, fromSlot, balance - amount);
+                applied++;
+
+                int toShard = shardOf(to);
+                if (toShard == id) {
+                    int toSlot = slotOf(to);
+                    BALANCES.setRelease(balances, toSlot, balances[toSlot] + amount);
+                } else {
+                    if (creditTo[toShard] == null) {
+                        creditTo[toShard] = new long[work.indexes.length];
+                        creditAmount[toShard] = new long[work.indexes.length];
+                    }
+                    int n = creditCount[toShard]++;
+                    creditTo[toShard][n] = to;
+                    creditAmount[toShard][n] = amount;
+                }
+            }
+
+            batch.applied.addAndGet(applied);
+            batch.rejected.addAndGet(rejected);
+
+            int messages = 0;
+            for (int s = 0; s < shardCount; s++) {
+                if (creditCount[s] > 0) {
+                    messages++;
+                }
+            }
+            // Register the new pieces BEFORE finishing this one, so the
+            // batch cannot look complete while credits are still pending.
+            batch.outstanding.addAndGet(messages);
+            for (int s = 0; s < shardCount; s++) {
+                if (creditCount[s] > 0) {
+                    send(new CreditWork(s, batch, creditTo[s], creditAmount[s], creditCount[s]));
+                }
+            }
+            batch.pieceDone();
+        }
+
+        private void credit(CreditWork work) {
+            for (int i = 0; i < work.count; i++) {
+                int slot = slotOf(work.to[i]);
+                BALANCES.setRelease(balances, slot, balances[slot] + work.amounts[i]);
+            }
+            work.batch.pieceDone();
+        }
+
+        /**
+         * Never blocks on another shard's inbox: two shards waiting on each
+         * other's full inbox would deadlock. Keep the message and retry.
+         */
+        private void send(CreditWork work) {
+            if (!outbox.isEmpty() || !shards[work.shard].inbox.offer(work)) {
+                outbox.add(work);
+            }
+        }
+
+        private void flushOutbox() {
+            while (!outbox.isEmpty()) {
+                CreditWork pending = outbox.peek();
+                if (!shards[pending.shard].inbox.offer(pending)) {
+                    return;
+                }
+                outbox.poll();
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Batches and messages
+    // ─────────────────────────────────────────────
+
+    private final class Batch {
+        final long[] from;
+        final long[] to;
+        final long[] amounts;
+        final int count;
+        final long submittedNanos = System.nanoTime();
+        final AtomicInteger outstanding = new AtomicInteger();
+        final AtomicLong applied = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final CompletableFuture<BatchResult> future = new CompletableFuture<>();
+        volatile Throwable failure;  // Set if submit() was interrupted half-way
+
+        Batch(long[] from, long[] to, long[] amounts, int count) {
+            this.from = from;
+            this.to = to;
+            this.amounts = amounts;
+            this.count = count;
+        }
+
+        void pieceDone() {
+            if (outstanding.decrementAndGet() == 0) {
+                complete();
+            }
+        }
+
+        void complete() {
+            long latency = System.nanoTime() - submittedNanos;
+            batchLatency.record(latency);
+            transfersApplied.addAndGet(applied.get());
+            transfersRejected.addAndGet(rejected.get());
+            batchesCompleted.incrementAndGet();
+            batchesInFlight.decrementAndGet();
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(new BatchResult(count, applied.get(), rejected.get(), latency));
+            }
+        }
+    }
+
+    private static final class DebitWork {
+        final Batch batch;
+        final int[] indexes;
+
+        DebitWork(Batch batch, int[] indexes) {
+            this.batch = batch;
+            this.indexes = indexes;
+        }
+    }
+
+    private static final class CreditWork {
+        final int shard;
+        final Batch batch;
+        final long[] to;
+        final long[] amounts;
+        final int count;
+
+        CreditWork(int shard, Batch batch, long[] to, long[] amounts, int count) {
+            this.shard = shard;
+            this.batch = batch;
+            this.to = to;
+            this.amounts = amounts;
+            this.count = count;
+        }
+    }
+
+    /** Outcome of one submitted batch. */
+    public static final class BatchResult {
+        public final int transfers;
+        public final long applied;
+        public final long rejected;
+        public final long latencyNanos;
+
+        BatchResult(int transfers, long applied, long rejected, long latencyNanos) {
+            this.transfers = transfers;
+            this.applied = applied;
+            this.rejected = rejected;
+            this.latencyNanos = latencyNanos;
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Statistics
+    // ─────────────────────────────────────────────
+
+    /** A point-in-time view of engine throughput and batch latency. */
+    public static final class Stats {
+        public final long transfersApplied;
+        public final long transfersRejected;
+        public final long batchesCompleted;
+        public final long uptimeNanos;
+        public final long p50LatencyNanos;
+        public final long p99LatencyNanos;
+        public final long maxLatencyNanos;
+
+        Stats(long applied, long rejected, long batches, long uptimeNanos, LatencyHistogram histogram) {
+            this.transfersApplied = applied;
+            this.transfersRejected = rejected;
+            this.batchesCompleted = batches;
+            this.uptimeNanos = uptimeNanos;
+            this.p50LatencyNanos = histogram.percentile(50);
+            this.p99LatencyNanos = histogram.percentile(99);
+            this.maxLatencyNanos = histogram.max();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("applied=%,d rejected=%,d batches=%,d latency p50<=%.2fms p99<=%.2fms max=%.2fms",
+                transfersApplied, transfersRejected, batchesCompleted,
+                p50LatencyNanos / 1e6, p99LatencyNanos / 1e6, maxLatencyNanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * ============================================
+ * LEDGER ENGINE THROUGHPUT BENCHMARK
+ * ============================================
+ *
+ * Creates a LedgerEngine with millions of accounts, then submits batches
+ * of random transfers (keeping a few batches in flight at once) and
+ * reports transfers per second, batch latency and whether the total
+ * amount of money was preserved.
+ *
+ * How to compile and run:
+ * $ javac LedgerEngineBenchmark.java
+ * $ java LedgerEngineBenchmark                       (defaults below)
+ * $ java LedgerEngineBenchmark 4000000 20000000 4    (accounts, transfers, shards)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class LedgerEngineBenchmark {
+
+    private static final int BATCH_SIZE = 100_000;
+    private static final int MAX_IN_FLIGHT = 8;
+
+    public static void main(String[] args) throws Exception {
+        long accounts = args.length > 0 ? Long.parseLong(args[0]) : 2_000_000;
+        long transfers = args.length > 1 ? Long.parseLong(args[1]) : 10_000_000;
+        int shards = args.length > 2 ? Integer.parseInt(args[2])
+                                     : Math.max(2, Runtime.getRuntime().availableProcessors());
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     LEDGER ENGINE THROUGHPUT BENCHMARK                   ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+        System.out.printf("Accounts: %,d, transfers: %,d, shards: %d, batch size: %,d%n%n",
+            accounts, transfers, shards, BATCH_SIZE);
+
+        // Pre-generate a pool of batches so the benchmark measures the engine, not Random
+        Random random = new Random(7);
+        int poolSize = MAX_IN_FLIGHT * 2;
+        long[][] from = new long[poolSize][BATCH_SIZE];
+        long[][] to = new long[poolSize][BATCH_SIZE];
+        long[][] amounts = new long[poolSize][BATCH_SIZE];
+        for (int b = 0; b < poolSize; b++) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                from[b][i] = (long) (random.nextDouble() * accounts);
+                long target;
+                do {
+                    target = (long) (random.nextDouble() * accounts);
+                } while (target == from[b][i]);
+                to[b][i] = target;
+                amounts[b][i] = 1 + random.nextInt(5_000);
+            }
+        }
+
+        try (LedgerEngine engine = new LedgerEngine(accounts, shards, 10_000)) {
+            long expectedTotal = engine.totalCents();
+            Deque<CompletableFuture<LedgerEngine.BatchResult>> inFlight = new ArrayDeque<>();
+
+            long start = System.nanoTime();
+            long submitted = 0;
+            int next = 0;
+            while (submitted < transfers) {
+                if (inFlight.size() == MAX_IN_FLIGHT) {
+                    inFlight.poll().join();
+                }
+                // A pooled batch may only be reused after its previous run completed
+                int count = (int) Math.min(BATCH_SIZE, transfers - submitted);
+                inFlight.add(engine.submit(from[next], to[next], amounts[next], count));
+                submitted += count;
+                next = (next + 1) % poolSize;
+            }
+            while (!inFlight.isEmpty()) {
+                inFlight.poll().join();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            LedgerEngine.Stats stats = engine.stats();
+            System.out.printf("Throughput:      %,.0f transfers/sec%n", submitted / seconds);
+            System.out.printf("Elapsed:         %.2f s%n", seconds);
+            System.out.println("Stats:           " + stats);
+            long total = engine.totalCents();
+            System.out.println("Money preserved: " + (total == expectedTotal ? "✓ yes" : "✗ NO")
+                + " (" + total + " cents)");
+        }
+
+        System.out.println("\n✅ Benchmark completed!");
+    }
+}
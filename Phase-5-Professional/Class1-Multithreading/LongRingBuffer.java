@@ -0,0 +1,84 @@
+/**
+ * ============================================
+ * LONG RING BUFFER
+ * ============================================
+ *
+ * A bounded, lock-free queue of plain long values (no Long boxing).
+ *
+ * Single values:  offer(long) / put(long) / take()
+ * Batches:        offer(long[], off, len) / put(long[], off, len)
+ *                 drainTo(long[], max) / takeBatch(long[], max)
+ *
+ * @author Learn Java With Me
+ */
+
+public class LongRingBuffer extends PrimitiveRingBuffer {
+
+    private final long[] values;
+
+    public LongRingBuffer(int capacity, RingSequencer.ProducerType producerType, WaitStrategy waitStrategy) {
+        this(new long[capacity], producerType, waitStrategy);
+    }
+
+    private LongRingBuffer(long[] values, RingSequencer.ProducerType producerType, WaitStrategy waitStrategy) {
+        super(values, values.length, producerType, waitStrategy);
+        this.values = values;
+    }
+
+    /** Adds one value if there is room. Never blocks. */
+    public boolean offer(long value) {
+        long pos = sequencer.tryClaimWrite(1);
+        if (pos < 0) {
+            return false;
+        }
+        values[sequencer.index(pos)] = value;
+        sequencer.publish(pos, 1);
+        return true;
+    }
+
+    /** Adds one value, waiting while the buffer is full. */
+    public void put(long value) throws InterruptedException {
+        int attempt = 0;
+        while (!offer(value)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            attempt = waitStrategy.idle(attempt);
+        }
+    }
+
+    /** Publishes as many values as currently fit and returns that count. Never blocks. */
+    public int offer(long[] src, int offset, int length) {
+        return tryPublishBatch(src, offset, length);
+    }
+
+    /** Publishes all values, waiting for room as needed. */
+    public void put(long[] src, int offset, int length) throws InterruptedException {
+        publishBatch(src, offset, length);
+    }
+
+    /** Removes one value, waiting while the buffer is empty. */
+    public long take() throws InterruptedException {
+        int attempt = 0;
+        long pos;
+        while ((pos = sequencer.tryClaimRead(1)) < 0) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            attempt = waitStrategy.idle(attempt);
+        }
+        long value = values[sequencer.index(pos)];
+        sequencer.releaseRead(pos, 1);
+        return value;
+    }
+
+    /** Moves up to max values into buffer and returns that count (0 if empty). Never blocks. */
+    public int drainTo(long[] buffer, int max) {
+        return tryDrainBatch(buffer, 0, Math.min(max, buffer.length));
+    }
+
+    /** Like drainTo, but waits until at least one value is available. */
+    public int takeBatch(long[] buffer, int max) throws InterruptedException {
+        return drainBatch(buffer, 0, Math.min(max, buffer.length));
+    }
+}
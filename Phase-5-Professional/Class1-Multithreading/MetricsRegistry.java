@@ -0,0 +1,75 @@
+/**
+ * ============================================
+ * METRICS REGISTRY
+ * ============================================
+ *
+ * One place to create named metrics and read them all at once, e.g. for
+ * a dashboard or a periodic log line:
+ *
+ *   MetricsRegistry metrics = new MetricsRegistry();
+ *   StripedCounter requests = metrics.counter("http.requests");
+ *   metrics.gauge("queue.size", queue::size);
+ *   RateCounter errors = metrics.rate("http.errors");
+ *
+ *   requests.increment();          // hot path: no locks, no contention
+ *   System.out.println(metrics.snapshot());
+ *
+ * Asking for the same name twice returns the same metric, so hot code can
+ * look metrics up once and keep the reference.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+public class MetricsRegistry {
+
+    private final Map<String, StripedCounter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final Map<String, RateCounter> rates = new ConcurrentHashMap<>();
+
+    public StripedCounter counter(String name) {
+        checkUnused(name, counters);
+        return counters.computeIfAbsent(name, n -> new StripedCounter());
+    }
+
+    /** A gauge set by the application with set(). */
+    public Gauge gauge(String name) {
+        checkUnused(name, gauges);
+        return gauges.computeIfAbsent(name, n -> new Gauge());
+    }
+
+    /** A gauge computed from the supplier every time it is read. */
+    public Gauge gauge(String name, LongSupplier supplier) {
+        checkUnused(name, gauges);
+        return gauges.computeIfAbsent(name, n -> Gauge.of(supplier));
+    }
+
+    public RateCounter rate(String name) {
+        checkUnused(name, rates);
+        return rates.computeIfAbsent(name, n -> new RateCounter());
+    }
+
+    /**
+     * Reads every metric, sorted by name. Counters and gauges report their
+     * value, rate counters report events per second.
+     */
+    public Map<String, Number> snapshot() {
+        Map<String, Number> snapshot = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        gauges.forEach((name, gauge) -> snapshot.put(name, gauge.get()));
+        rates.forEach((name, rate) -> snapshot.put(name, rate.ratePerSecond()));
+        return snapshot;
+    }
+
+    /** A name may only be used by one kind of metric. */
+    private void checkUnused(String name, Map<String, ?> allowed) {
+        for (Map<String, ?> map : List.of(counters, gauges, rates)) {
+            if (map != allowed && map.containsKey(name)) {
+                throw new IllegalArgumentException("Metric name already used by another metric type: " + name);
+            }
+        }
+    }
+}
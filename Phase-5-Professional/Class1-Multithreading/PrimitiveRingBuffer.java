@@ -0,0 +1,140 @@
+/**
+ * ============================================
+ * PRIMITIVE RING BUFFER (BATCH PUBLISH & DRAIN)
+ * ============================================
+ *
+ * Shared base for IntRingBuffer and LongRingBuffer.
+ *
+ * ProducerConsumerExample moves one boxed Integer per put()/take() call,
+ * so every item costs an allocation plus a full round of queue overhead.
+ * These buffers store plain int/long values in an array and move them in
+ * batches: claiming n slots is ONE sequencer operation, and the values are
+ * copied with System.arraycopy (which works on any primitive array - that
+ * is why the storage is typed as Object here).
+ *
+ * A consumer that calls drainTo(buffer, 4096) can process thousands of
+ * values per wakeup without creating a single object.
+ *
+ * @author Learn Java With Me
+ */
+
+public abstract class PrimitiveRingBuffer {
+
+    protected final RingSequencer sequencer;
+    protected final WaitStrategy waitStrategy;
+    private final Object storage;
+    private final int capacity;
+
+    protected PrimitiveRingBuffer(Object storage, int capacity,
+                                  RingSequencer.ProducerType producerType, WaitStrategy waitStrategy) {
+        this.sequencer = new RingSequencer(capacity, producerType);
+        this.waitStrategy = waitStrategy;
+        this.storage = storage;
+        this.capacity = capacity;
+    }
+
+    public int size() {
+        return sequencer.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Publishes as many values from src as currently fit, in one claim.
+     *
+     * @return how many values were published (0 if the buffer is full)
+     */
+    protected int tryPublishBatch(Object src, int offset, int length) {
+        while (length > 0) {
+            int n = sequencer.writable(Math.min(length, capacity));
+            if (n == 0) {
+                return 0;
+            }
+            long pos = sequencer.tryClaimWrite(n);
+            if (pos >= 0) {
+                copyIn(pos, src, offset, n);
+                sequencer.publish(pos, n);
+                return n;
+            }
+            // Another producer took some of those slots, look again
+        }
+        return 0;
+    }
+
+    /** Publishes every value from src, waiting while the buffer is full. */
+    protected void publishBatch(Object src, int offset, int length) throws InterruptedException {
+        int attempt = 0;
+        while (length > 0) {
+            int published = tryPublishBatch(src, offset, length);
+            if (published > 0) {
+                offset += published;
+                length -= published;
+                attempt = 0;
+            } else {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                attempt = waitStrategy.idle(attempt);
+            }
+        }
+    }
+
+    /**
+     * Moves up to max available values into dst, in one claim.
+     *
+     * @return how many values were copied (0 if the buffer is empty)
+     */
+    protected int tryDrainBatch(Object dst, int offset, int max) {
+        while (max > 0) {
+            int n = sequencer.available(Math.min(max, capacity));
+            if (n == 0) {
+                return 0;
+            }
+            long pos = sequencer.tryClaimRead(n);
+            if (pos >= 0) {
+                copyOut(pos, dst, offset, n);
+                sequencer.releaseRead(pos, n);
+                return n;
+            }
+            // Another consumer took some of those values, look again
+        }
+        return 0;
+    }
+
+    /** Like tryDrainBatch, but waits until at least one value is available. */
+    protected int drainBatch(Object dst, int offset, int max) throws InterruptedException {
+        int attempt = 0;
+        while (true) {
+            int drained = tryDrainBatch(dst, offset, max);
+            if (drained > 0 || max <= 0) {
+                return drained;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            attempt = waitStrategy.idle(attempt);
+        }
+    }
+
+    /** Copies n values into the ring, wrapping around the end of the array. */
+    private void copyIn(long position, Object src, int offset, int n) {
+        int index = sequencer.index(position);
+        int first = Math.min(n, capacity - index);
+        System.arraycopy(src, offset, storage, index, first);
+        if (n > first) {
+            System.arraycopy(src, offset + first, storage, 0, n - first);
+        }
+    }
+
+    /** Copies n values out of the ring, wrapping around the end of the array. */
+    private void copyOut(long position, Object dst, int offset, int n) {
+        int index = sequencer.index(position);
+        int first = Math.min(n, capacity - index);
+        System.arraycopy(storage, index, dst, offset, first);
+        if (n > first) {
+            System.arraycopy(storage, 0, dst, offset + first, n - first);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * ============================================
+ * WINDOWED RATE COUNTER
+ * ============================================
+ *
+ * Answers "how many events per second over the last N seconds?"
+ *
+ * The window is split into buckets (e.g. 10 buckets of 1 second). Each
+ * bucket is a StripedCounter, so marking an event is as contention-free
+ * as StripedCounter.add(). When time moves on to a bucket that still
+ * holds data from an older lap, the first thread to notice resets it.
+ *
+ *   window = 10s, 10 buckets
+ *   ┌────┬────┬────┬────┬────┬────┬────┬────┬────┬────┐
+ *   │ 12 │ 15 │  9 │ 11 │ 14 │ 10 │ 13 │ 12 │  8 │  3 │ ← current bucket
+ *   └────┴────┴────┴────┴────┴────┴────┴────┴────┴────┘
+ *
+ * Counts are approximate right at bucket boundaries (an event racing with
+ * the reset can be dropped), which is fine for monitoring.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class RateCounter {
+
+    private final long bucketNanos;
+    private final int bucketCount;
+    private final StripedCounter[] buckets;
+    private final AtomicLongArray bucketEpochs;
+    private final long createdNanos = System.nanoTime();
+
+    /** A 10-second window with 1-second buckets. */
+    public RateCounter() {
+        this(Duration.ofSeconds(10), 10);
+    }
+
+    public RateCounter(Duration window, int bucketCount) {
+        if (bucketCount < 1 || window.toNanos() < bucketCount) {
+            throw new IllegalArgumentException("Window too small for " + bucketCount + " buckets");
+        }
+        this.bucketNanos = window.toNanos() / bucketCount;
+        this.bucketCount = bucketCount;
+        this.buckets = new StripedCounter[bucketCount];
+        this.bucketEpochs = new AtomicLongArray(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new StripedCounter();
+            bucketEpochs.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    public void mark() {
+        mark(1);
+    }
+
+    public void mark(long events) {
+        long epoch = System.nanoTime() / bucketNanos;
+        int index = (int) Math.floorMod(epoch, (long) bucketCount);
+        long seen = bucketEpochs.get(index);
+        if (seen < epoch && bucketEpochs.compareAndSet(index, seen, epoch)) {
+            buckets[index].sumThenReset();  // Bucket held an older lap
+        }
+        buckets[index].add(events);
+    }
+
+    /** Number of events recorded within the window. */
+    public long count() {
+        return count(System.nanoTime());
+    }
+
+    private long count(long nowNanos) {
+        long now = nowNanos / bucketNanos;
+        long total = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            long epoch = bucketEpochs.get(i);
+            if (epoch > now - bucketCount && epoch <= now) {
+                total += buckets[i].sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Average events per second over the time the window actually covers:
+     * the full older buckets plus the elapsed part of the current one, and
+     * never more than the counter has existed. Dividing by the whole window
+     * would report too low a rate mid-bucket and during the first window.
+     */
+    public double ratePerSecond() {
+        long nowNanos = System.nanoTime();
+        long intoCurrentBucket = Math.floorMod(nowNanos, bucketNanos);
+        long coveredNanos = Math.min((bucketCount - 1) * bucketNanos + intoCurrentBucket, nowNanos - createdNanos);
+        return count(nowNanos) / (Math.max(coveredNanos, 1) / 1e9);
+    }
+}
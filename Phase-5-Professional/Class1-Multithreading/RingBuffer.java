@@ -0,0 +1,120 @@
+/**
+ * ============================================
+ * LOCK-FREE BOUNDED RING BUFFER
+ * ============================================
+ *
+ * A drop-in alternative to the ArrayBlockingQueue used by
+ * ProducerConsumerExample (see ThreadingDemo.java).
+ *
+ * ArrayBlockingQueue protects put() AND take() with ONE ReentrantLock, so
+ * a producer and a consumer contend on every single item. This buffer
+ * uses a RingSequencer instead: producers and consumers only meet on a
+ * per-slot sequence number, and nobody ever holds a lock.
+ *
+ * - ProducerType.SINGLE: one producer thread, any number of consumers
+ *   (claiming a write slot needs no CAS at all)
+ * - ProducerType.MULTI:  any number of producers and consumers
+ * - WaitStrategy decides what put()/take() do while full/empty
+ *
+ * Each element is delivered to exactly one consumer, just like a
+ * BlockingQueue.
+ *
+ * @author Learn Java With Me
+ */
+
+public class RingBuffer<E> {
+
+    private final RingSequencer sequencer;
+    private final Object[] entries;
+    private final WaitStrategy waitStrategy;
+
+    /**
+     * @param capacity     number of slots, must be a power of two
+     * @param producerType SINGLE if only one thread ever calls put/offer
+     * @param waitStrategy how to wait while the buffer is full or empty
+     */
+    public RingBuffer(int capacity, RingSequencer.ProducerType producerType, WaitStrategy waitStrategy) {
+        this.sequencer = new RingSequencer(capacity, producerType);
+        this.entries = new Object[capacity];
+        this.waitStrategy = waitStrategy;
+    }
+
+    /** Adds an element if there is room. Never blocks. */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("RingBuffer does not accept null elements");
+        }
+        long pos = sequencer.tryClaimWrite(1);
+        if (pos < 0) {
+            return false;
+        }
+        entries[sequencer.index(pos)] = element;
+        sequencer.publish(pos, 1);
+        return true;
+    }
+
+    /** Adds an element, waiting (per the WaitStrategy) while the buffer is full. */
+    public void put(E element) throws InterruptedException {
+        int attempt = 0;
+        while (!offer(element)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            attempt = waitStrategy.idle(attempt);
+        }
+    }
+
+    /** Removes the next element, or returns null if the buffer is empty. Never blocks. */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long pos = sequencer.tryClaimRead(1);
+        if (pos < 0) {
+            return null;
+        }
+        int index = sequencer.index(pos);
+        E element = (E) entries[index];
+        entries[index] = null;  // Let the GC reclaim it
+        sequencer.releaseRead(pos, 1);
+        return element;
+    }
+
+    /** Removes the next element, waiting (per the WaitStrategy) while the buffer is empty. */
+    public E take() throws InterruptedException {
+        int attempt = 0;
+        E element;
+        while ((element = poll()) == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            attempt = waitStrategy.idle(attempt);
+        }
+        return element;
+    }
+
+    public int size() {
+        return sequencer.size();
+    }
+
+    public int capacity() {
+        return sequencer.capacity();
+    }
+}
+
+/**
+ * Same API as ProducerConsumerExample, backed by the lock-free RingBuffer.
+ */
+class RingBufferProducerConsumer {
+    private final RingBuffer<Integer> buffer;
+
+    public RingBufferProducerConsumer(int capacity) {
+        this.buffer = new RingBuffer<>(capacity, RingSequencer.ProducerType.MULTI, WaitStrategy.PARKING);
+    }
+
+    public void produce(int value) throws InterruptedException {
+        buffer.put(value);  // Waits if buffer is full
+    }
+
+    public int consume() throws InterruptedException {
+        return buffer.take();  // Waits if buffer is empty
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * ============================================
+ * RING BUFFER vs ARRAYBLOCKINGQUEUE BENCHMARK
+ * ============================================
+ *
+ * Pushes the same number of integers through an ArrayBlockingQueue and
+ * through the lock-free RingBuffer (with every WaitStrategy) for several
+ * producer/consumer counts, and prints the throughput of each.
+ *
+ * How to compile and run:
+ * $ javac RingBufferBenchmark.java
+ * $ java RingBufferBenchmark            (default: 2,000,000 items per run)
+ * $ java RingBufferBenchmark 10000000   (custom item count)
+ *
+ * Note: BUSY_SPIN is skipped when there are more threads than CPU cores -
+ * spinning threads would just steal time from the threads doing real work.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+public class RingBufferBenchmark {
+
+    private static final int CAPACITY = 1024;
+    private static final int[][] THREAD_CONFIGS = {
+        {1, 1}, {1, 2}, {2, 1}, {2, 2}, {4, 4}
+    };
+
+    /** The operations every queue under test must support. */
+    interface IntChannel {
+        void put(int value) throws InterruptedException;
+        int take() throws InterruptedException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     RING BUFFER vs ARRAYBLOCKINGQUEUE BENCHMARK          ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+        System.out.println("Items per run: " + items + ", capacity: " + CAPACITY + ", cores: " + cores + "\n");
+
+        System.out.printf("%-6s %-6s %-22s %15s%n", "Prod", "Cons", "Queue", "ops/sec");
+        System.out.println("───────────────────────────────────────────────────────────");
+
+        for (int[] config : THREAD_CONFIGS) {
+            int producers = config[0];
+            int consumers = config[1];
+
+            run(producers, consumers, items, "ArrayBlockingQueue", () -> {
+                BlockingQueue<Integer> queue = new ArrayBlockingQueue<>(CAPACITY);
+                return new IntChannel() {
+                    public void put(int value) throws InterruptedException { queue.put(value); }
+                    public int take() throws InterruptedException { return queue.take(); }
+                };
+            });
+
+            RingSequencer.ProducerType type = producers == 1
+                ? RingSequencer.ProducerType.SINGLE
+                : RingSequencer.ProducerType.MULTI;
+
+            for (WaitStrategy strategy : WaitStrategy.values()) {
+                String name = "RingBuffer/" + strategy;
+                if (strategy == WaitStrategy.BUSY_SPIN && producers + consumers > cores) {
+                    System.out.printf("%-6d %-6d %-22s %15s%n", producers, consumers, name, "skipped");
+                    continue;
+                }
+                run(producers, consumers, items, name, () -> {
+                    RingBuffer<Integer> buffer = new RingBuffer<>(CAPACITY, type, strategy);
+                    return new IntChannel() {
+                        public void put(int value) throws InterruptedException { buffer.put(value); }
+                        public int take() throws InterruptedException { return buffer.take(); }
+                    };
+                });
+            }
+            System.out.println();
+        }
+
+        System.out.println("✅ Benchmark completed!");
+    }
+
+    /**
+     * Runs one configuration: every producer puts its share of the items,
+     * every consumer takes its share, and the consumed values are summed
+     * so we can check that nothing was lost or duplicated.
+     */
+    private static void run(int producers, int consumers, int items, String name,
+                            Callable<IntChannel> factory) throws Exception {
+        IntChannel channel = factory.call();
+        int perProducer = items / producers;
+        int total = perProducer * producers;
+
+        AtomicLong consumedSum = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers + consumers];
+
+        for (int p = 0; p < producers; p++) {
+            threads[p] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 1; i <= perProducer; i++) {
+                        channel.put(i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        for (int c = 0; c < consumers; c++) {
+            // The first consumer also takes the remainder
+            int share = total / consumers + (c == 0 ? total % consumers : 0);
+            threads[producers + c] = new Thread(() -> {
+                long sum = 0;
+                try {
+                    start.await();
+                    for (int i = 0; i < share; i++) {
+                        sum += channel.take();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                consumedSum.addAndGet(sum);
+            });
+        }
+
+        for (Thread t : threads) {
+            t.start();
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+        long elapsed = System.nanoTime() - startNanos;
+
+        long expectedSum = (long) perProducer * (perProducer + 1) / 2 * producers;
+        String check = consumedSum.get() == expectedSum ? "" : "  ✗ checksum mismatch!";
+        double opsPerSec = total / (elapsed / 1e9);
+        System.out.printf("%-6d %-6d %-22s %,15.0f%s%n", producers, consumers, name, opsPerSec, check);
+    }
+}
@@ -0,0 +1,266 @@
+/**
+ * ============================================
+ * RING SEQUENCER (LOCK-FREE SLOT COORDINATION)
+ * ============================================
+ *
+ * Hands out positions in a fixed-size ring to producers and consumers
+ * without taking any lock. It only coordinates *positions* - the classes
+ * that use it (RingBuffer, IntRingBuffer, ...) own the actual storage.
+ *
+ * How it works:
+ * - Two ever-increasing counters: tail (next position to write) and
+ *   head (next position to read). A position maps to slot (pos & mask).
+ * - Every slot also has its own sequence number that says what state the
+ *   slot is in for the current lap around the ring:
+ *
+ *       slotSeq == pos              → free, a producer may claim it
+ *       slotSeq == pos + 1          → published, a consumer may claim it
+ *       slotSeq == pos + capacity   → consumed, free for the next lap
+ *
+ * - Producers and consumers claim positions with a single CAS on tail/head,
+ *   then publish/release each slot with a cheap ordered write.
+ * - With ProducerType.SINGLE, the tail is owned by one thread, so claiming
+ *   needs no CAS at all.
+ * - head and tail live in padded objects so they never share a CPU cache
+ *   line ("false sharing"), which would make producers and consumers slow
+ *   each other down even though they touch different counters.
+ *
+ * Batches: claiming n slots costs one CAS no matter how big n is, which is
+ * what makes batch publish / drainTo cheap.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class RingSequencer {
+
+    /** How many threads are allowed to call the claim methods for writing. */
+    public enum ProducerType {
+        SINGLE,
+        MULTI
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final ProducerType producerType;
+    private final AtomicLongArray slotSequences;
+    private final PaddedSequence tail = new PaddedSequence();
+    private final PaddedSequence head = new PaddedSequence();
+
+    public RingSequencer(int capacity, ProducerType producerType) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two >= 2: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.producerType = producerType;
+        this.slotSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slotSequences.set(i, i);
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Maps an ever-increasing position to an index into the storage array. */
+    public int index(long position) {
+        return (int) (position & mask);
+    }
+
+    // ─────────────────────────────────────────────
+    // Producer side
+    // ─────────────────────────────────────────────
+
+    /**
+     * Claims exactly n consecutive positions for writing.
+     *
+     * @return the first claimed position, or -1 if fewer than n slots are free
+     */
+    public long tryClaimWrite(int n) {
+        checkBatchSize(n);
+        if (producerType == ProducerType.SINGLE) {
+            long pos = tail.getPlain();
+            if (freeFrom(pos, n) != n) {
+                return -1;
+            }
+            tail.setRelease(pos + n);
+            return pos;
+        }
+
+        while (true) {
+            long pos = tail.getAcquire();
+            int free = freeFrom(pos, n);
+            if (free == n) {
+                if (tail.compareAndSet(pos, pos + n)) {
+                    return pos;
+                }
+            } else if (free >= 0) {
+                return -1;  // Ring is (nearly) full
+            }
+            // free < 0: another producer moved tail under us, retry
+        }
+    }
+
+    /**
+     * Returns how many free slots (at most max) a producer could claim
+     * right now. Other producers may race for them, so treat it as a hint
+     * for the size of the next {@link #tryClaimWrite(int)}.
+     */
+    public int writable(int max) {
+        long pos = tail.getAcquire();
+        int count = 0;
+        while (count < max && count < capacity
+                && slotSequences.getAcquire(index(pos + count)) == pos + count) {
+            count++;
+        }
+        return count;
+    }
+
+    /** Makes n written slots starting at position visible to consumers. */
+    public void publish(long position, int n) {
+        for (int i = 0; i < n; i++) {
+            long pos = position + i;
+            slotSequences.setRelease(index(pos), pos + 1);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Consumer side
+    // ─────────────────────────────────────────────
+
+    /**
+     * Returns how many published slots (at most max) are ready to read
+     * right now. Another consumer may claim them first, so use it as a hint
+     * for the size of the next {@link #tryClaimRead(int)}.
+     */
+    public int available(int max) {
+        long pos = head.getAcquire();
+        int count = 0;
+        while (count < max && count < capacity
+                && slotSequences.getAcquire(index(pos + count)) == pos + count + 1) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Claims exactly n consecutive published positions for reading.
+     *
+     * @return the first claimed position, or -1 if fewer than n are published
+     */
+    public long tryClaimRead(int n) {
+        checkBatchSize(n);
+        while (true) {
+            long pos = head.getAcquire();
+            int ready = publishedFrom(pos, n);
+            if (ready == n) {
+                if (head.compareAndSet(pos, pos + n)) {
+                    return pos;
+                }
+            } else if (ready >= 0) {
+                return -1;  // Not enough data yet
+            }
+            // ready < 0: another consumer moved head under us, retry
+        }
+    }
+
+    /** Hands n consumed slots starting at position back to producers. */
+    public void releaseRead(long position, int n) {
+        for (int i = 0; i < n; i++) {
+            long pos = position + i;
+            slotSequences.setRelease(index(pos), pos + capacity);
+        }
+    }
+
+    /** Approximate number of claimed-but-not-yet-read positions. */
+    public int size() {
+        long size = tail.getAcquire() - head.getAcquire();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+
+    /** Counts free slots from pos (up to n); -1 means pos is stale. */
+    private int freeFrom(long pos, int n) {
+        for (int i = 0; i < n; i++) {
+            long expected = pos + i;
+            long seq = slotSequences.getAcquire(index(expected));
+            if (seq != expected) {
+                return seq > expected ? -1 : i;
+            }
+        }
+        return n;
+    }
+
+    /** Counts published slots from pos (up to n); -1 means pos is stale. */
+    private int publishedFrom(long pos, int n) {
+        for (int i = 0; i < n; i++) {
+            long expected = pos + i + 1;
+            long seq = slotSequences.getAcquire(index(pos + i));
+            if (seq != expected) {
+                return seq > expected ? -1 : i;
+            }
+        }
+        return n;
+    }
+
+    private void checkBatchSize(int n) {
+        if (n < 1 || n > capacity) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + capacity + ": " + n);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Cache-line padded counter
+    // ─────────────────────────────────────────────
+    //
+    // The JVM may reorder fields inside one class, but it keeps a
+    // superclass's fields before its subclass's fields. Splitting the
+    // padding across three classes guarantees 56 bytes on each side of
+    // the value, so two counters can never land on the same 64-byte line.
+
+    static class LeftPadding {
+        long p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    static class PaddedValue extends LeftPadding {
+        volatile long value;
+    }
+
+    static final class PaddedSequence extends PaddedValue {
+        long p11, p12, p13, p14, p15, p16, p17;
+
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(PaddedValue.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        long getPlain() {
+            return (long) VALUE.get(this);
+        }
+
+        long getAcquire() {
+            return (long) VALUE.getAcquire(this);
+        }
+
+        void setRelease(long newValue) {
+            VALUE.setRelease(this, newValue);
+        }
+
+        boolean compareAndSet(long expected, long newValue) {
+            return VALUE.compareAndSet(this, expected, newValue);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/**
+ * ============================================
+ * PARALLEL STARTUP ORCHESTRATOR
+ * ============================================
+ *
+ * demo9_CountDownLatchDemo starts Database, Cache and MessageQueue on
+ * three threads and waits for all of them with one CountDownLatch. Real
+ * services depend on each other though - the cache needs the database -
+ * and a single latch cannot express that.
+ *
+ * This orchestrator takes a graph of named components:
+ *
+ *     Database ──► Cache ───────┐
+ *                               ├──► WebServer
+ *     MessageQueue ─────────────┘
+ *
+ * and starts every component as soon as all of its dependencies are up,
+ * so independent components run in parallel. Total startup time is then
+ * the longest dependency chain (the "critical path"), not the sum of
+ * every component.
+ *
+ * Usage:
+ *   StartupOrchestrator orchestrator = new StartupOrchestrator.Builder()
+ *       .component("Database", () -> connectDb())
+ *       .component("Cache", () -> warmCache(), "Database")
+ *       .build();
+ *   StartupOrchestrator.Report report = orchestrator.start();
+ *   report.print();
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class StartupOrchestrator {
+
+    /** The work needed to start one component. */
+    @FunctionalInterface
+    public interface StartupTask {
+        void start() throws Exception;
+    }
+
+    private final Map<String, Component> components;  // In dependency (topological) order
+
+    private StartupOrchestrator(Map<String, Component> components) {
+        this.components = components;
+    }
+
+    /** Starts everything on a cached thread pool and waits for the result. */
+    public Report start() throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            return start(executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Starts every component on the given executor as soon as its
+     * dependencies are up, then waits for all of them. A failed component
+     * fails everything that depends on it; the rest still starts.
+     */
+    public Report start(Executor executor) throws InterruptedException {
+        long origin = System.nanoTime();
+        Map<String, CompletableFuture<Timing>> futures = new LinkedHashMap<>();
+
+        for (Component component : components.values()) {
+            CompletableFuture<?>[] deps = component.dependencies.stream()
+                .map(futures::get)
+                .toArray(CompletableFuture[]::new);
+
+            CompletableFuture<Timing> future = CompletableFuture.allOf(deps).handleAsync((ignored, depFailure) -> {
+                if (depFailure != null) {
+                    // Name ourselves in front of the dependency's message, so
+                    // the report shows the whole chain down to the real cause
+                    Throwable cause = unwrap(depFailure);
+                    throw new CompletionException(new StartupException(
+                        component.name + " not started: " + cause.getMessage(), cause));
+                }
+                long startNanos = System.nanoTime();
+                try {
+                    component.task.start();
+                } catch (Exception e) {
+                    String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                    throw new CompletionException(new StartupException(
+                        component.name + " failed to start: " + reason, e));
+                }
+                return new Timing(component.name, startNanos - origin, System.nanoTime() - origin);
+            }, executor);
+            futures.put(component.name, future);
+        }
+
+        Map<String, Timing> timings = new LinkedHashMap<>();
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<Timing>> entry : futures.entrySet()) {
+            try {
+                timings.put(entry.getKey(), entry.getValue().get());
+            } catch (ExecutionException e) {
+                failures.put(entry.getKey(), unwrap(e));
+            }
+        }
+        return new Report(components, timings, failures, System.nanoTime() - origin);
+    }
+
+    /** Strips the ExecutionException/CompletionException wrappers, down to our StartupException. */
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof ExecutionException || error instanceof CompletionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * Why a component did not start. The message names the chain, e.g.
+     * "WebServer not started: Cache not started: Database failed to start:
+     * Connection refused"; getCause() leads to the original exception.
+     */
+    public static class StartupException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        StartupException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Builder
+    // ─────────────────────────────────────────────
+
+    public static class Builder {
+        private final Map<String, Component> components = new LinkedHashMap<>();
+
+        public Builder component(String name, StartupTask task, String... dependencies) {
+            if (components.containsKey(name)) {
+                throw new IllegalArgumentException("Duplicate component: " + name);
+            }
+            components.put(name, new Component(name, task, List.of(dependencies)));
+            return this;
+        }
+
+        /** Checks that every dependency exists and that there are no cycles. */
+        public StartupOrchestrator build() {
+            for (Component component : components.values()) {
+                for (String dependency : component.dependencies) {
+                    if (!components.containsKey(dependency)) {
+                        throw new IllegalArgumentException(
+                            component.name + " depends on unknown component " + dependency);
+                    }
+                }
+            }
+            return new StartupOrchestrator(topologicalOrder());
+        }
+
+        /** Kahn's algorithm: repeatedly take components whose dependencies are all placed. */
+        private Map<String, Component> topologicalOrder() {
+            Map<String, Integer> remaining = new HashMap<>();
+            Map<String, List<String>> dependents = new HashMap<>();
+            Deque<String> ready = new ArrayDeque<>();
+
+            for (Component component : components.values()) {
+                remaining.put(component.name, component.dependencies.size());
+                for (String dependency : component.dependencies) {
+                    dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(component.name);
+                }
+                if (component.dependencies.isEmpty()) {
+                    ready.add(component.name);
+                }
+            }
+
+            Map<String, Component> ordered = new LinkedHashMap<>();
+            while (!ready.isEmpty()) {
+                String name = ready.poll();
+                ordered.put(name, components.get(name));
+                for (String dependent : dependents.getOrDefault(name, List.of())) {
+                    if (remaining.merge(dependent, -1, Integer::sum) == 0) {
+                        ready.add(dependent);
+                    }
+                }
+            }
+
+            if (ordered.size() != components.size()) {
+                Set<String> cyclic = new TreeSet<>(components.keySet());
+                cyclic.removeAll(ordered.keySet());
+                throw new IllegalArgumentException("Dependency cycle between: " + cyclic);
+            }
+            return ordered;
+        }
+    }
+
+    private static class Component {
+        final String name;
+        final StartupTask task;
+        final List<String> dependencies;
+
+        Component(String name, StartupTask task, List<String> dependencies) {
+            this.name = name;
+            this.task = task;
+            this.dependencies = dependencies;
+        }
+    }
+
+    /** When one component started and finished, relative to the start of startup. */
+    public static class Timing {
+        public final String name;
+        public final long startNanos;
+        public final long endNanos;
+
+        Timing(String name, long startNanos, long endNanos) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+
+        public long durationNanos() {
+            return endNanos - startNanos;
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Report
+    // ─────────────────────────────────────────────
+
+    public static class Report {
+        private final Map<String, Component> components;
+        private final Map<String, Timing> timings;
+        private final Map<String, Throwable> failures;
+        private final long totalNanos;
+
+        Report(Map<String, Component> components, Map<String, Timing> timings,
+               Map<String, Throwable> failures, long totalNanos) {
+            this.components = components;
+            this.timings = timings;
+            this.failures = failures;
+            this.totalNanos = totalNanos;
+        }
+
+        public boolean succeeded() {
+            return failures.isEmpty();
+        }
+
+        public Map<String, Timing> timings() {
+            return Collections.unmodifiableMap(timings);
+        }
+
+        public Map<String, Throwable> failures() {
+            return Collections.unmodifiableMap(failures);
+        }
+
+        public long totalNanos() {
+            return totalNanos;
+        }
+
+        /** What startup would have cost running every component one after another. */
+        public long sequentialNanos() {
+            return timings.values().stream().mapToLong(Timing::durationNanos).sum();
+        }
+
+        /**
+         * The chain of components that decided the total startup time:
+         * start from the component that finished last and repeatedly step
+         * to the dependency that finished last (the one it waited for).
+         */
+        public List<String> criticalPath() {
+            Timing current = timings.values().stream()
+                .max(Comparator.comparingLong(t -> t.endNanos))
+                .orElse(null);
+            LinkedList<String> path = new LinkedList<>();
+            while (current != null) {
+                path.addFirst(current.name);
+                current = components.get(current.name).dependencies.stream()
+                    .map(timings::get)
+                    .filter(Objects::nonNull)
+                    .max(Comparator.comparingLong(t -> t.endNanos))
+                    .orElse(null);
+            }
+            return path;
+        }
+
+        public void print() {
+            System.out.printf("  %-16s %10s %10s %10s%n", "Component", "start ms", "took ms", "ready ms");
+            for (Timing timing : timings.values()) {
+                System.out.printf("  %-16s %10.1f %10.1f %10.1f%n", timing.name,
+                    timing.startNanos / 1e6, timing.durationNanos() / 1e6, timing.endNanos / 1e6);
+            }
+            failures.values().forEach(error -> System.out.println("  ✗ " + error.getMessage()));
+
+            List<String> path = criticalPath();
+            long pathNanos = path.stream().mapToLong(name -> timings.get(name).durationNanos()).sum();
+            System.out.println();
+            System.out.printf("  Critical path:    %s (%.1f ms)%n", String.join(" → ", path), pathNanos / 1e6);
+            System.out.printf("  Total startup:    %.1f ms%n", totalNanos / 1e6);
+            System.out.printf("  Sequential would: %.1f ms%n", sequentialNanos() / 1e6);
+        }
+    }
+}
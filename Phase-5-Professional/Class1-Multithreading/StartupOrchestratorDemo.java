@@ -0,0 +1,62 @@
+/**
+ * ============================================
+ * STARTUP ORCHESTRATOR DEMONSTRATION
+ * ============================================
+ *
+ * The same services as demo9_CountDownLatchDemo, but now with real
+ * dependencies:
+ *
+ *     Database ──► Cache ─────┐
+ *                             ├──► WebServer
+ *     MessageQueue ───────────┘
+ *     Metrics (no dependencies)
+ *
+ * How to compile and run:
+ * $ javac StartupOrchestratorDemo.java
+ * $ java StartupOrchestratorDemo
+ *
+ * @author Learn Java With Me
+ */
+
+public class StartupOrchestratorDemo {
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     STARTUP ORCHESTRATOR DEMONSTRATION                   ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+
+        StartupOrchestrator orchestrator = new StartupOrchestrator.Builder()
+            .component("Database", () -> startService("Database", 800))
+            .component("Cache", () -> startService("Cache", 300), "Database")
+            .component("MessageQueue", () -> startService("MessageQueue", 600))
+            .component("Metrics", () -> startService("Metrics", 200))
+            .component("WebServer", () -> startService("WebServer", 250), "Cache", "MessageQueue")
+            .build();
+
+        System.out.println("Starting application - independent services start in parallel...\n");
+        StartupOrchestrator.Report report = orchestrator.start();
+
+        System.out.println();
+        report.print();
+
+        // A cycle is rejected before anything starts
+        System.out.println("\n--- Cycle detection ---");
+        try {
+            new StartupOrchestrator.Builder()
+                .component("A", () -> {}, "B")
+                .component("B", () -> {}, "A")
+                .build();
+        } catch (IllegalArgumentException e) {
+            System.out.println("  Rejected: " + e.getMessage());
+        }
+
+        System.out.println(report.succeeded()
+            ? "\n✅ All services started! Application ready.\n"
+            : "\n⚠️  Some services failed to start.\n");
+    }
+
+    private static void startService(String name, long millis) throws InterruptedException {
+        Thread.sleep(millis);  // Simulate service startup time
+        System.out.println("  ✓ " + name + " service started");
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * ============================================
+ * STRIPED COUNTER (LONGADDER-STYLE)
+ * ============================================
+ *
+ * demo10_AtomicVariables in ThreadingDemo has 10 threads calling
+ * incrementAndGet() on ONE AtomicInteger. Every increment is a CAS on the
+ * same cache line, so the more threads you add, the more time they spend
+ * fighting over that line instead of counting.
+ *
+ * A striped counter splits the value into several "cells":
+ *
+ *     Thread A ──► cell 0 ─┐
+ *     Thread B ──► cell 1 ─┼──► sum() adds all cells together
+ *     Thread C ──► cell 2 ─┘
+ *
+ * - Writes go to the calling thread's own cell, so threads rarely collide
+ * - If a CAS does fail, the thread moves to another cell for next time
+ * - Cells are spaced 64 bytes apart so they never share a cache line
+ * - Reading is a loop over a few cells - cheap enough for dashboards,
+ *   but the result is a moment-in-time estimate while writers are active
+ *
+ * This is the same idea as java.util.concurrent.atomic.LongAdder, written
+ * out so you can see how it works.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+public class StripedCounter {
+
+    private static final int MAX_CELLS = 64;
+    private static final int PAD = 8;  // 8 longs = 64 bytes between cells
+
+    private static final VarHandle CELLS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /** Each thread remembers which cell it uses (shared by all counters). */
+    private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(
+        () -> new int[] {mix(Thread.currentThread().getId())});
+
+    private final long[] cells;
+    private final int mask;
+
+    /** Creates a counter with one cell per CPU core (rounded up to a power of two). */
+    public StripedCounter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public StripedCounter(int stripes) {
+        int count = Integer.highestOneBit(Math.max(1, Math.min(stripes, MAX_CELLS)) * 2 - 1);
+        this.cells = new long[(count + 1) * PAD];
+        this.mask = count - 1;
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    public void decrement() {
+        add(-1);
+    }
+
+    public void add(long delta) {
+        int[] probe = PROBE.get();
+        int slot = slot(probe[0]);
+        long current = (long) CELLS.getVolatile(cells, slot);
+        if (!CELLS.compareAndSet(cells, slot, current, current + delta)) {
+            // Someone else uses this cell: move to another one from now on
+            probe[0] = rehash(probe[0]);
+            CELLS.getAndAdd(cells, slot(probe[0]), delta);
+        }
+    }
+
+    /** Current total. Not an atomic snapshot while other threads are adding. */
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i <= mask; i++) {
+            sum += (long) CELLS.getVolatile(cells, (i + 1) * PAD);
+        }
+        return sum;
+    }
+
+    /** Returns the total and resets every cell to zero. */
+    public long sumThenReset() {
+        long sum = 0;
+        for (int i = 0; i <= mask; i++) {
+            sum += (long) CELLS.getAndSet(cells, (i + 1) * PAD, 0L);
+        }
+        return sum;
+    }
+
+    public int stripes() {
+        return mask + 1;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+
+    /** Cell i lives at index (i + 1) * PAD, so cell 0 is padded from the array header too. */
+    private int slot(int probe) {
+        return ((probe & mask) + 1) * PAD;
+    }
+
+    private static int mix(long seed) {
+        long h = seed * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /** Xorshift step: cheap pseudo-random move to another cell. */
+    private static int rehash(int probe) {
+        if (probe == 0) {
+            probe = 1;  // Xorshift would stay at zero forever
+        }
+        probe ^= probe << 13;
+        probe ^= probe >>> 17;
+        probe ^= probe << 5;
+        return probe;
+    }
+}
@@ -339,6 +339,7 @@ public class ThreadingDemo {
         System.out.println("═══════════════════════════════════════════════════════════\n");
         
         // Create a fixed thread pool with 3 threads
+        // (ExecutorFactory.java shows how to switch to work-stealing or virtual threads)
         ExecutorService executor = Executors.newFixedThreadPool(3);
         
         System.out.println("Submitting 6 tasks to a pool of 3 threads:\n");
@@ -0,0 +1,55 @@
+/**
+ * ============================================
+ * WAIT STRATEGIES FOR LOCK-FREE QUEUES
+ * ============================================
+ *
+ * A lock-free queue never blocks inside the OS, so when a producer finds
+ * the buffer full (or a consumer finds it empty) it has to decide how to
+ * wait. Each strategy trades latency against CPU usage:
+ *
+ * - BUSY_SPIN: lowest latency, burns a whole core (only use when you have
+ *              at least one core per waiting thread)
+ * - YIELDING:  spins briefly, then gives the core to other threads
+ * - PARKING:   spins briefly, then sleeps for a few microseconds
+ *              (friendliest to the rest of the machine)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.concurrent.locks.LockSupport;
+
+public enum WaitStrategy {
+    BUSY_SPIN,
+    YIELDING,
+    PARKING;
+
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = 1_000;
+
+    /**
+     * Waits once and returns the updated attempt counter.
+     * Callers start with 0 and pass the returned value back in on each retry.
+     */
+    public int idle(int attempt) {
+        switch (this) {
+            case BUSY_SPIN:
+                Thread.onSpinWait();
+                break;
+            case YIELDING:
+                if (attempt < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+                break;
+            case PARKING:
+                if (attempt < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+                break;
+        }
+        return attempt + 1;
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * ============================================
+ * WORD COUNT SCALING BENCHMARK
+ * ============================================
+ *
+ * Generates a text corpus with a realistic (Zipf-like) word distribution,
+ * then counts its words:
+ *
+ * 1. Shared map   - threads call ConcurrentHashMap.merge(word, 1, sum),
+ *                   the demo8_ConcurrentCollections approach
+ * 2. Engine       - WordFrequencyEngine with 1, 2, 4, ... cores
+ *
+ * How to compile and run:
+ * $ javac WordCountBenchmark.java
+ * $ java WordCountBenchmark          (64 MB corpus)
+ * $ java WordCountBenchmark 512      (corpus size in MB)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class WordCountBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+
+    public static void main(String[] args) throws Exception {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║            WORD COUNT SCALING BENCHMARK                  ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+
+        Path corpus = Files.createTempFile("corpus", ".txt");
+        try {
+            generateCorpus(corpus, megabytes);
+            double sizeMB = Files.size(corpus) / (1024.0 * 1024.0);
+            System.out.printf("Corpus: %.1f MB, vocabulary: %d words, cores: %d%n%n", sizeMB, VOCABULARY, cores);
+
+            System.out.printf("%-28s %10s %10s %10s%n", "Approach", "seconds", "MB/sec", "speedup");
+            System.out.println("───────────────────────────────────────────────────────────────");
+
+            // 1. Shared ConcurrentHashMap
+            long start = System.nanoTime();
+            Map<String, Integer> shared = sharedMapCount(corpus, cores);
+            double sharedSeconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-28s %10.2f %10.1f %10s%n",
+                "Shared ConcurrentHashMap", sharedSeconds, sizeMB / sharedSeconds, "-");
+
+            // 2. Engine with an increasing number of cores
+            WordFrequencyEngine.Result result = null;
+            double oneCoreSeconds = 0;
+            for (int parallelism = 1; parallelism <= cores; parallelism *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                WordFrequencyEngine engine = new WordFrequencyEngine(pool, 4 * 1024 * 1024);
+                start = System.nanoTime();
+                result = engine.count(corpus);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                pool.shutdown();
+
+                if (parallelism == 1) {
+                    oneCoreSeconds = seconds;
+                }
+                System.out.printf("%-28s %10.2f %10.1f %9.2fx%n",
+                    "Engine, " + parallelism + " core(s)", seconds, sizeMB / seconds, oneCoreSeconds / seconds);
+            }
+
+            long sharedTotal = shared.values().stream().mapToLong(Integer::longValue).sum();
+            System.out.println("\nTotal words: " + result.totalWords() + " (shared map: " + sharedTotal + ")");
+            System.out.println("Distinct words: " + result.distinctWords() + " (shared map: " + shared.size() + ")");
+
+            System.out.println("\nTop 10 words:");
+            for (Map.Entry<String, Long> entry : result.top(10)) {
+                System.out.printf("  %-12s %,d%n", entry.getKey(), entry.getValue());
+            }
+        } finally {
+            Files.deleteIfExists(corpus);
+        }
+
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    /** demo8's approach: every word is merged into one shared ConcurrentHashMap. */
+    private static Map<String, Integer> sharedMapCount(Path corpus, int threads) throws Exception {
+        ConcurrentHashMap<String, Integer> wordCount = new ConcurrentHashMap<>();
+        List<String> lines = Files.readAllLines(corpus, StandardCharsets.UTF_8);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        int perThread = (lines.size() + threads - 1) / threads;
+
+        for (int t = 0; t < threads; t++) {
+            List<String> slice = lines.subList(Math.min(lines.size(), t * perThread),
+                                               Math.min(lines.size(), (t + 1) * perThread));
+            executor.submit(() -> {
+                for (String line : slice) {
+                    for (String word : line.split(" ")) {
+                        if (!word.isEmpty()) {
+                            wordCount.merge(word, 1, Integer::sum);
+                        }
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.HOURS);
+        return wordCount;
+    }
+
+    /**
+     * Writes lower-case words drawn from a Zipf-like distribution: word
+     * number r is picked with probability proportional to 1/r, so a few
+     * words are very common, like in real text.
+     */
+    private static void generateCorpus(Path file, int megabytes) throws IOException {
+        String[] words = new String[VOCABULARY];
+        double[] cumulative = new double[VOCABULARY];
+        Random random = new Random(42);
+        double total = 0;
+        for (int i = 0; i < VOCABULARY; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 2 + random.nextInt(8);
+            for (int c = 0; c < length; c++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString() + i;  // Suffix keeps words unique
+            total += 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+
+        long targetBytes = megabytes * 1024L * 1024L;
+        long written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            while (written < targetBytes) {
+                StringBuilder line = new StringBuilder();
+                for (int w = 0; w < 12; w++) {
+                    int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                    String word = words[index < 0 ? Math.min(-index - 1, VOCABULARY - 1) : index];
+                    if (w > 0) {
+                        line.append(' ');
+                    }
+                    line.append(word);
+                }
+                writer.write(line.toString());
+                writer.newLine();
+                written += line.length() + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,424 @@
+/**
+ * ============================================
+ * PARALLEL WORD FREQUENCY ENGINE (MAP-REDUCE)
+ * ============================================
+ *
+ * demo8_ConcurrentCollections counts words by submitting one task per
+ * word, and every task calls wordCount.merge(word, 1, Integer::sum) on the
+ * SAME ConcurrentHashMap. With a big text all threads keep hitting the
+ * same few map bins ("the", "and", ...), so adding threads barely helps.
+ *
+ * This engine uses the map-reduce shape instead:
+ *
+ *   1. SPLIT   the input into byte chunks (e.g. 16 MB each)
+ *   2. MAP     every chunk is counted by one fork/join task into its OWN
+ *              private table - no sharing, no locks, no contention
+ *   3. REDUCE  finished tables are merged pairwise as the tasks join
+ *   4. TOP-K   a small min-heap picks the k most frequent words
+ *
+ * Inside a table every word is interned to an int id the first time it is
+ * seen; after that, counting it is just counts[id]++. Words are kept as
+ * bytes, so no String is created per token - only the final top-k words
+ * are turned into Strings.
+ *
+ * Words are runs of letters, digits, apostrophes or non-ASCII (UTF-8)
+ * bytes; ASCII letters are lower-cased. Files of any size work - each
+ * task memory-maps only its own chunk.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class WordFrequencyEngine {
+
+    /** Longest word we track; longer runs of word bytes are cut here. */
+    static final int MAX_WORD_BYTES = 128;
+
+    private static final int DEFAULT_CHUNK_BYTES = 16 * 1024 * 1024;
+
+    private final ForkJoinPool pool;
+    private final int chunkBytes;
+
+    /** Uses the common ForkJoinPool and 16 MB chunks. */
+    public WordFrequencyEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_BYTES);
+    }
+
+    public WordFrequencyEngine(ForkJoinPool pool, int chunkBytes) {
+        if (chunkBytes < MAX_WORD_BYTES) {
+            throw new IllegalArgumentException("Chunk size must be at least " + MAX_WORD_BYTES + " bytes");
+        }
+        this.pool = pool;
+        this.chunkBytes = chunkBytes;
+    }
+
+    /** Counts the words of a (possibly multi-GB) text file. */
+    public Result count(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            return run(size, (start, length) -> channel.map(FileChannel.MapMode.READ_ONLY, start, length));
+        } catch (CompletionException e) {
+            // A task failure may come back wrapped more than once as it is joined up the tree
+            Throwable cause = e;
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw e;
+        }
+    }
+
+    /** Counts the words of an in-memory text. */
+    public Result count(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return run(bytes.length, (start, length) -> ByteBuffer.wrap(bytes, (int) start, (int) length).slice());
+    }
+
+    private Result run(long size, ChunkSource source) {
+        int chunks = (int) Math.max(1, (size + chunkBytes - 1) / chunkBytes);
+        WordTable table = pool.invoke(new CountTask(source, size, 0, chunks));
+        return new Result(table);
+    }
+
+    // ─────────────────────────────────────────────
+    // MAP + REDUCE: fork/join over chunks
+    // ─────────────────────────────────────────────
+
+    /** Gives a task the bytes for [start, start + length). */
+    @FunctionalInterface
+    interface ChunkSource {
+        ByteBuffer get(long start, long length) throws IOException;
+    }
+
+    private class CountTask extends RecursiveTask<WordTable> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ChunkSource source;
+        private final long size;
+        private final int firstChunk;
+        private final int endChunk;
+
+        CountTask(ChunkSource source, long size, int firstChunk, int endChunk) {
+            this.source = source;
+            this.size = size;
+            this.firstChunk = firstChunk;
+            this.endChunk = endChunk;
+        }
+
+        @Override
+        protected WordTable compute() {
+            if (endChunk - firstChunk == 1) {
+                return countChunk();
+            }
+            int middle = (firstChunk + endChunk) >>> 1;
+            CountTask left = new CountTask(source, size, firstChunk, middle);
+            CountTask right = new CountTask(source, size, middle, endChunk);
+            left.fork();
+            WordTable rightTable = right.compute();
+            WordTable leftTable = left.join();
+            // Merge the smaller table into the bigger one
+            if (leftTable.size() >= rightTable.size()) {
+                leftTable.addAll(rightTable);
+                return leftTable;
+            }
+            rightTable.addAll(leftTable);
+            return rightTable;
+        }
+
+        /**
+         * A chunk owns every word that STARTS inside it. It looks one byte
+         * back to see whether it begins mid-word (then that word belongs to
+         * the previous chunk) and reads past its end to finish its last word.
+         */
+        private WordTable countChunk() {
+            long start = (long) firstChunk * chunkBytes;
+            long end = Math.min(size, start + chunkBytes);
+            long viewStart = Math.max(0, start - 1);
+            long viewEnd = Math.min(size, end + MAX_WORD_BYTES);
+
+            ByteBuffer bytes;
+            try {
+                bytes = source.get(viewStart, viewEnd - viewStart);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+
+            WordTable table = new WordTable(1024);
+            byte[] word = new byte[MAX_WORD_BYTES];
+            int limit = (int) (end - viewStart);  // Words must start before this
+            int pos = (int) (start - viewStart);
+
+            // Skip a word that started in the previous chunk
+            if (start > 0 && isWordByte(bytes.get(pos - 1))) {
+                while (pos < bytes.limit() && isWordByte(bytes.get(pos))) {
+                    pos++;
+                }
+            }
+
+            while (pos < limit) {
+                byte b = bytes.get(pos);
+                if (!isWordByte(b)) {
+                    pos++;
+                    continue;
+                }
+                int length = 0;
+                int hash = 0;
+                while (pos < bytes.limit() && isWordByte(b = bytes.get(pos))) {
+                    if (length < MAX_WORD_BYTES) {
+                        byte lower = fold(b);
+                        word[length++] = lower;
+                        hash = 31 * hash + lower;
+                    }
+                    pos++;
+                }
+                table.add(word, 0, length, hash, 1);
+            }
+            return table;
+        }
+    }
+
+    /** Lower-cases ASCII letters only; UTF-8 bytes of other letters are kept as they are. */
+    static byte fold(byte b) {
+        return (b >= 'A' && b <= 'Z') ? (byte) (b + 32) : b;
+    }
+
+    static boolean isWordByte(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9')
+            || b == '\'' || b < 0;  // b < 0: part of a multi-byte UTF-8 character
+    }
+
+    // ─────────────────────────────────────────────
+    // Word table: word bytes → int id → count
+    // ─────────────────────────────────────────────
+
+    /**
+     * An open-addressing hash table that interns word bytes into int ids.
+     * Words live back to back in one byte array, so adding a new word is a
+     * copy, and looking up a known word allocates nothing.
+     */
+    static class WordTable {
+        private int[] slots;        // id + 1 per slot, 0 = empty
+        private byte[] arena = new byte[4096];
+        private int arenaSize;
+        private int[] offsets;
+        private int[] lengths;
+        private int[] hashes;
+        private long[] counts;
+        private int size;
+
+        WordTable(int expectedWords) {
+            int capacity = Integer.highestOneBit(Math.max(16, expectedWords) * 2 - 1);
+            slots = new int[capacity * 2];
+            offsets = new int[capacity];
+            lengths = new int[capacity];
+            hashes = new int[capacity];
+            counts = new long[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long count(int id) {
+            return counts[id];
+        }
+
+        String word(int id) {
+            return new String(arena, offsets[id], lengths[id], StandardCharsets.UTF_8);
+        }
+
+        /** Adds delta to the word's count, interning it first if it is new. Returns its id. */
+        int add(byte[] word, int offset, int length, int hash, long delta) {
+            int mask = slots.length - 1;
+            int slot = mix(hash) & mask;
+            while (true) {
+                int entry = slots[slot];
+                if (entry == 0) {
+                    int id = intern(word, offset, length, hash);
+                    counts[id] = delta;
+                    slots[slot] = id + 1;
+                    if (size * 2 > slots.length) {
+                        rehash();
+                    }
+                    return id;
+                }
+                int id = entry - 1;
+                if (hashes[id] == hash && sameBytes(id, word, offset, length)) {
+                    counts[id] += delta;
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        /** Returns the id of a word, or -1 if it was never added. */
+        int find(byte[] word, int offset, int length, int hash) {
+            int mask = slots.length - 1;
+            int slot = mix(hash) & mask;
+            while (slots[slot] != 0) {
+                int id = slots[slot] - 1;
+                if (hashes[id] == hash && sameBytes(id, word, offset, length)) {
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        /** REDUCE step: adds every count of another table into this one. */
+        void addAll(WordTable other) {
+            for (int id = 0; id < other.size; id++) {
+                add(other.arena, other.offsets[id], other.lengths[id], other.hashes[id], other.counts[id]);
+            }
+        }
+
+        private int intern(byte[] word, int offset, int length, int hash) {
+            if (size == counts.length) {
+                int capacity = size * 2;
+                offsets = Arrays.copyOf(offsets, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                hashes = Arrays.copyOf(hashes, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+            if (arenaSize + length > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + length));
+            }
+            System.arraycopy(word, offset, arena, arenaSize, length);
+            int id = size++;
+            offsets[id] = arenaSize;
+            lengths[id] = length;
+            hashes[id] = hash;
+            arenaSize += length;
+            return id;
+        }
+
+        private boolean sameBytes(int id, byte[] word, int offset, int length) {
+            return lengths[id] == length
+                && Arrays.equals(arena, offsets[id], offsets[id] + length, word, offset, offset + length);
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            int mask = slots.length - 1;
+            for (int id = 0; id < size; id++) {
+                int slot = mix(hashes[id]) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = id + 1;
+            }
+        }
+
+        private static int mix(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Result + TOP-K
+    // ─────────────────────────────────────────────
+
+    public static class Result {
+        private final WordTable table;
+
+        Result(WordTable table) {
+            this.table = table;
+        }
+
+        public int distinctWords() {
+            return table.size();
+        }
+
+        public long totalWords() {
+            long total = 0;
+            for (int id = 0; id < table.size(); id++) {
+                total += table.count(id);
+            }
+            return total;
+        }
+
+        /** Count of one word; ASCII letters match case-insensitively, exactly as they were counted. */
+        public long count(String word) {
+            byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+            int hash = 0;
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = fold(bytes[i]);
+                hash = 31 * hash + bytes[i];
+            }
+            int id = table.find(bytes, 0, bytes.length, hash);
+            return id < 0 ? 0 : table.count(id);
+        }
+
+        /**
+         * The k most frequent words, most frequent first. Uses a min-heap of
+         * word ids: the root is the weakest of the current top k, so each
+         * other word costs one comparison and, rarely, one O(log k) swap.
+         */
+        public List<Map.Entry<String, Long>> top(int k) {
+            int[] heap = new int[Math.min(k, table.size())];
+            int heapSize = 0;
+            for (int id = 0; id < table.size(); id++) {
+                if (heapSize < heap.length) {
+                    heap[heapSize++] = id;
+                    siftUp(heap, heapSize - 1);
+                } else if (heap.length > 0 && table.count(id) > table.count(heap[0])) {
+                    heap[0] = id;
+                    siftDown(heap, heapSize);
+                }
+            }
+
+            List<Map.Entry<String, Long>> top = new ArrayList<>(heapSize);
+            for (int i = 0; i < heapSize; i++) {
+                top.add(Map.entry(table.word(heap[i]), table.count(heap[i])));
+            }
+            top.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+            return top;
+        }
+
+        private void siftUp(int[] heap, int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (table.count(heap[i]) >= table.count(heap[parent])) {
+                    return;
+                }
+                swap(heap, i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int size) {
+            int i = 0;
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && table.count(heap[left]) < table.count(heap[smallest])) {
+                    smallest = left;
+                }
+                if (right < size && table.count(heap[right]) < table.count(heap[smallest])) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(heap, i, smallest);
+                i = smallest;
+            }
+        }
+
+        private static void swap(int[] heap, int a, int b) {
+            int tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+}
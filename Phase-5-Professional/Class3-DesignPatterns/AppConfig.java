@@ -0,0 +1,53 @@
+/**
+ * ============================================
+ * APP CONFIG (ENUM SINGLETON)
+ * ============================================
+ *
+ * The enum Singleton from DesignPatternsDemo, in its own file so the
+ * benchmarks can use it too. Settings live in an immutable ConfigSnapshot
+ * that is swapped atomically, so reads never lock and always see one
+ * consistent version (see ConfigSnapshot.java).
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+public enum AppConfig {
+    INSTANCE;
+
+    private final AtomicReference<ConfigSnapshot> current =
+        new AtomicReference<>(ConfigSnapshot.EMPTY);
+
+    public void set(String key, String value) {
+        current.updateAndGet(snapshot -> snapshot.with(key, value));
+    }
+
+    public String get(String key) {
+        return current.get().get(key, "");
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return current.get().getInt(key, defaultValue);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return current.get().getBoolean(key, defaultValue);
+    }
+
+    /** All settings as one consistent, unchanging view. */
+    public ConfigSnapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Loads the file now and again whenever it changes. A reload replaces
+     * ALL settings, including ones made with set(). Close the watcher to stop.
+     */
+    public ConfigWatcher watch(Path file) throws IOException {
+        current.set(ConfigSnapshot.load(file));
+        return new ConfigWatcher(file, current::set);
+    }
+}
@@ -0,0 +1,371 @@
+/**
+ * ============================================
+ * ASYNCHRONOUS, ALLOCATION-FREE LOG APPENDER
+ * ============================================
+ *
+ * Logger.log() (Logger.java) does all the expensive work on the
+ * caller's thread: String.format, LocalTime.now().toString(), adding to a
+ * list and a synchronous System.out.println.
+ *
+ * This appender moves that work to a background thread:
+ *
+ *   caller threads                         background thread
+ *   ──────────────                         ─────────────────
+ *   log("INFO", "User {} paid {}", a, b)
+ *     │  claim a slot (one CAS)
+ *     │  copy level, template, args refs
+ *     └─► ┌───┬───┬───┬───┬───┬───┐  ──►  format "{}" placeholders,
+ *         │ E │ E │ E │   │   │   │       encode to a reused direct
+ *         └───┴───┴───┴───┴───┴───┘       ByteBuffer, write the whole
+ *          pre-allocated event slots       batch to a FileChannel
+ *
+ * - The slots are created once; logging only fills in fields, so the
+ *   hot path creates no objects (pass Strings/existing objects, or use
+ *   the long overload for numbers to avoid boxing).
+ * - Templates use "{}" placeholders, which are much cheaper to fill in
+ *   than String.format patterns.
+ * - When the ring is full, callers wait briefly (or the event is dropped
+ *   and counted, if the appender was created with dropWhenFull = true).
+ * - close() marks the claim counter as closed in the same atomic step
+ *   that fixes the last position: later events are dropped and counted,
+ *   everything claimed before it is still written.
+ * - Arguments are formatted LATER, so pass immutable values; a mutable
+ *   object changed right after log() may be printed in its new state.
+ * - With a BlockCodec the batches go through a CompressedBlockStream, so
+ *   blocks are compressed on a pool of threads, not the writer thread.
+ *   Up to one block of entries is held in memory until it is full.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class AsyncLogAppender implements AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final int MAX_ARGS = 3;
+    private static final int BATCH_BYTES = 64 * 1024;
+    private static final long IDLE_PARK_NANOS = 100_000;
+    private static final long CLOSED = 1L << 62;  // Set on tail by close(): no more claims
+
+    private final LogEvent[] slots;
+    private final int mask;
+    private final boolean dropWhenFull;
+    private final AtomicLong tail = new AtomicLong();   // Next slot to claim, plus the CLOSED bit
+    private volatile long head;                         // Next slot to write out
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final FileChannel channel;
+    private final CompressedBlockStream.Output compressed;  // null = plain text
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Writer-thread-only state, reused for every batch
+    private final StringBuilder text = new StringBuilder(BATCH_BYTES);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BATCH_BYTES * 4);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    public AsyncLogAppender(Path file) throws IOException {
+        this(file, DEFAULT_CAPACITY, false, null, 0);
+    }
+
+    /**
+     * @param capacity     number of pre-allocated event slots (power of two)
+     * @param dropWhenFull true: drop events when full, false: make callers wait
+     */
+    public AsyncLogAppender(Path file, int capacity, boolean dropWhenFull) throws IOException {
+        this(file, capacity, dropWhenFull, null, 0);
+    }
+
+    /**
+     * Same, but the file is compressed with the codec (null = plain text).
+     *
+     * @param compressionThreads threads compressing blocks (1 = on the writer thread)
+     */
+    public AsyncLogAppender(Path file, int capacity, boolean dropWhenFull, BlockCodec codec,
+                            int compressionThreads) throws IOException {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two >= 2: " + capacity);
+        }
+        this.slots = new LogEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new LogEvent();
+        }
+        this.mask = capacity - 1;
+        this.dropWhenFull = dropWhenFull;
+        this.channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.compressed = codec == null ? null : new CompressedBlockStream.Output(
+            Channels.newOutputStream(channel), codec, CompressedBlockStream.DEFAULT_BLOCK_BYTES, compressionThreads);
+        this.writer = new Thread(this::writeLoop, "async-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // ─────────────────────────────────────────────
+    // Caller side (hot path)
+    // ─────────────────────────────────────────────
+
+    public void append(String level, String message) {
+        LogEvent event = claim();
+        if (event != null) {
+            event.argCount = 0;
+            publish(event, level, message);
+        }
+    }
+
+    public void append(String level, String template, Object arg) {
+        LogEvent event = claim();
+        if (event != null) {
+            event.args[0] = arg;
+            event.argCount = 1;
+            publish(event, level, template);
+        }
+    }
+
+    public void append(String level, String template, Object arg1, Object arg2) {
+        LogEvent event = claim();
+        if (event != null) {
+            event.args[0] = arg1;
+            event.args[1] = arg2;
+            event.argCount = 2;
+            publish(event, level, template);
+        }
+    }
+
+    public void append(String level, String template, Object arg1, Object arg2, Object arg3) {
+        LogEvent event = claim();
+        if (event != null) {
+            event.args[0] = arg1;
+            event.args[1] = arg2;
+            event.args[2] = arg3;
+            event.argCount = 3;
+            publish(event, level, template);
+        }
+    }
+
+    /** For a numeric argument: stored as a primitive, so nothing is boxed. */
+    public void append(String level, String template, long value) {
+        LogEvent event = claim();
+        if (event != null) {
+            event.longArg = value;
+            event.argCount = LogEvent.LONG_ARG;
+            publish(event, level, template);
+        }
+    }
+
+    /** Events accepted so far. */
+    public long appendedCount() {
+        return tail.get() & ~CLOSED;  // Every claimed slot gets published
+    }
+
+    /** Events lost because the ring was full (only with dropWhenFull) or the appender was closed. */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    /** Claims the next free slot, or returns null if it was dropped. */
+    private LogEvent claim() {
+        while (true) {
+            long pos = tail.get();
+            if ((pos & CLOSED) != 0) {
+                dropped.incrementAndGet();  // close() has started: nobody would write it out
+                return null;
+            }
+            if (pos - head >= slots.length) {
+                if (dropWhenFull) {
+                    dropped.incrementAndGet();
+                    return null;
+                }
+                LockSupport.parkNanos(1_000);  // Writer is behind: wait for a slot (or close)
+                continue;
+            }
+            if (tail.compareAndSet(pos, pos + 1)) {
+                LogEvent event = slots[(int) (pos & mask)];
+                event.position = pos;
+                return event;
+            }
+        }
+    }
+
+    private void publish(LogEvent event, String level, String template) {
+        event.level = level;
+        event.template = template;
+        event.timeMillis = System.currentTimeMillis();
+        event.published = event.position + 1;  // Volatile write: the writer may read it now
+    }
+
+    // ─────────────────────────────────────────────
+    // Writer side (background thread)
+    // ─────────────────────────────────────────────
+
+    private void writeLoop() {
+        // Once closed, tail no longer moves: keep going until every claimed slot is written
+        while (running || head != (tail.get() & ~CLOSED)) {
+            int written = drainBatch();
+            if (written == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /** Formats every published event (up to one batch) and writes them with one call. */
+    private int drainBatch() {
+        long next = head;
+        int count = 0;
+        long zoneOffsetMillis = Long.MIN_VALUE;
+
+        while (text.length() < BATCH_BYTES) {
+            LogEvent event = slots[(int) (next & mask)];
+            if (event.published != next + 1) {
+                break;
+            }
+            if (zoneOffsetMillis == Long.MIN_VALUE) {
+                zoneOffsetMillis = ZoneId.systemDefault().getRules()
+                    .getOffset(Instant.ofEpochMilli(event.timeMillis)).getTotalSeconds() * 1000L;
+            }
+            format(event, zoneOffsetMillis);
+            event.clear();
+            next++;
+            count++;
+            head = next;  // Hand the slot back to producers
+        }
+
+        if (count > 0) {
+            flush();
+        }
+        return count;
+    }
+
+    /** Writes "[HH:mm:ss.SSS] LEVEL: message" - the same shape as Logger. */
+    private void format(LogEvent event, long zoneOffsetMillis) {
+        long millisOfDay = Math.floorMod(event.timeMillis + zoneOffsetMillis, 86_400_000L);
+        text.append('[');
+        twoDigits(millisOfDay / 3_600_000);
+        text.append(':');
+        twoDigits(millisOfDay / 60_000 % 60);
+        text.append(':');
+        twoDigits(millisOfDay / 1000 % 60);
+        text.append('.');
+        long millis = millisOfDay % 1000;
+        text.append((char) ('0' + millis / 100)).append((char) ('0' + millis / 10 % 10))
+            .append((char) ('0' + millis % 10));
+        text.append("] ").append(event.level).append(": ");
+
+        String template = event.template;
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while ((placeholder = template.indexOf("{}", start)) >= 0 && argIndex < event.argumentTotal()) {
+            text.append(template, start, placeholder);
+            if (event.argCount == LogEvent.LONG_ARG) {
+                text.append(event.longArg);
+            } else {
+                text.append(event.args[argIndex]);
+            }
+            argIndex++;
+            start = placeholder + 2;
+        }
+        text.append(template, start, template.length()).append('\n');
+    }
+
+    private void twoDigits(long value) {
+        text.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private void flush() {
+        encoder.reset();
+        CharBuffer chars = CharBuffer.wrap(text);
+        try {
+            while (encoder.encode(chars, out, true).isOverflow()) {
+                writeOut();  // Very long messages: write what fits, then continue
+            }
+            while (encoder.flush(out).isOverflow()) {
+                writeOut();
+            }
+            writeOut();
+        } catch (IOException e) {
+            System.err.println("AsyncLogAppender: write failed: " + e.getMessage());
+            out.clear();
+        }
+        text.setLength(0);
+    }
+
+    private void writeOut() throws IOException {
+        out.flip();
+        if (compressed != null) {
+            compressed.write(out);
+        } else {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+        out.clear();
+    }
+
+    /** Writes out everything already logged, then closes the file. */
+    @Override
+    public void close() {
+        if ((tail.getAndUpdate(pos -> pos | CLOSED) & CLOSED) != 0) {
+            return;  // Already closed
+        }
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!writer.isAlive()) {
+            while (drainBatch() > 0) {
+                // No more claims are possible: write out anything the writer thread left behind
+            }
+        }
+        try {
+            if (compressed != null) {
+                compressed.close();  // Compresses the last block, then closes the channel
+            }
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("AsyncLogAppender: close failed: " + e.getMessage());
+        }
+    }
+
+    /** One pre-allocated, reusable slot of the ring. */
+    private static final class LogEvent {
+        static final int LONG_ARG = -1;
+
+        volatile long published = -1;  // position + 1 once filled in
+        long position;
+        long timeMillis;
+        String level;
+        String template;
+        final Object[] args = new Object[MAX_ARGS];
+        long longArg;
+        int argCount;
+
+        int argumentTotal() {
+            return argCount == LONG_ARG ? 1 : argCount;
+        }
+
+        void clear() {
+            level = null;
+            template = null;
+            args[0] = args[1] = args[2] = null;  // Let the GC reclaim the arguments
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * ============================================
+ * SYNC vs ASYNC LOGGER BENCHMARK
+ * ============================================
+ *
+ * Measures the cost of one log call on the CALLER's thread:
+ *
+ * - Logger.log() in synchronous mode (String.format + list + println;
+ *   System.out is redirected to a discarding stream so the console does
+ *   not dominate the numbers)
+ * - Logger.log() in async mode (AsyncLogAppender, writes to a temp file)
+ * - AsyncLogAppender with several threads logging at once
+ *
+ * Reports nanoseconds per call and bytes allocated per call (measured
+ * with the JVM's per-thread allocation counter).
+ *
+ * How to compile and run:
+ * $ javac *.java                         (uses Logger.java)
+ * $ java AsyncLoggerBenchmark             (1,000,000 calls)
+ * $ java AsyncLoggerBenchmark 200000      (custom number of calls)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.file.*;
+
+public class AsyncLoggerBenchmark {
+
+    private static final String[] USERS = {"alice", "bob", "carol", "dave"};
+
+    public static void main(String[] args) throws Exception {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     SYNC vs ASYNC LOGGER BENCHMARK                       ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+        System.out.println("Calls per run: " + calls + "\n");
+
+        Path file = Files.createTempFile("async-logger", ".log");
+        PrintStream console = System.out;
+        Logger logger = Logger.getInstance();
+
+        System.out.printf("%-32s %12s %14s%n", "Mode", "ns/call", "bytes/call");
+        System.out.println("──────────────────────────────────────────────────────────");
+
+        // Synchronous: the original Logger behaviour
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long[] sync = measure(() -> {
+            for (int i = 0; i < calls; i++) {
+                logger.log("INFO", "User " + USERS[i & 3] + " logged in");
+            }
+        });
+        System.setOut(console);
+        print("Logger (sync)", sync, calls);
+
+        // Async through the Logger singleton
+        logger.enableAsync(file);
+        runAsync(calls);  // Let the JIT compile the hot path first
+        long[] async = measure(() -> runAsync(calls));
+        int countBeforeClose = logger.getLogCount();
+        logger.disableAsync();
+        print("Logger (async)", async, calls);
+
+        // Several threads sharing one appender
+        int threads = 4;
+        try (AsyncLogAppender appender = new AsyncLogAppender(file, 1 << 16, false)) {
+            Thread[] workers = new Thread[threads];
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                workers[t] = new Thread(() -> {
+                    for (int i = 0; i < calls / threads; i++) {
+                        appender.append("DEBUG", "Order {} for {}", i, USERS[i & 3]);
+                    }
+                });
+                workers[t].start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%-32s %12.1f %14s%n", "Appender, " + threads + " threads (total)",
+                (double) elapsed / (calls / threads * threads), "-");
+        }
+
+        System.out.println("\nLog count before close: " + countBeforeClose);
+        System.out.printf("Log file size: %,d bytes%n", Files.size(file));
+        Files.delete(file);
+
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    private static void runAsync(int calls) {
+        Logger logger = Logger.getInstance();
+        for (int i = 0; i < calls; i++) {
+            logger.log("INFO", "User {} logged in", USERS[i & 3]);
+        }
+    }
+
+    /** Runs the task and returns {elapsed nanos, allocated bytes} for this thread. */
+    private static long[] measure(Runnable task) {
+        com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        task.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new long[] {elapsed, allocated};
+    }
+
+    private static void print(String mode, long[] result, int calls) {
+        System.out.printf("%-32s %12.1f %14.1f%n", mode, (double) result[0] / calls, (double) result[1] / calls);
+    }
+}
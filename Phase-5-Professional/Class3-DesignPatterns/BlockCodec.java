@@ -0,0 +1,106 @@
+/**
+ * ============================================
+ * BLOCK COMPRESSION CODECS (Strategy)
+ * ============================================
+ *
+ * A codec compresses one BLOCK of bytes (typically 64 KB - 1 MB) at a
+ * time. Because blocks are independent, many of them can be compressed
+ * at once on different cores (see CompressedBlockStream.java):
+ *
+ *   input   [ block 0 ][ block 1 ][ block 2 ][ block 3 ] ...
+ *               │          │          │          │
+ *            core 1     core 2     core 3     core 4
+ *               ▼          ▼          ▼          ▼
+ *   output  [ c0 ][ c1 ][ c2 ][ c3 ] ...   (written in input order)
+ *
+ * Three codecs are built in, trading ratio for speed:
+ *
+ * - DEFLATE  raw Deflater output, the algorithm inside ZIP files
+ * - GZIP     the same data wrapped as a gzip member (header + CRC32), so
+ *            a stream of GZIP blocks is an ordinary .gz file
+ * - LZ       a small LZ77 codec in pure Java (LZ4-style): no entropy
+ *            coding, so a worse ratio, but several times faster
+ *
+ * Codecs are stateless and safe to share between threads. The factory
+ * methods below return one shared instance per codec and level, so the
+ * per-thread Deflaters behind them are created only once.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface BlockCodec {
+
+    /** Short name, e.g. "GZIP-6". */
+    String name();
+
+    /** Identifies the codec in a compressed stream's header. */
+    byte id();
+
+    /** File name extension of files written with this codec, e.g. ".gz". */
+    String extension();
+
+    /** Largest possible output of compress() for an input of the given length. */
+    int maxCompressedLength(int length);
+
+    /**
+     * Compresses src[srcOffset, srcOffset + length) into dst at dstOffset.
+     * dst must have room for maxCompressedLength(length) bytes.
+     *
+     * @return number of bytes written to dst
+     */
+    int compress(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset);
+
+    /**
+     * Restores exactly originalLength bytes into dst at dstOffset.
+     *
+     * @throws IOException if the compressed data is corrupt
+     */
+    void decompress(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset, int originalLength)
+        throws IOException;
+
+    // ─────────────────────────────────────────────
+    // Built-in codecs
+    // ─────────────────────────────────────────────
+
+    byte DEFLATE_ID = 1;
+    byte GZIP_ID = 2;
+    byte LZ_ID = 3;
+
+    /** @param level 1 (fastest) to 9 (smallest) */
+    static BlockCodec deflate(int level) {
+        return DeflateCodec.of(level, false);
+    }
+
+    /** @param level 1 (fastest) to 9 (smallest) */
+    static BlockCodec gzip(int level) {
+        return DeflateCodec.of(level, true);
+    }
+
+    static BlockCodec lz() {
+        return LzCodec.INSTANCE;
+    }
+
+    /** The codec for a stream header id (compression level does not matter for reading). */
+    static BlockCodec forId(byte id) {
+        switch (id) {
+            case DEFLATE_ID: return deflate(6);
+            case GZIP_ID: return gzip(6);
+            case LZ_ID: return lz();
+            default: throw new IllegalArgumentException("Unknown codec id: " + id);
+        }
+    }
+
+    /** The codec a file was written with, judging by its extension, or null. */
+    static BlockCodec forFile(Path file) {
+        String name = file.getFileName().toString();
+        for (BlockCodec codec : new BlockCodec[] {deflate(6), gzip(6), lz()}) {
+            if (name.endsWith(codec.extension())) {
+                return codec;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,406 @@
+/**
+ * ============================================
+ * PARALLEL BLOCK-COMPRESSED STREAMS
+ * ============================================
+ *
+ * GZIPOutputStream compresses on the thread that writes, one byte after
+ * the other, so it uses one core. Output cuts the data into blocks and
+ * hands each block to a thread pool; finished blocks are written in
+ * their original order:
+ *
+ *   write() ──► [ block 5 filling ]
+ *                                     pool: block 2, block 3, block 4
+ *   out     ◄── block 0, block 1          (at most maxInFlight blocks)
+ *
+ * Blocks and their output arrays are reused, so a long stream allocates
+ * nothing after the first few blocks.
+ *
+ * File layout (DEFLATE and LZ codecs):
+ *
+ *   "BLKZ" version codec block-size     header, 10 bytes
+ *   raw-length stored-length crc data   one per block
+ *   0                                   end marker
+ *
+ * The CRC32C of the raw block is checked when reading, because raw
+ * Deflate and LZ data have no checksum of their own. A block that would
+ * grow is stored as is (high bit of stored-length).
+ * Streams may be concatenated, e.g. by appending to a log file.
+ *
+ * With the GZIP codec there is no framing at all: every block is a gzip
+ * member, so the file is a normal .gz file. newInputStream() recognises
+ * both.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.util.ArrayDeque;
+import java.util.concurrent.*;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+public final class CompressedBlockStream {
+
+    public static final int DEFAULT_BLOCK_BYTES = 256 * 1024;
+
+    private static final int MAGIC = 0x424c4b5a;  // "BLKZ"
+    private static final byte VERSION = 1;
+    private static final int STORED = 0x80000000;
+    private static final int MAX_BLOCK_BYTES = 64 * 1024 * 1024;
+
+    private CompressedBlockStream() {
+    }
+
+    /** A pool of daemon threads for Output; the caller shuts it down. */
+    public static ExecutorService newPool(int threads) {
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "block-compressor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Compresses one file; returns the compressed size. */
+    public static long compressFile(Path source, Path target, BlockCodec codec, ExecutorService pool)
+            throws IOException {
+        try (InputStream in = Files.newInputStream(source);
+             Output out = new Output(Files.newOutputStream(target), codec, DEFAULT_BLOCK_BYTES, pool)) {
+            in.transferTo(out);
+        }
+        return Files.size(target);
+    }
+
+    public static void decompressFile(Path source, Path target) throws IOException {
+        try (InputStream in = newInputStream(Files.newInputStream(source));
+             OutputStream out = Files.newOutputStream(target)) {
+            in.transferTo(out);
+        }
+    }
+
+    /** Reads a stream written by Output with any codec. */
+    public static InputStream newInputStream(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, 64 * 1024);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        if (first == 0x1f && second == 0x8b) {
+            return new GZIPInputStream(buffered, 64 * 1024);  // Reads all members in a row
+        }
+        return new Input(buffered);
+    }
+
+    // ─────────────────────────────────────────────
+    // Writing
+    // ─────────────────────────────────────────────
+
+    public static final class Output extends OutputStream {
+        private final DataOutputStream out;
+        private final BlockCodec codec;
+        private final int blockSize;
+        private final boolean framed;
+        private final ExecutorService pool;   // null = compress on the writing thread
+        private final boolean ownsPool;
+        private final int maxInFlight;
+        private final ArrayDeque<Future<Block>> inFlight = new ArrayDeque<>();
+        private final ArrayDeque<Block> free = new ArrayDeque<>();
+        private Block current;
+        private long rawBytes;
+        private long compressedBytes;
+        private long blocks;
+        private boolean closed;
+
+        /** Compresses with its own pool of the given size (1 = on the writing thread). */
+        public Output(OutputStream out, BlockCodec codec, int blockSize, int threads) throws IOException {
+            this(out, codec, blockSize, threads > 1 ? newPool(threads) : null, true);
+        }
+
+        /** Compresses on a shared pool (null = on the writing thread). */
+        public Output(OutputStream out, BlockCodec codec, int blockSize, ExecutorService pool) throws IOException {
+            this(out, codec, blockSize, pool, false);
+        }
+
+        private Output(OutputStream out, BlockCodec codec, int blockSize, ExecutorService pool, boolean ownsPool)
+                throws IOException {
+            if (blockSize < 1024 || blockSize > MAX_BLOCK_BYTES) {
+                throw new IllegalArgumentException("Block size must be 1 KB - 64 MB: " + blockSize);
+            }
+            this.out = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+            this.codec = codec;
+            this.blockSize = blockSize;
+            this.framed = codec.id() != BlockCodec.GZIP_ID;
+            this.pool = pool;
+            this.ownsPool = ownsPool;
+            this.maxInFlight = 2 * Runtime.getRuntime().availableProcessors();
+            this.current = new Block();
+            if (framed) {
+                this.out.writeInt(MAGIC);
+                this.out.writeByte(VERSION);
+                this.out.writeByte(codec.id());
+                this.out.writeInt(blockSize);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            current.input[current.length++] = (byte) b;
+            if (current.length == blockSize) {
+                submit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int offset, int length) throws IOException {
+            while (length > 0) {
+                int n = Math.min(length, blockSize - current.length);
+                System.arraycopy(b, offset, current.input, current.length, n);
+                current.length += n;
+                offset += n;
+                length -= n;
+                if (current.length == blockSize) {
+                    submit();
+                }
+            }
+        }
+
+        /** Writes all remaining bytes of a (possibly direct) buffer. */
+        public void write(ByteBuffer src) throws IOException {
+            while (src.hasRemaining()) {
+                int n = Math.min(src.remaining(), blockSize - current.length);
+                src.get(current.input, current.length, n);
+                current.length += n;
+                if (current.length == blockSize) {
+                    submit();
+                }
+            }
+        }
+
+        private void submit() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            Block block = current;
+            current = free.isEmpty() ? new Block() : free.poll();
+            if (pool == null) {
+                writeBlock(block.call());
+                return;
+            }
+            while (inFlight.size() >= maxInFlight) {
+                writeBlock(await(inFlight.poll()));
+            }
+            inFlight.add(pool.submit(block));
+        }
+
+        private Block await(Future<Block> future) throws IOException {
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                throw new IOException("Compressing a block failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while compressing");
+            }
+        }
+
+        private void writeBlock(Block block) throws IOException {
+            if (framed) {
+                out.writeInt(block.length);
+                out.writeInt(block.stored ? block.length | STORED : block.compressedLength);
+                out.writeInt(block.checksum);
+            }
+            if (block.stored) {
+                out.write(block.input, 0, block.length);
+                compressedBytes += block.length;
+            } else {
+                out.write(block.output, 0, block.compressedLength);
+                compressedBytes += block.compressedLength;
+            }
+            rawBytes += block.length;
+            blocks++;
+            block.length = 0;
+            free.add(block);
+        }
+
+        /** Compresses and writes the partly filled block, then waits for all blocks. */
+        @Override
+        public void flush() throws IOException {
+            if (current.length > 0) {
+                submit();
+            }
+            while (!inFlight.isEmpty()) {
+                writeBlock(await(inFlight.poll()));
+            }
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            try {
+                if (!framed && blocks == 0 && current.length == 0) {
+                    submit();  // An empty gzip file still needs one (empty) member
+                }
+                flush();
+                if (framed) {
+                    out.writeInt(0);
+                }
+                out.close();
+            } finally {
+                closed = true;
+                if (ownsPool && pool != null) {
+                    pool.shutdown();
+                }
+            }
+        }
+
+        public long rawBytes() {
+            return rawBytes;
+        }
+
+        public long compressedBytes() {
+            return compressedBytes;
+        }
+
+        public long blockCount() {
+            return blocks;
+        }
+
+        /** One block of input and the array its compressed form goes to; reused. */
+        private final class Block implements Callable<Block> {
+            final byte[] input = new byte[blockSize];
+            final byte[] output = new byte[codec.maxCompressedLength(blockSize)];
+            int length;
+            int compressedLength;
+            boolean stored;
+            int checksum;
+
+            @Override
+            public Block call() {
+                compressedLength = codec.compress(input, 0, length, output, 0);
+                stored = framed && compressedLength >= length;
+                if (framed) {
+                    CRC32C crc = new CRC32C();
+                    crc.update(input, 0, length);
+                    checksum = (int) crc.getValue();
+                }
+                return this;
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Reading
+    // ─────────────────────────────────────────────
+
+    /** Reads the framed format; blocks are decompressed one at a time. */
+    private static final class Input extends InputStream {
+        private final DataInputStream in;
+        private BlockCodec codec;
+        private int blockSize;
+        private byte[] compressed = new byte[0];
+        private byte[] block = new byte[0];
+        private final CRC32C crc = new CRC32C();
+        private int position;
+        private int limit;
+        private boolean finished;
+
+        Input(InputStream in) throws IOException {
+            this.in = new DataInputStream(in);
+            if (!readHeader()) {
+                finished = true;  // Empty stream
+            }
+        }
+
+        /** Returns false at the end of the input. */
+        private boolean readHeader() throws IOException {
+            int magic;
+            try {
+                magic = in.readInt();
+            } catch (EOFException e) {
+                return false;
+            }
+            if (magic != MAGIC) {
+                throw new ZipException("Not a block-compressed stream");
+            }
+            if (in.readByte() != VERSION) {
+                throw new ZipException("Unsupported block stream version");
+            }
+            codec = BlockCodec.forId(in.readByte());
+            blockSize = in.readInt();
+            if (blockSize < 1024 || blockSize > MAX_BLOCK_BYTES) {
+                throw new ZipException("Bad block size: " + blockSize);
+            }
+            if (block.length < blockSize) {
+                block = new byte[blockSize];
+            }
+            if (compressed.length < codec.maxCompressedLength(blockSize)) {
+                compressed = new byte[codec.maxCompressedLength(blockSize)];
+            }
+            return true;
+        }
+
+        private boolean nextBlock() throws IOException {
+            int rawLength;
+            while ((rawLength = in.readInt()) == 0) {
+                if (!readHeader()) {  // End marker: another stream may follow
+                    finished = true;
+                    return false;
+                }
+            }
+            int storedLength = in.readInt();
+            int checksum = in.readInt();
+            if (rawLength < 0 || rawLength > blockSize) {
+                throw new ZipException("Bad block length: " + rawLength);
+            }
+            if ((storedLength & STORED) != 0) {
+                in.readFully(block, 0, rawLength);
+            } else {
+                if (storedLength < 0 || storedLength > compressed.length) {
+                    throw new ZipException("Bad compressed block length: " + storedLength);
+                }
+                in.readFully(compressed, 0, storedLength);
+                codec.decompress(compressed, 0, storedLength, block, 0, rawLength);
+            }
+            crc.reset();
+            crc.update(block, 0, rawLength);
+            if ((int) crc.getValue() != checksum) {
+                throw new ZipException("CRC32C mismatch in a " + codec.name() + " block");
+            }
+            position = 0;
+            limit = rawLength;
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position == limit && (finished || !nextBlock())) {
+                return -1;
+            }
+            return block[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (position == limit && (finished || !nextBlock())) {
+                return -1;
+            }
+            int n = Math.min(length, limit - position);
+            System.arraycopy(block, position, b, offset, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
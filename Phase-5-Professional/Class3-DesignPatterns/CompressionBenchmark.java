@@ -0,0 +1,152 @@
+/**
+ * ============================================
+ * BLOCK COMPRESSION CODEC BENCHMARK
+ * ============================================
+ *
+ * Compresses log-like text in memory with every codec and reports the
+ * ratio against compression and decompression speed:
+ *
+ * - GZIPOutputStream                (the usual way: one thread)
+ * - DEFLATE-1, DEFLATE-6, GZIP-6    (Deflater, block by block)
+ * - LZ                              (pure-Java LZ4-style codec)
+ *
+ * Each block codec runs with 1 thread and with one thread per core.
+ * Every result is decompressed again and compared by CRC32. Parallel
+ * rows only pay off on a machine with several cores.
+ *
+ * How to compile and run:
+ * $ javac BlockCodec.java DeflateCodec.java LzCodec.java CompressedBlockStream.java CompressionBenchmark.java
+ * $ java CompressionBenchmark             (64 MB of text)
+ * $ java CompressionBenchmark 256         (custom size in MB)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.*;
+
+public class CompressionBenchmark {
+
+    private static final String[] LEVELS = {"INFO", "INFO", "INFO", "WARN", "DEBUG", "ERROR"};
+    private static final String[] USERS = {"alice", "bob", "carol", "dave", "erin", "frank"};
+
+    public static void main(String[] args) throws IOException {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     BLOCK COMPRESSION CODEC BENCHMARK                    ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+
+        byte[] data = logText(megabytes * 1024 * 1024);
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        long expected = crc.getValue();
+        System.out.printf("Input: %,d bytes of log text, blocks of %,d bytes, cores available: %d%n%n", data.length,
+            CompressedBlockStream.DEFAULT_BLOCK_BYTES, cores);
+
+        BlockCodec[] codecs = {BlockCodec.deflate(1), BlockCodec.deflate(6), BlockCodec.gzip(6), BlockCodec.lz()};
+        int[] threadCounts = cores > 1 ? new int[] {1, cores} : new int[] {1};
+        Sink sink = new Sink(data.length);
+
+        System.out.printf("%-26s %8s %16s %16s%n", "Codec", "ratio", "compress MB/s", "decompress MB/s");
+        System.out.println("──────────────────────────────────────────────────────────────────────");
+        for (int round = 0; round < 2; round++) {  // First round warms up the JIT
+            boolean print = round == 1;
+            measure(print, "GZIPOutputStream", data, expected, sink, () -> {
+                try (OutputStream out = new GZIPOutputStream(sink, 64 * 1024)) {
+                    out.write(data);
+                }
+            });
+            for (BlockCodec codec : codecs) {
+                for (int threads : threadCounts) {
+                    measure(print, codec.name() + ", " + threads + " thr", data, expected, sink, () -> {
+                        try (OutputStream out = new CompressedBlockStream.Output(sink, codec,
+                                 CompressedBlockStream.DEFAULT_BLOCK_BYTES, threads)) {
+                            out.write(data);
+                        }
+                    });
+                }
+            }
+        }
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    interface Compress {
+        void run() throws IOException;
+    }
+
+    private static void measure(boolean print, String name, byte[] data, long expected, Sink sink,
+                                Compress compress) throws IOException {
+        sink.reset();
+        long start = System.nanoTime();
+        compress.run();
+        long compressNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long checksum = decompress(sink, data.length);
+        long decompressNanos = System.nanoTime() - start;
+        if (checksum != expected) {
+            throw new IllegalStateException(name + ": decompressed data differs from the input");
+        }
+        if (print) {
+            System.out.printf("%-26s %7.1fx %16.0f %16.0f%n", name, (double) data.length / sink.size(),
+                data.length / 1e6 / (compressNanos / 1e9), data.length / 1e6 / (decompressNanos / 1e9));
+        }
+    }
+
+    /** Decompresses what is in the sink; returns the CRC32 of the result. */
+    private static long decompress(Sink sink, int length) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] chunk = new byte[64 * 1024];
+        long total = 0;
+        try (InputStream in = CompressedBlockStream.newInputStream(sink.contents())) {
+            int n;
+            while ((n = in.read(chunk)) > 0) {
+                crc.update(chunk, 0, n);
+                total += n;
+            }
+        }
+        if (total != length) {
+            throw new IllegalStateException("Decompressed " + total + " bytes, expected " + length);
+        }
+        return crc.getValue();
+    }
+
+    /** Keeps its array between runs, so only the first run pays for growing it. */
+    static final class Sink extends ByteArrayOutputStream {
+        Sink(int capacity) {
+            super(capacity);
+        }
+
+        InputStream contents() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+
+        @Override
+        public void close() {
+            // Compressing streams close their target; the data must stay readable
+        }
+    }
+
+    /** Lines like "2024-01-15 10:42:17.123 INFO [worker-3] User bob paid 42.17 for order 123456". */
+    private static byte[] logText(int bytes) {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(bytes + 200);
+        long millis = 0;
+        while (text.length() < bytes) {
+            millis += random.nextInt(50);
+            text.append("2024-01-15 ").append(10 + millis / 3_600_000 % 14).append(':')
+                .append(millis / 60_000 % 60).append(':').append(millis / 1000 % 60).append('.')
+                .append(millis % 1000).append(' ').append(LEVELS[random.nextInt(LEVELS.length)])
+                .append(" [worker-").append(random.nextInt(8)).append("] User ")
+                .append(USERS[random.nextInt(USERS.length)]).append(" paid ").append(random.nextInt(500))
+                .append('.').append(random.nextInt(100)).append(" for order ").append(random.nextInt(1_000_000))
+                .append('\n');
+        }
+        text.setLength(bytes);
+        return text.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,337 @@
+/**
+ * ============================================
+ * CONCURRENT, ASYNCHRONOUS EVENT MANAGER
+ * ============================================
+ *
+ * EventManager (EventManager.java) keeps its listeners in structures
+ * that are not thread-safe and calls them on the publisher's thread:
+ *
+ * - subscribing while another thread publishes can corrupt the lists
+ * - one slow listener makes EVERY publisher wait for it
+ *
+ * This version separates publishing from delivery:
+ *
+ *   publisher threads          per-subscriber queue        own thread
+ *   ─────────────────          ────────────────────        ──────────
+ *   notify("click", d) ──┬──► [d][d][d][ ][ ]  (bounded) ──► listener A
+ *                        └──► [d][ ][ ][ ][ ]  (bounded) ──► listener B
+ *        │
+ *        └── reads a COPY-ON-WRITE array of subscribers: no lock at all.
+ *            subscribe/unsubscribe build a new array and swap it in.
+ *
+ * When a subscriber's queue is full, its BackPressure policy decides:
+ *
+ *   BLOCK        the publisher waits for space (nothing is lost)
+ *   DROP_OLDEST  the oldest queued event is discarded to make room
+ *   DROP_NEWEST  the new event is discarded
+ *
+ * A slow subscriber therefore only affects itself (or, with BLOCK, the
+ * publishers of ITS events). metrics() reports throughput, drops and the
+ * publish-to-delivery latency.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.Consumer;
+
+public class ConcurrentEventManager implements AutoCloseable {
+
+    public enum BackPressure { BLOCK, DROP_OLDEST, DROP_NEWEST }
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final Subscriber[] NONE = new Subscriber[0];
+
+    private final ConcurrentHashMap<String, Subscriber[]> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder publishNanos = new LongAdder();
+    // Totals over every subscriber ever added: a Subscriber's own counters
+    // leave metrics() with it when it unsubscribes, these never go down
+    private final LongAdder deliveredTotal = new LongAdder();
+    private final LongAdder droppedTotal = new LongAdder();
+    private final LatencyHistogram deliveryLatency = new LatencyHistogram();
+    private volatile boolean closed;
+
+    public ConcurrentEventManager(String... events) {
+        for (String event : events) {
+            subscribers.put(event, NONE);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Subscribing (copy-on-write)
+    // ─────────────────────────────────────────────
+
+    public Subscription subscribe(String event, Consumer<String> listener) {
+        return subscribe(event, listener, DEFAULT_QUEUE_CAPACITY, BackPressure.BLOCK);
+    }
+
+    /** Starts a delivery thread for this listener; close the Subscription to stop it. */
+    public Subscription subscribe(String event, Consumer<String> listener, int queueCapacity,
+                                  BackPressure policy) {
+        if (closed) {
+            throw new IllegalStateException("Event manager is closed");
+        }
+        Subscriber subscriber = new Subscriber(event, listener, queueCapacity, policy,
+            subscriberIds.incrementAndGet());
+        // compute() is atomic per event, so concurrent subscribes never lose each other
+        subscribers.compute(event, (key, current) -> {
+            Subscriber[] base = current == null ? NONE : current;
+            Subscriber[] updated = Arrays.copyOf(base, base.length + 1);
+            updated[base.length] = subscriber;
+            return updated;
+        });
+        subscriber.start();
+        return subscriber;
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.event, (key, current) -> {
+            int index = Arrays.asList(current).indexOf(subscriber);
+            if (index < 0) {
+                return current;
+            }
+            Subscriber[] updated = new Subscriber[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            return updated;
+        });
+    }
+
+    // ─────────────────────────────────────────────
+    // Publishing (lock-free read of the array)
+    // ─────────────────────────────────────────────
+
+    /**
+     * Hands the data to every subscriber of the event. Returns quickly
+     * unless a BLOCK subscriber's queue is full. Unknown events are ignored.
+     */
+    public void notify(String event, String data) {
+        if (closed) {
+            throw new IllegalStateException("Event manager is closed");
+        }
+        long start = System.nanoTime();
+        Subscriber[] current = subscribers.get(event);
+        if (current != null) {
+            for (Subscriber subscriber : current) {
+                subscriber.enqueue(new Delivery(data, start));
+            }
+        }
+        published.increment();
+        publishNanos.add(System.nanoTime() - start);
+    }
+
+    public int subscriberCount(String event) {
+        return subscribers.getOrDefault(event, NONE).length;
+    }
+
+    public Metrics metrics() {
+        int queued = 0;
+        for (Subscriber[] list : subscribers.values()) {
+            for (Subscriber subscriber : list) {
+                queued += subscriber.queue.size();
+            }
+        }
+        long count = published.sum();
+        return new Metrics(count, deliveredTotal.sum(), droppedTotal.sum(), queued,
+            count == 0 ? 0 : publishNanos.sum() / count,
+            deliveryLatency.percentile(50), deliveryLatency.percentile(99));
+    }
+
+    /** Stops every subscriber after it has delivered what is already queued. */
+    @Override
+    public void close() {
+        closed = true;
+        List<Subscriber> all = new ArrayList<>();
+        for (Subscriber[] list : subscribers.values()) {
+            all.addAll(Arrays.asList(list));
+        }
+        for (Subscriber subscriber : all) {
+            subscriber.close();
+        }
+        for (Subscriber subscriber : all) {
+            subscriber.awaitStopped();
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Supporting types
+    // ─────────────────────────────────────────────
+
+    /** Returned by subscribe(); close() it to unsubscribe. */
+    public interface Subscription extends AutoCloseable {
+        long delivered();
+        long dropped();
+        @Override
+        void close();
+    }
+
+    /** Snapshot of dispatch statistics. */
+    public static final class Metrics {
+        public final long published;
+        public final long delivered;
+        public final long dropped;
+        public final int queued;
+        public final long avgPublishNanos;
+        public final long p50LatencyNanos;
+        public final long p99LatencyNanos;
+
+        Metrics(long published, long delivered, long dropped, int queued,
+                long avgPublishNanos, long p50LatencyNanos, long p99LatencyNanos) {
+            this.published = published;
+            this.delivered = delivered;
+            this.dropped = dropped;
+            this.queued = queued;
+            this.avgPublishNanos = avgPublishNanos;
+            this.p50LatencyNanos = p50LatencyNanos;
+            this.p99LatencyNanos = p99LatencyNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("published=%,d delivered=%,d dropped=%,d queued=%d "
+                + "publish=%,dns latency p50<=%,dns p99<=%,dns", published, delivered, dropped,
+                queued, avgPublishNanos, p50LatencyNanos, p99LatencyNanos);
+        }
+    }
+
+    private static final class Delivery {
+        final String data;
+        final long publishedAt;
+
+        Delivery(String data, long publishedAt) {
+            this.data = data;
+            this.publishedAt = publishedAt;
+        }
+    }
+
+    /** Put on a queue to wake its delivery thread when the subscriber closes. */
+    private static final Delivery STOP = new Delivery(null, 0);
+
+    /** One listener with its own bounded queue and delivery thread. */
+    private final class Subscriber implements Subscription {
+        final String event;
+        final Consumer<String> listener;
+        final BlockingQueue<Delivery> queue;
+        final BackPressure policy;
+        final Thread thread;
+        final LongAdder delivered = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        volatile boolean running = true;
+
+        Subscriber(String event, Consumer<String> listener, int capacity, BackPressure policy, long id) {
+            this.event = event;
+            this.listener = listener;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.policy = policy;
+            this.thread = new Thread(this::deliverLoop, "event-" + event + "-" + id);
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        void enqueue(Delivery delivery) {
+            if (!running) {
+                drop();  // Unsubscribed: its thread will not take anything more
+                return;
+            }
+            switch (policy) {
+                case BLOCK:
+                    try {
+                        // Wait for space, but give up once the subscriber stops:
+                        // nobody would ever empty a full queue after that
+                        while (!queue.offer(delivery, 10, TimeUnit.MILLISECONDS)) {
+                            if (!running) {
+                                drop();
+                                return;
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        drop();
+                    }
+                    break;
+                case DROP_NEWEST:
+                    if (!queue.offer(delivery)) {
+                        drop();
+                    }
+                    break;
+                case DROP_OLDEST:
+                    while (!queue.offer(delivery)) {
+                        Delivery oldest = queue.poll();
+                        if (oldest == STOP) {
+                            queue.offer(STOP);  // Keep the wake-up; drop ours instead
+                            drop();
+                            return;
+                        }
+                        if (oldest != null) {
+                            drop();
+                        }
+                    }
+                    break;
+            }
+        }
+
+        private void drop() {
+            dropped.increment();
+            droppedTotal.increment();
+        }
+
+        /** Sleeps in take() while idle; close() wakes it with STOP. */
+        private void deliverLoop() {
+            while (running || !queue.isEmpty()) {
+                Delivery delivery;
+                try {
+                    delivery = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (delivery == STOP) {
+                    continue;
+                }
+                try {
+                    listener.accept(delivery.data);
+                } catch (RuntimeException e) {
+                    // A failing listener must not kill its delivery thread
+                    System.err.println("Listener for '" + event + "' failed: " + e);
+                }
+                delivered.increment();
+                deliveredTotal.increment();
+                deliveryLatency.record(System.nanoTime() - delivery.publishedAt);
+            }
+        }
+
+        @Override
+        public long delivered() {
+            return delivered.sum();
+        }
+
+        @Override
+        public long dropped() {
+            return dropped.sum();
+        }
+
+        /** Unsubscribes; events already queued are still delivered. */
+        @Override
+        public void close() {
+            remove(this);
+            running = false;
+            // Wake a thread waiting in take(). If the queue is full the thread
+            // is busy and sees running == false once it has emptied it.
+            queue.offer(STOP);
+        }
+
+        void awaitStopped() {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
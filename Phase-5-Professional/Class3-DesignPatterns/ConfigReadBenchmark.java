@@ -0,0 +1,149 @@
+/**
+ * ============================================
+ * CONFIG READ + HOT RELOAD BENCHMARK
+ * ============================================
+ *
+ * Part 1: reader threads call getInt("pool.size") in a loop while a
+ *         writer changes a setting every millisecond:
+ *         - a synchronized HashMap that parses the string on every read
+ *         - AppConfig (immutable snapshot in an AtomicReference, parsed once)
+ *
+ * Part 2: AppConfig watches a temporary application.properties; the file
+ *         is rewritten a few times and we measure how long it takes until
+ *         readers see the new value.
+ *
+ * How to compile and run:
+ * $ javac *.java                         (uses AppConfig.java)
+ * $ java ConfigReadBenchmark              (5,000,000 reads per thread)
+ * $ java ConfigReadBenchmark 1000000      (custom reads per thread)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.IntSupplier;
+
+public class ConfigReadBenchmark {
+
+    private static final int READERS = 4;
+
+    /** The old style: one lock around a mutable map, parse on every read. */
+    static class LockedConfig {
+        private final Map<String, String> settings = new HashMap<>();
+
+        synchronized void set(String key, String value) {
+            settings.put(key, value);
+        }
+
+        synchronized int getInt(String key, int defaultValue) {
+            String value = settings.get(key);
+            if (value == null) return defaultValue;
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int readsPerThread = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     CONFIG READ + HOT RELOAD BENCHMARK                   ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+        System.out.printf("Readers: %d, reads per thread: %,d, one write per ms%n%n", READERS, readsPerThread);
+
+        LockedConfig locked = new LockedConfig();
+        locked.set("pool.size", "16");
+        AppConfig.INSTANCE.set("pool.size", "16");
+
+        System.out.printf("%-34s %16s%n", "Config", "reads/s");
+        System.out.println("──────────────────────────────────────────────────────");
+        for (int round = 0; round < 2; round++) {  // First round warms up the JIT
+            double lockedRate = run(readsPerThread, () -> locked.getInt("pool.size", 1),
+                i -> locked.set("feature.flag", String.valueOf(i % 2 == 0)));
+            double snapshotRate = run(readsPerThread, () -> AppConfig.INSTANCE.getInt("pool.size", 1),
+                i -> AppConfig.INSTANCE.set("feature.flag", String.valueOf(i % 2 == 0)));
+            if (round == 1) {
+                System.out.printf("%-34s %,16.0f%n", "synchronized HashMap + parseInt", lockedRate);
+                System.out.printf("%-34s %,16.0f%n", "AppConfig snapshot (cached int)", snapshotRate);
+            }
+        }
+
+        hotReload();
+
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    /** Runs READERS reader threads plus one writer that changes a setting every millisecond. */
+    private static double run(int readsPerThread, IntSupplier read, java.util.function.IntConsumer write)
+            throws InterruptedException {
+        AtomicBoolean readersDone = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; !readersDone.get(); i++) {
+                write.accept(i);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        Thread[] readers = new Thread[READERS];
+        LongAdder sink = new LongAdder();
+        for (int t = 0; t < READERS; t++) {
+            readers[t] = new Thread(() -> {
+                long sum = 0;
+                for (int i = 0; i < readsPerThread; i++) {
+                    sum += read.getAsInt();
+                }
+                sink.add(sum);
+            });
+        }
+        long start = System.nanoTime();
+        writer.start();
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        readersDone.set(true);
+        writer.join();
+        if (sink.sum() != 16L * READERS * readsPerThread) {
+            throw new IllegalStateException("Readers saw a wrong value");
+        }
+        return READERS * (double) readsPerThread / seconds;
+    }
+
+    @SuppressWarnings("try")  // The watcher only has to stay open; the body never calls it
+    private static void hotReload() throws Exception {
+        System.out.println("\n--- Hot reload of application.properties ---");
+        Path directory = Files.createTempDirectory("config-watch");
+        Path file = directory.resolve("application.properties");
+        Files.writeString(file, "app.name=Demo\npool.size=8\n");
+
+        try (ConfigWatcher ignored = AppConfig.INSTANCE.watch(file)) {
+            System.out.println("  Loaded: " + AppConfig.INSTANCE.snapshot());
+            for (int size = 10; size <= 40; size += 10) {
+                long start = System.nanoTime();
+                Files.writeString(file, "app.name=Demo\npool.size=" + size + "\n");
+                while (AppConfig.INSTANCE.getInt("pool.size", -1) != size) {
+                    if (System.nanoTime() - start > TimeUnit.SECONDS.toNanos(10)) {
+                        throw new IllegalStateException("Change was not picked up");
+                    }
+                    Thread.sleep(1);
+                }
+                System.out.printf("  pool.size=%d visible after %.0f ms (snapshot v%d)%n",
+                    size, (System.nanoTime() - start) / 1e6, AppConfig.INSTANCE.snapshot().version());
+            }
+        }
+        Files.delete(file);
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * ============================================
+ * IMMUTABLE CONFIGURATION SNAPSHOT
+ * ============================================
+ *
+ * The AppConfig singleton used to keep its settings in a HashMap that
+ * every thread read and wrote directly - not thread-safe. Instead, all
+ * settings now live in an IMMUTABLE snapshot, and changing a setting
+ * builds a new snapshot that is swapped in atomically:
+ *
+ *   AtomicReference ──► snapshot v1 {theme=dark}
+ *                       │
+ *   set("lang", "en")   │  copy + change
+ *                       ▼
+ *   AtomicReference ──► snapshot v2 {theme=dark, lang=en}
+ *
+ * - Readers do one volatile read of the reference, then read a map
+ *   nobody will ever modify again: no locks, no torn updates.
+ * - A reader that keeps a snapshot sees one consistent version of ALL
+ *   settings, even if the config is reloaded in the meantime.
+ * - getInt / getLong / getDouble / getBoolean parse a value once per
+ *   snapshot and cache the result.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+public final class ConfigSnapshot {
+
+    private static final Object INVALID = new Object();  // Cached marker: missing or unparsable
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    public static final ConfigSnapshot EMPTY = new ConfigSnapshot(Collections.emptyMap());
+
+    private final Map<String, String> values;
+    private final long version;
+    // Parsed values, one cache per type; filling them in from several threads is harmless
+    private final ConcurrentHashMap<String, Object> ints = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Object> longs = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Object> doubles = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Object> booleans = new ConcurrentHashMap<>();
+
+    private ConfigSnapshot(Map<String, String> values) {
+        this.values = values;
+        this.version = VERSIONS.getAndIncrement();  // Newer snapshots have higher versions
+    }
+
+    /** Reads a .properties file (UTF-8) into a new snapshot. */
+    public static ConfigSnapshot load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, String> values = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, properties.getProperty(key));
+        }
+        return new ConfigSnapshot(Collections.unmodifiableMap(values));
+    }
+
+    /** A copy of this snapshot with one setting changed. */
+    public ConfigSnapshot with(String key, String value) {
+        Map<String, String> copy = new HashMap<>(values);
+        copy.put(key, value);
+        return new ConfigSnapshot(Collections.unmodifiableMap(copy));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Set<String> keys() {
+        return values.keySet();
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Integer value = typed(ints, key, Integer::valueOf);
+        return value != null ? value : defaultValue;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        Long value = typed(longs, key, Long::valueOf);
+        return value != null ? value : defaultValue;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        Double value = typed(doubles, key, Double::valueOf);
+        return value != null ? value : defaultValue;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Boolean value = typed(booleans, key, Boolean::valueOf);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Parses the value once and caches it. Missing or unparsable values
+     * are cached as INVALID so they are not parsed again either.
+     */
+    @SuppressWarnings("unchecked")
+    private <V> V typed(Map<String, Object> cache, String key, Function<String, V> parser) {
+        Object cached = cache.get(key);
+        if (cached == null) {
+            String raw = values.get(key);
+            try {
+                cached = raw == null ? INVALID : parser.apply(raw.trim());
+            } catch (IllegalArgumentException e) {  // Includes NumberFormatException
+                cached = INVALID;
+            }
+            cache.put(key, cached);
+        }
+        return cached == INVALID ? null : (V) cached;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigSnapshot v" + version + " " + new TreeMap<>(values);
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * ============================================
+ * CONFIG FILE WATCHER (HOT RELOAD)
+ * ============================================
+ *
+ * Watches one file (e.g. application.properties) with the JDK's
+ * WatchService and hands a freshly loaded ConfigSnapshot to a callback
+ * every time the file changes - no restart needed.
+ *
+ *   editor saves file ──► WatchService event ──► load new snapshot
+ *                                                 │
+ *                              onReload(snapshot) ◄┘  (e.g. swap it into
+ *                                                      an AtomicReference)
+ *
+ * - WatchService watches DIRECTORIES, so we watch the parent folder and
+ *   ignore events for other files.
+ * - Editors often save in several steps (truncate, write, rename), so a
+ *   short quiet period collapses a burst of events into one reload.
+ * - A file that fails to load (e.g. mid-save) is reported and the old
+ *   snapshot simply stays active.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class ConfigWatcher implements AutoCloseable {
+
+    private static final long QUIET_PERIOD_MILLIS = 50;
+
+    private final Path file;
+    private final WatchService watchService;
+    private final Thread thread;
+    private final Consumer<ConfigSnapshot> onReload;
+    private volatile boolean running = true;
+
+    public ConfigWatcher(Path file, Consumer<ConfigSnapshot> onReload) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.onReload = onReload;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::watchLoop, "config-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void watchLoop() {
+        while (running) {
+            WatchKey key;
+            try {
+                key = watchService.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            if (key == null) {
+                continue;
+            }
+            boolean changed = containsOurFile(key);
+            key.reset();
+            if (!changed) {
+                continue;
+            }
+            // Swallow the rest of a save burst before reading the file
+            try {
+                WatchKey more;
+                while ((more = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    more.pollEvents();
+                    more.reset();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            reload();
+        }
+    }
+
+    private boolean containsOurFile(WatchKey key) {
+        boolean found = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context())) {
+                found = true;  // On OVERFLOW we cannot tell, so reload to be safe
+            }
+        }
+        return found;
+    }
+
+    private void reload() {
+        try {
+            onReload.accept(ConfigSnapshot.load(file));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("ConfigWatcher: keeping old config, could not load " + file + ": " + e);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            watchService.close();
+            thread.join();
+        } catch (IOException e) {
+            System.err.println("ConfigWatcher: close failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * ============================================
+ * CONFLATING STOCK PRICE PUBLISHER
+ * ============================================
+ *
+ * StockMarket (StockMarket.java) calls every observer's update() on
+ * the publisher's thread, for EVERY tick. With tens of thousands of ticks
+ * per second, one slow observer holds up the whole market, and a queue
+ * in front of it would just grow without limit.
+ *
+ * For prices, only the LATEST value matters. So each observer gets a
+ * "pending" map with at most one price per symbol:
+ *
+ *   updateStock("AAPL", 190.10)
+ *   updateStock("AAPL", 190.20)   ┐ observer busy: the newer price
+ *   updateStock("AAPL", 190.15)   ┘ REPLACES the pending one (conflation)
+ *
+ *   pending for slow observer:  { AAPL → 190.15, MSFT → 411.00 }
+ *   dirty symbols (FIFO):       [ AAPL, MSFT ]
+ *                                  │
+ *                                  └──► observer thread: take a symbol,
+ *                                       remove its pending price, update()
+ *
+ * - Memory per observer is bounded by the number of symbols.
+ * - A fast observer still sees every tick; a slow one sees the latest.
+ * - Each observer has its own thread, so observers never wait for each other.
+ * - Observers live in a CopyOnWriteArrayList: adding or removing one
+ *   while prices are being published is safe.
+ *
+ * metrics() reports the end-to-end latency (updateStock() call → update()
+ * call) and the conflation rate (ticks replaced before delivery).
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.LockSupport;
+
+public class ConflatingStockPublisher implements AutoCloseable {
+
+    private final List<Channel> channels = new CopyOnWriteArrayList<>();
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicInteger threadIds = new AtomicInteger();
+    private volatile boolean closed;
+
+    public void addObserver(StockObserver observer) {
+        if (closed) {
+            throw new IllegalStateException("Publisher is closed");
+        }
+        Channel channel = new Channel(observer);
+        channels.add(channel);
+        channel.thread.start();
+    }
+
+    /** Stops delivering to the observer; prices already pending are still delivered. */
+    public void removeObserver(StockObserver observer) {
+        for (Channel channel : channels) {
+            if (channel.observer == observer) {
+                channels.remove(channel);
+                channel.stop();
+            }
+        }
+    }
+
+    /** Never blocks: records the price as pending for every observer. */
+    public void updateStock(String stock, double price) {
+        Tick tick = new Tick(stock, price, System.nanoTime());
+        for (Channel channel : channels) {
+            channel.offer(tick);
+        }
+        ticks.increment();
+    }
+
+    public Metrics metrics() {
+        return new Metrics(ticks.sum(), delivered.sum(), conflated.sum(),
+            latency.percentile(50), latency.percentile(99));
+    }
+
+    /** Delivers every pending price, then stops all observer threads. */
+    @Override
+    public void close() {
+        closed = true;
+        List<Channel> all = new ArrayList<>(channels);
+        channels.clear();
+        for (Channel channel : all) {
+            channel.stop();
+        }
+        for (Channel channel : all) {
+            try {
+                channel.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Supporting types
+    // ─────────────────────────────────────────────
+
+    /** Snapshot of delivery statistics. */
+    public static final class Metrics {
+        public final long ticks;
+        public final long delivered;
+        public final long conflated;
+        public final long p50LatencyNanos;
+        public final long p99LatencyNanos;
+
+        Metrics(long ticks, long delivered, long conflated, long p50LatencyNanos, long p99LatencyNanos) {
+            this.ticks = ticks;
+            this.delivered = delivered;
+            this.conflated = conflated;
+            this.p50LatencyNanos = p50LatencyNanos;
+            this.p99LatencyNanos = p99LatencyNanos;
+        }
+
+        /** Share of per-observer ticks that were replaced by a newer price. */
+        public double conflationRate() {
+            long total = delivered + conflated;
+            return total == 0 ? 0 : (double) conflated / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ticks=%,d delivered=%,d conflated=%,d (%.1f%%) latency p50<=%,dns p99<=%,dns",
+                ticks, delivered, conflated, conflationRate() * 100, p50LatencyNanos, p99LatencyNanos);
+        }
+    }
+
+    private static final class Tick {
+        final String stock;
+        final double price;
+        final long publishedAt;
+
+        Tick(String stock, double price, long publishedAt) {
+            this.stock = stock;
+            this.price = price;
+            this.publishedAt = publishedAt;
+        }
+    }
+
+    /** One observer: latest pending tick per symbol plus its own delivery thread. */
+    private final class Channel {
+        final StockObserver observer;
+        final ConcurrentHashMap<String, Tick> pending = new ConcurrentHashMap<>();
+        final Queue<String> dirty = new ConcurrentLinkedQueue<>();
+        final Thread thread;
+        volatile boolean running = true;
+
+        Channel(StockObserver observer) {
+            this.observer = observer;
+            this.thread = new Thread(this::deliverLoop, "stock-observer-" + threadIds.incrementAndGet());
+            this.thread.setDaemon(true);
+        }
+
+        void offer(Tick tick) {
+            if (pending.put(tick.stock, tick) == null) {
+                // The symbol was not pending yet: queue it and wake the observer
+                dirty.add(tick.stock);
+                LockSupport.unpark(thread);
+            } else {
+                conflated.increment();  // The observer will only see the newer price
+            }
+        }
+
+        void stop() {
+            running = false;
+            LockSupport.unpark(thread);
+        }
+
+        private void deliverLoop() {
+            while (true) {
+                String stock = dirty.poll();
+                if (stock == null) {
+                    if (!running) {
+                        return;
+                    }
+                    // offer() and stop() unpark us; an unpark that comes before
+                    // park() is remembered, so no wake-up can be missed
+                    LockSupport.park();
+                    continue;
+                }
+                Tick tick = pending.remove(stock);  // Only this thread removes, so never null
+                try {
+                    observer.update(tick.stock, tick.price);
+                } catch (RuntimeException e) {
+                    System.err.println("Observer failed on " + tick.stock + ": " + e);
+                }
+                delivered.increment();
+                latency.record(System.nanoTime() - tick.publishedAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * ============================================
+ * CONFLATING MARKET DATA BENCHMARK
+ * ============================================
+ *
+ * A feed thread publishes price ticks for a handful of symbols as fast as
+ * it can to three observers: one that just records prices and two SLOW
+ * ones (about 50 µs and 500 µs per update).
+ *
+ * - StockMarket (StockMarket.java): the feed calls every observer
+ *   itself, so it can only go as fast as the slowest observer
+ * - ConflatingStockPublisher: the feed never waits; slow observers
+ *   skip to the latest price per symbol
+ *
+ * At the end every observer must have seen the FINAL price of every
+ * symbol - conflation may skip prices, but never the last one.
+ *
+ * How to compile and run:
+ * $ javac *.java                         (uses StockMarket.java)
+ * $ java ConflationBenchmark              (2 seconds per run)
+ * $ java ConflationBenchmark 5            (custom seconds per run)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+public class ConflationBenchmark {
+
+    private static final String[] SYMBOLS = {"AAPL", "MSFT", "GOOG", "AMZN", "NVDA", "META", "TSLA", "ORCL"};
+
+    /** Remembers the last price per symbol; optionally pretends to be slow. */
+    static class RecordingObserver implements StockObserver {
+        final Map<String, Double> lastPrice = new ConcurrentHashMap<>();
+        final long workNanos;
+
+        RecordingObserver(long workNanos) {
+            this.workNanos = workNanos;
+        }
+
+        @Override
+        public void update(String stock, double price) {
+            if (workNanos > 0) {
+                LockSupport.parkNanos(workNanos);
+            }
+            lastPrice.put(stock, price);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 2;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     CONFLATING MARKET DATA BENCHMARK                     ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+        System.out.printf("Symbols: %d, observers: fast + 50 µs + 500 µs, %.0f s per run%n%n",
+            SYMBOLS.length, seconds);
+
+        // Synchronous StockMarket (its updateStock() also prints every tick)
+        StockMarket market = new StockMarket();
+        RecordingObserver[] syncObservers = observers();
+        for (RecordingObserver observer : syncObservers) {
+            market.addObserver(observer);
+        }
+        java.io.PrintStream console = System.out;
+        System.setOut(new java.io.PrintStream(java.io.OutputStream.nullOutputStream()));
+        long syncTicks = feed(seconds, market::updateStock);
+        System.setOut(console);
+        System.out.printf("%-28s %,14.0f ticks/s%n", "StockMarket (sync)", syncTicks / seconds);
+
+        // Conflating publisher
+        RecordingObserver[] observers = observers();
+        ConflatingStockPublisher publisher = new ConflatingStockPublisher();
+        for (RecordingObserver observer : observers) {
+            publisher.addObserver(observer);
+        }
+        Map<String, Double> finalPrices = new HashMap<>();
+        long ticks = feed(seconds, (stock, price) -> {
+            publisher.updateStock(stock, price);
+            finalPrices.put(stock, price);
+        });
+        publisher.close();  // Delivers whatever is still pending
+        ConflatingStockPublisher.Metrics metrics = publisher.metrics();
+        System.out.printf("%-28s %,14.0f ticks/s%n", "ConflatingStockPublisher", ticks / seconds);
+
+        System.out.println("\n  " + metrics);
+        boolean allFinal = true;
+        for (RecordingObserver observer : observers) {
+            allFinal &= observer.lastPrice.equals(finalPrices);
+        }
+        System.out.println("  Every observer saw the final prices: " + (allFinal ? "✓ yes" : "✗ NO"));
+
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    private static RecordingObserver[] observers() {
+        return new RecordingObserver[] {
+            new RecordingObserver(0), new RecordingObserver(50_000), new RecordingObserver(500_000)
+        };
+    }
+
+    /** Publishes random-walk prices round-robin over the symbols for the given time. */
+    private static long feed(double seconds, StockObserver sink) {
+        double[] prices = new double[SYMBOLS.length];
+        Arrays.fill(prices, 100.0);
+        Random random = new Random(42);
+        long end = System.nanoTime() + (long) (seconds * 1e9);
+        long count = 0;
+        while ((count & 255) != 0 || System.nanoTime() < end) {
+            int s = (int) (count % SYMBOLS.length);
+            prices[s] += random.nextGaussian() * 0.05;
+            sink.update(SYMBOLS[s], prices[s]);
+            count++;
+        }
+        return count;
+    }
+}
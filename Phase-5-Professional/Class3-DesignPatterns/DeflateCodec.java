@@ -0,0 +1,173 @@
+/**
+ * ============================================
+ * DEFLATE / GZIP BLOCK CODEC
+ * ============================================
+ *
+ * Compresses blocks with java.util.zip.Deflater (native zlib):
+ *
+ *   DEFLATE   [ raw deflate data ]
+ *   GZIP      [ 10-byte header ][ raw deflate data ][ CRC32 ][ length ]
+ *
+ * A GZIP block is a complete gzip "member". The gzip format allows a file
+ * to be several members in a row, so blocks written one after another
+ * form a normal .gz file that gunzip and GZIPInputStream can read.
+ *
+ * Creating a Deflater allocates native memory, so each thread keeps one
+ * Deflater per codec and one Inflater and resets them for every block.
+ * There is only ONE codec per format and level (see of()), so asking for
+ * BlockCodec.gzip(6) again reuses the same Deflaters.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.IOException;
+import java.util.zip.*;
+
+public final class DeflateCodec implements BlockCodec {
+
+    private static final int HEADER_BYTES = 10;
+    private static final int TRAILER_BYTES = 8;
+    private static final byte[] GZIP_HEADER = {
+        0x1f, (byte) 0x8b, 8, 0,  // Magic, method deflate, no flags
+        0, 0, 0, 0,               // No modification time
+        0, (byte) 0xff            // No extra flags, unknown OS
+    };
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+    private static final DeflateCodec[] DEFLATE = new DeflateCodec[10];  // Indexed by level, 0 unused
+    private static final DeflateCodec[] GZIP = new DeflateCodec[10];
+
+    static {
+        for (int level = 1; level <= 9; level++) {
+            DEFLATE[level] = new DeflateCodec(level, false);
+            GZIP[level] = new DeflateCodec(level, true);
+        }
+    }
+
+    private final int level;
+    private final boolean gzip;
+    private final ThreadLocal<Deflater> deflater;
+
+    /** The shared codec for this format and level. */
+    static DeflateCodec of(int level, boolean gzip) {
+        if (level < 1 || level > 9) {
+            throw new IllegalArgumentException("Level must be 1-9: " + level);
+        }
+        return gzip ? GZIP[level] : DEFLATE[level];
+    }
+
+    private DeflateCodec(int level, boolean gzip) {
+        this.level = level;
+        this.gzip = gzip;
+        this.deflater = ThreadLocal.withInitial(() -> new Deflater(level, true));
+    }
+
+    @Override
+    public String name() {
+        return (gzip ? "GZIP-" : "DEFLATE-") + level;
+    }
+
+    @Override
+    public byte id() {
+        return gzip ? GZIP_ID : DEFLATE_ID;
+    }
+
+    @Override
+    public String extension() {
+        return gzip ? ".gz" : ".deflate";
+    }
+
+    @Override
+    public int maxCompressedLength(int length) {
+        // zlib's deflateBound(): incompressible data is stored with 5 bytes per 16 KB
+        int bound = length + (length >>> 12) + (length >>> 14) + (length >>> 25) + 13;
+        return gzip ? bound + HEADER_BYTES + TRAILER_BYTES : bound;
+    }
+
+    @Override
+    public int compress(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) {
+        int out = dstOffset;
+        if (gzip) {
+            System.arraycopy(GZIP_HEADER, 0, dst, out, HEADER_BYTES);
+            out += HEADER_BYTES;
+        }
+        Deflater d = deflater.get();
+        d.reset();
+        d.setInput(src, srcOffset, length);
+        d.finish();
+        while (!d.finished()) {
+            int written = d.deflate(dst, out, dst.length - out);
+            if (written == 0 && out == dst.length) {
+                throw new IllegalArgumentException("Output buffer smaller than maxCompressedLength()");
+            }
+            out += written;
+        }
+        if (gzip) {
+            CRC32 crc = new CRC32();
+            crc.update(src, srcOffset, length);
+            out = putIntLE(dst, out, (int) crc.getValue());
+            out = putIntLE(dst, out, length);
+        }
+        return out - dstOffset;
+    }
+
+    @Override
+    public void decompress(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset, int originalLength)
+            throws IOException {
+        int start = srcOffset;
+        int end = srcOffset + length;
+        if (gzip) {
+            if (length < HEADER_BYTES + TRAILER_BYTES || src[start] != 0x1f || src[start + 1] != (byte) 0x8b
+                || src[start + 3] != 0) {
+                throw new ZipException("Not a gzip block written by " + name());
+            }
+            start += HEADER_BYTES;
+            end -= TRAILER_BYTES;
+        }
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(src, start, end - start);
+        int restored = 0;
+        try {
+            // Loop until the end of the stream, not until originalLength: an
+            // empty block (or one whose end marker comes last) still has to
+            // be inflated to reach finished()
+            while (!inflater.finished()) {
+                int n = originalLength > restored
+                    ? inflater.inflate(dst, dstOffset + restored, originalLength - restored)
+                    : inflater.inflate(new byte[1]);  // Only the end marker should be left
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                restored += n;
+                if (restored > originalLength) {
+                    break;
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException("Corrupt " + name() + " block: " + e.getMessage());
+        }
+        if (restored != originalLength || !inflater.finished()) {
+            throw new ZipException("Corrupt " + name() + " block: expected " + originalLength + " bytes");
+        }
+        if (gzip) {
+            CRC32 crc = new CRC32();
+            crc.update(dst, dstOffset, originalLength);
+            if (getIntLE(src, end) != (int) crc.getValue() || getIntLE(src, end + 4) != originalLength) {
+                throw new ZipException("CRC32 mismatch in " + name() + " block");
+            }
+        }
+    }
+
+    private static int putIntLE(byte[] b, int offset, int value) {
+        b[offset] = (byte) value;
+        b[offset + 1] = (byte) (value >>> 8);
+        b[offset + 2] = (byte) (value >>> 16);
+        b[offset + 3] = (byte) (value >>> 24);
+        return offset + 4;
+    }
+
+    private static int getIntLE(byte[] b, int offset) {
+        return (b[offset] & 0xff) | (b[offset + 1] & 0xff) << 8 | (b[offset + 2] & 0xff) << 16
+            | (b[offset + 3] & 0xff) << 24;
+    }
+}
@@ -23,7 +23,12 @@
  * @author Learn Java With Me
  */
 
+import java.io.*;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+import java.util.zip.*;
 
 public class DesignPatternsDemo {
     
@@ -111,12 +116,23 @@ public class DesignPatternsDemo {
         NotificationFactory emailFactory = new EmailNotificationFactory();
         NotificationFactory smsFactory = new SMSNotificationFactory();
         
-        Notification email = emailFactory.createNotification();
-        Notification sms = smsFactory.createNotification();
+        Notification email = emailFactory.newNotification();
+        Notification sms = smsFactory.newNotification();
         
         email.send("Hello via Email!");
         sms.send("Hello via SMS!");
         
+        // Flyweight: stateless products can be shared instead of re-created
+        System.out.println("\n--- Flyweight (shared instances) ---");
+        for (int i = 0; i < 1000; i++) {
+            ShapeFactory.sharedShape("circle");
+            emailFactory.sharedNotification();
+        }
+        System.out.println("Same circle every time: "
+            + (ShapeFactory.sharedShape("circle") == ShapeFactory.sharedShape(ShapeFactory.Type.CIRCLE)));
+        System.out.println("Circles ever created: " + ShapeFactory.creationCount(ShapeFactory.Type.CIRCLE));
+        System.out.println("Email notifications created: " + emailFactory.creationCount());
+        
         System.out.println("\n");
     }
     
@@ -312,16 +328,55 @@ public class DesignPatternsDemo {
         // Compression strategy example
         System.out.println("\n--- Compression Strategy ---");
         FileCompressor compressor = new FileCompressor();
+        String folder = createSampleFolder();
+        
+        compressor.compress(folder);  // Default: the whole folder as .tar.gz
         
         compressor.setStrategy(new ZipCompressionStrategy());
-        compressor.compress("documents/");
+        compressor.compress(folder);
+        
+        compressor.setStrategy(new GzipCompressionStrategy());
+        compressor.compress(folder);
         
         compressor.setStrategy(new RarCompressionStrategy());
-        compressor.compress("images/");
+        compressor.compress(folder);
         
+        deleteSampleFolder(folder);
         System.out.println("\n");
     }
     
+    /** A temp folder with a few log-like text files to compress. */
+    private static String createSampleFolder() {
+        try {
+            Path folder = Files.createTempDirectory("documents");
+            for (int f = 1; f <= 3; f++) {
+                StringBuilder text = new StringBuilder();
+                for (int i = 0; i < 20_000 * f; i++) {
+                    text.append("2024-01-15 10:").append(i % 60).append(" INFO Order ").append(i)
+                        .append(" shipped to warehouse ").append(i % 17).append('\n');
+                }
+                Files.writeString(folder.resolve("report-" + f + ".txt"), text);
+            }
+            return folder.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /** Deletes the sample folder and the archive made next to it. */
+    private static void deleteSampleFolder(String folder) {
+        try (Stream<Path> listing = Files.list(Path.of(folder))) {
+            for (Path file : (Iterable<Path>) listing::iterator) {
+                Files.delete(file);
+            }
+            Files.delete(Path.of(folder));
+            Files.deleteIfExists(Path.of(folder + ".tar.gz"));
+            Files.deleteIfExists(Path.of(folder + ".zip"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
     /**
      * DEMO 8: Observer Pattern
      * Event notification system
@@ -367,6 +422,12 @@ public class DesignPatternsDemo {
         eventManager.notify("submit", "Contact Form");
         eventManager.notify("hover", "Menu Item");  // No listener
         
+        // Hierarchical topics with wildcards
+        eventManager.subscribe("orders.*.created", event -> 
+            System.out.println("  New order (any region): " + event));
+        eventManager.notify("orders.eu.created", "Order #42");
+        eventManager.notify("orders.eu.cancelled", "Order #17");  // No match
+        
         System.out.println("\n");
     }
     
@@ -409,116 +470,15 @@ public class DesignPatternsDemo {
 // SINGLETON PATTERN IMPLEMENTATIONS
 // ════════════════════════════════════════════════════════════════════════════
 
-class Logger {
-    private static volatile Logger instance;
-    private List<String> logs = new ArrayList<>();
-    
-    private Logger() {
-        System.out.println("Logger instance created");
-    }
-    
-    public static Logger getInstance() {
-        if (instance == null) {
-            synchronized (Logger.class) {
-                if (instance == null) {
-                    instance = new Logger();
-                }
-            }
-        }
-        return instance;
-    }
-    
-    public void log(String level, String message) {
-        String entry = String.format("[%s] %s: %s", 
-            java.time.LocalTime.now().toString().substring(0, 8), level, message);
-        logs.add(entry);
-        System.out.println(entry);
-    }
-    
-    public int getLogCount() {
-        return logs.size();
-    }
-}
-
-enum AppConfig {
-    INSTANCE;
-    
-    private Map<String, String> settings = new HashMap<>();
-    
-    public void set(String key, String value) {
-        settings.put(key, value);
-    }
-    
-    public String get(String key) {
-        return settings.getOrDefault(key, "");
-    }
-}
+// Logger, AppConfig: see Logger.java, AppConfig.java
 
 // ════════════════════════════════════════════════════════════════════════════
 // FACTORY PATTERN IMPLEMENTATIONS
 // ════════════════════════════════════════════════════════════════════════════
 
-interface Shape {
-    void draw();
-}
-
-class Circle implements Shape {
-    @Override
-    public void draw() { System.out.println("Drawing Circle ●"); }
-}
-
-class Rectangle implements Shape {
-    @Override
-    public void draw() { System.out.println("Drawing Rectangle ▬"); }
-}
-
-class Triangle implements Shape {
-    @Override
-    public void draw() { System.out.println("Drawing Triangle ▲"); }
-}
-
-class ShapeFactory {
-    public static Shape createShape(String type) {
-        return switch (type.toLowerCase()) {
-            case "circle" -> new Circle();
-            case "rectangle" -> new Rectangle();
-            case "triangle" -> new Triangle();
-            default -> throw new IllegalArgumentException("Unknown shape: " + type);
-        };
-    }
-}
-
-interface Notification {
-    void send(String message);
-}
-
-class EmailNotification implements Notification {
-    @Override
-    public void send(String message) {
-        System.out.println("📧 Email: " + message);
-    }
-}
-
-class SMSNotification implements Notification {
-    @Override
-    public void send(String message) {
-        System.out.println("📱 SMS: " + message);
-    }
-}
-
-abstract class NotificationFactory {
-    abstract Notification createNotification();
-}
-
-class EmailNotificationFactory extends NotificationFactory {
-    @Override
-    Notification createNotification() { return new EmailNotification(); }
-}
-
-class SMSNotificationFactory extends NotificationFactory {
-    @Override
-    Notification createNotification() { return new SMSNotification(); }
-}
+// Shape, ShapeFactory: see Shape.java, ShapeFactory.java
+// Notification and its factories: see Notification.java, NotificationFactory.java,
+// EmailNotificationFactory.java, SMSNotificationFactory.java
 
 // ════════════════════════════════════════════════════════════════════════════
 // BUILDER PATTERN IMPLEMENTATIONS
@@ -888,22 +848,101 @@ interface CompressionStrategy {
     void compress(String folder);
 }
 
+// Compresses every file in the folder next to the original, block by block
+// on all cores (see BlockCodec.java and CompressedBlockStream.java)
+class CodecCompressionStrategy implements CompressionStrategy {
+    private final BlockCodec codec;
+    
+    CodecCompressionStrategy(BlockCodec codec) { this.codec = codec; }
+    
+    @Override
+    public void compress(String folder) {
+        long before = 0, after = 0;
+        int files = 0;
+        ExecutorService pool =
+            CompressedBlockStream.newPool(Runtime.getRuntime().availableProcessors());
+        try (Stream<Path> listing = Files.list(Path.of(folder))) {
+            for (Path file : (Iterable<Path>) listing::iterator) {
+                if (!Files.isRegularFile(file) || BlockCodec.forFile(file) != null) {
+                    continue;  // Skip directories and files that are already compressed
+                }
+                Path target = file.resolveSibling(file.getFileName() + codec.extension());
+                before += Files.size(file);
+                after += CompressedBlockStream.compressFile(file, target, codec, pool);
+                files++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            pool.shutdown();
+        }
+        System.out.printf("  📦 %s: %d files in %s, %,d → %,d bytes%n", codec.name(), files, folder, before, after);
+    }
+}
+
+// A real .zip that unzip, Explorer and Finder can open: ZipOutputStream
+// deflates every file of the folder into one folder.zip
 class ZipCompressionStrategy implements CompressionStrategy {
     @Override
     public void compress(String folder) {
-        System.out.println("  📦 Compressing " + folder + " to ZIP format");
+        Path source = Path.of(folder);
+        Path target = source.resolveSibling(source.getFileName() + ".zip");
+        long before = 0;
+        int files = 0;
+        try (Stream<Path> listing = Files.list(source);
+             ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(target)))) {
+            zip.setLevel(6);
+            for (Path file : (Iterable<Path>) listing::iterator) {
+                if (!Files.isRegularFile(file)) {
+                    continue;
+                }
+                zip.putNextEntry(new ZipEntry(file.getFileName().toString()));
+                before += Files.copy(file, zip);
+                zip.closeEntry();
+                files++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            System.out.printf("  📦 ZIP: %d files in %s, %,d → %,d bytes%n", files, target.getFileName(), before,
+                Files.size(target));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
 
-class RarCompressionStrategy implements CompressionStrategy {
+class GzipCompressionStrategy extends CodecCompressionStrategy {
+    GzipCompressionStrategy() { super(BlockCodec.gzip(6)); }
+}
+
+// RAR is a proprietary format; the fast LZ codec stands in for it. The
+// .lz files use this lesson's own block format (CompressedBlockStream.java),
+// so only CompressedBlockStream.decompressFile() can read them back
+class RarCompressionStrategy extends CodecCompressionStrategy {
+    RarCompressionStrategy() { super(BlockCodec.lz()); }
+}
+
+// The whole folder as one folder.tar.gz, compressed pigz-style on all cores
+// (see FolderArchiver.java and ParallelGzipOutputStream.java)
+class TarGzCompressionStrategy implements CompressionStrategy {
     @Override
     public void compress(String folder) {
-        System.out.println("  📦 Compressing " + folder + " to RAR format");
+        Path source = Path.of(folder);
+        Path target = source.resolveSibling(source.getFileName() + ".tar.gz");
+        try {
+            FolderArchiver.Result result = FolderArchiver.tarGz(source, target, 6,
+                Runtime.getRuntime().availableProcessors());
+            System.out.println("  📦 " + target.getFileName() + ": " + result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
 
 class FileCompressor {
-    private CompressionStrategy strategy;
+    private CompressionStrategy strategy = new TarGzCompressionStrategy();
     
     public void setStrategy(CompressionStrategy strategy) { this.strategy = strategy; }
     
@@ -914,23 +953,7 @@ class FileCompressor {
 // OBSERVER PATTERN IMPLEMENTATIONS
 // ════════════════════════════════════════════════════════════════════════════
 
-interface StockObserver {
-    void update(String stock, double price);
-}
-
-class StockMarket {
-    private List<StockObserver> observers = new ArrayList<>();
-    
-    public void addObserver(StockObserver observer) { observers.add(observer); }
-    public void removeObserver(StockObserver observer) { observers.remove(observer); }
-    
-    public void updateStock(String stock, double price) {
-        System.out.println("📈 " + stock + " is now $" + price);
-        for (StockObserver observer : observers) {
-            observer.update(stock, price);
-        }
-    }
-}
+// StockObserver, StockMarket: see StockObserver.java, StockMarket.java
 
 class InvestorObserver implements StockObserver {
     private String name;
@@ -954,28 +977,7 @@ class NewsAgencyObserver implements StockObserver {
     }
 }
 
-class EventManager {
-    private Map<String, List<java.util.function.Consumer<String>>> listeners = new HashMap<>();
-    
-    public EventManager(String... events) {
-        for (String event : events) {
-            listeners.put(event, new ArrayList<>());
-        }
-    }
-    
-    public void subscribe(String event, java.util.function.Consumer<String> listener) {
-        listeners.get(event).add(listener);
-    }
-    
-    public void notify(String event, String data) {
-        List<java.util.function.Consumer<String>> eventListeners = listeners.get(event);
-        if (eventListeners != null) {
-            for (var listener : eventListeners) {
-                listener.accept(data);
-            }
-        }
-    }
-}
+// EventManager: see EventManager.java
 
 // ════════════════════════════════════════════════════════════════════════════
 // TEMPLATE METHOD PATTERN IMPLEMENTATIONS
@@ -0,0 +1,22 @@
+/**
+ * ============================================
+ * EMAIL NOTIFICATION FACTORY
+ * ============================================
+ *
+ * A concrete factory of the Factory Method example in DesignPatternsDemo,
+ * together with the notification it builds.
+ *
+ * @author Learn Java With Me
+ */
+
+public class EmailNotificationFactory extends NotificationFactory {
+    @Override
+    protected Notification createNotification() { return new EmailNotification(); }
+}
+
+class EmailNotification implements Notification {
+    @Override
+    public void send(String message) {
+        System.out.println("📧 Email: " + message);
+    }
+}
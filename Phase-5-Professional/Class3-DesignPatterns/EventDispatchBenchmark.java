@@ -0,0 +1,119 @@
+/**
+ * ============================================
+ * SYNC vs CONCURRENT EVENT DISPATCH BENCHMARK
+ * ============================================
+ *
+ * Several publisher threads fire "order" events at two fast listeners
+ * and one SLOW listener (about 100 µs per event):
+ *
+ * - EventManager (EventManager.java): every publisher calls every
+ *   listener itself, so the slow one sets the pace for everybody
+ * - ConcurrentEventManager: publishers only enqueue; each listener runs
+ *   on its own thread, the slow one with a bounded DROP_OLDEST queue
+ *
+ * Then the three back-pressure policies are compared for the slow
+ * listener alone.
+ *
+ * How to compile and run:
+ * $ javac *.java                         (uses EventManager.java)
+ * $ java EventDispatchBenchmark           (2,000 events per publisher)
+ * $ java EventDispatchBenchmark 10000     (custom events per publisher)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+public class EventDispatchBenchmark {
+
+    private static final int PUBLISHERS = 4;
+    private static final long SLOW_LISTENER_NANOS = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        int eventsPerPublisher = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     SYNC vs CONCURRENT EVENT DISPATCH BENCHMARK          ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+        System.out.printf("Publishers: %d, events each: %,d, slow listener: %d µs/event%n%n",
+            PUBLISHERS, eventsPerPublisher, SLOW_LISTENER_NANOS / 1000);
+
+        AtomicLong sink = new AtomicLong();
+        Consumer<String> fast = data -> sink.addAndGet(data.length());
+        Consumer<String> slow = data -> LockSupport.parkNanos(SLOW_LISTENER_NANOS);
+
+        System.out.printf("%-30s %16s %14s%n", "Manager", "events/s", "ns/notify");
+        System.out.println("──────────────────────────────────────────────────────────────");
+
+        // The original, synchronous EventManager (subscribed before publishing starts)
+        EventManager sync = new EventManager("order");
+        sync.subscribe("order", fast);
+        sync.subscribe("order", fast);
+        sync.subscribe("order", slow);
+        double syncSeconds = publish(eventsPerPublisher, data -> sync.notify("order", data));
+        printRow("EventManager (sync)", eventsPerPublisher, syncSeconds);
+
+        try (ConcurrentEventManager async = new ConcurrentEventManager("order")) {
+            async.subscribe("order", fast);
+            async.subscribe("order", fast);
+            async.subscribe("order", slow, 256, ConcurrentEventManager.BackPressure.DROP_OLDEST);
+            double asyncSeconds = publish(eventsPerPublisher, data -> async.notify("order", data));
+            printRow("ConcurrentEventManager", eventsPerPublisher, asyncSeconds);
+            Thread.sleep(100);
+            System.out.println("\n  " + async.metrics());
+        }
+
+        System.out.println("\n--- Back-pressure policies (slow listener only, queue of 256) ---");
+        System.out.printf("%-14s %16s %12s %12s%n", "Policy", "events/s", "delivered", "dropped");
+        System.out.println("──────────────────────────────────────────────────────────────");
+        for (ConcurrentEventManager.BackPressure policy : ConcurrentEventManager.BackPressure.values()) {
+            int events = policy == ConcurrentEventManager.BackPressure.BLOCK
+                ? eventsPerPublisher / 4 : eventsPerPublisher;  // BLOCK runs at the listener's pace
+            ConcurrentEventManager manager = new ConcurrentEventManager("order");
+            ConcurrentEventManager.Subscription subscription =
+                manager.subscribe("order", slow, 256, policy);
+            double seconds = publish(events, data -> manager.notify("order", data));
+            manager.close();  // Delivers what is still queued
+            System.out.printf("%-14s %,16.0f %,12d %,12d%n", policy,
+                PUBLISHERS * events / seconds, subscription.delivered(), subscription.dropped());
+        }
+
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    /** Runs PUBLISHERS threads that each publish the given number of events. */
+    private static double publish(int eventsPerPublisher, Consumer<String> notifier)
+            throws InterruptedException {
+        Thread[] publishers = new Thread[PUBLISHERS];
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < PUBLISHERS; p++) {
+            String prefix = "order-" + p + "-";
+            publishers[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < eventsPerPublisher; i++) {
+                    notifier.accept(prefix + i);
+                }
+            });
+            publishers[p].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+        return (System.nanoTime() - begin) / 1e9;
+    }
+
+    private static void printRow(String name, int eventsPerPublisher, double seconds) {
+        long events = (long) PUBLISHERS * eventsPerPublisher;
+        System.out.printf("%-30s %,16.0f %,14.0f%n", name, events / seconds, seconds * 1e9 / events);
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * ============================================
+ * EVENT MANAGER (OBSERVER)
+ * ============================================
+ *
+ * The Observer example from DesignPatternsDemo, in its own file so the
+ * benchmarks can use it too. Listeners are called one after the other on
+ * the publisher's thread.
+ *
+ * Event names are dot-separated topics; subscriptions may use wildcards:
+ * "orders.*.created" (one segment) or "orders.#" (everything below), see
+ * TopicRouter.java.
+ *
+ * Single-threaded; see ConcurrentEventManager.java for a thread-safe,
+ * asynchronous version.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.function.Consumer;
+
+public class EventManager {
+    private TopicRouter<Consumer<String>> listeners = new TopicRouter<>();
+
+    public EventManager(String... events) {
+        // Events no longer need registering up front; kept for the old call style
+    }
+
+    public void subscribe(String event, Consumer<String> listener) {
+        listeners.subscribe(event, listener);
+    }
+
+    public void notify(String event, String data) {
+        for (var listener : listeners.route(event)) {
+            listener.accept(data);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * ============================================
+ * FACTORY vs FLYWEIGHT ALLOCATION BENCHMARK
+ * ============================================
+ *
+ * Calls the factories from DesignPatternsDemo millions of times and
+ * measures time and bytes allocated per call:
+ *
+ * - ShapeFactory.createShape("Circle")   new object every call
+ * - ShapeFactory.sharedShape("Circle")   shared instance (string lookup)
+ * - ShapeFactory.sharedShape(Type)       shared instance (enum key)
+ * - NotificationFactory new vs shared notification per message
+ *
+ * The results are stored in a field, so the JIT cannot skip creating
+ * the objects. Allocation is measured with the JVM's per-thread counter.
+ *
+ * How to compile and run:
+ * $ javac *.java                         (uses ShapeFactory and NotificationFactory)
+ * $ java FlyweightBenchmark               (10,000,000 calls)
+ * $ java FlyweightBenchmark 1000000       (custom number of calls)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.lang.management.ManagementFactory;
+
+public class FlyweightBenchmark {
+
+    private static final String[] NAMES = {"Circle", "rectangle", "triangle", "circle"};
+
+    static volatile Object sink;  // Makes every result "escape"
+
+    public static void main(String[] args) {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     FACTORY vs FLYWEIGHT ALLOCATION BENCHMARK            ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+        System.out.printf("Calls per run: %,d%n%n", calls);
+
+        ShapeFactory.Type[] types = ShapeFactory.Type.values();
+        NotificationFactory emailFactory = new EmailNotificationFactory();
+
+        System.out.printf("%-34s %10s %12s %14s%n", "Call", "ns/call", "bytes/call", "MB allocated");
+        System.out.println("──────────────────────────────────────────────────────────────────────");
+        for (int round = 0; round < 2; round++) {  // First round warms up the JIT
+            boolean print = round == 1;
+            measure(print, "createShape(String)", calls, i -> sink = ShapeFactory.createShape(NAMES[i & 3]));
+            measure(print, "sharedShape(String)", calls, i -> sink = ShapeFactory.sharedShape(NAMES[i & 3]));
+            measure(print, "sharedShape(Type)", calls, i -> sink = ShapeFactory.sharedShape(types[i % 3]));
+            measure(print, "newNotification()", calls, i -> sink = emailFactory.newNotification());
+            measure(print, "sharedNotification()", calls, i -> sink = emailFactory.sharedNotification());
+        }
+
+        System.out.println("\nObjects created per type:");
+        for (ShapeFactory.Type type : types) {
+            System.out.printf("  %-10s %,d%n", type, ShapeFactory.creationCount(type));
+        }
+        System.out.printf("  %-10s %,d%n", "EMAIL", emailFactory.creationCount());
+
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    private static void measure(boolean print, String name, int calls, java.util.function.IntConsumer call) {
+        com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            call.accept(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        if (print) {
+            System.out.printf("%-34s %10.1f %12.1f %14.1f%n", name, (double) elapsed / calls,
+                (double) allocated / calls, allocated / 1e6);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/**
+ * ============================================
+ * FOLDER → .tar.gz ARCHIVER
+ * ============================================
+ *
+ * gzip compresses ONE stream of bytes, so a folder is first turned into
+ * a tar stream (what "tar czf docs.tar.gz docs" does):
+ *
+ *   ┌────────────┬──────────────────┬────────────┬─────────┬───────────┐
+ *   │ header 512 │ file data padded │ header 512 │ data... │ 2 × zeros │
+ *   │ docs/a.txt │ to 512 bytes     │ docs/b.log │         │ (the end) │
+ *   └────────────┴──────────────────┴────────────┴─────────┴───────────┘
+ *
+ * The tar stream goes straight into a ParallelGzipOutputStream, so the
+ * folder is read, archived and compressed on all cores in one pass with
+ * no temporary files.
+ *
+ * Headers use the POSIX ustar layout. Names longer than 100 characters
+ * and files over 8 GB get a PAX extended header before them, which every
+ * current tar (GNU, BSD, Python's tarfile) understands. Only directories
+ * and regular files are archived; symbolic links are skipped.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public final class FolderArchiver {
+
+    private static final int RECORD = 512;
+    private static final long MAX_USTAR_SIZE = 077777777777L;  // 11 octal digits, 8 GB - 1
+
+    /** What tarGz() wrote. */
+    public static final class Result {
+        public final long files;
+        public final long rawBytes;         // Size of the tar stream
+        public final long compressedBytes;
+        public final long nanos;
+
+        Result(long files, long rawBytes, long compressedBytes, long nanos) {
+            this.files = files;
+            this.rawBytes = rawBytes;
+            this.compressedBytes = compressedBytes;
+            this.nanos = nanos;
+        }
+
+        public double megabytesPerSecond() {
+            return rawBytes / 1e6 / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d files, %,d → %,d bytes, %.0f MB/s", files, rawBytes, compressedBytes,
+                megabytesPerSecond());
+        }
+    }
+
+    private FolderArchiver() {
+    }
+
+    /** Writes folder as target (e.g. "docs.tar.gz"), compressed on the given number of threads. */
+    public static Result tarGz(Path folder, Path target, int level, int threads) throws IOException {
+        long start = System.nanoTime();
+        ParallelGzipOutputStream gzip = new ParallelGzipOutputStream(Files.newOutputStream(target), level, threads);
+        long files;
+        try (gzip) {
+            files = writeTar(folder, gzip);
+        }
+        return new Result(files, gzip.rawBytes(), gzip.compressedBytes(), System.nanoTime() - start);
+    }
+
+    /** Writes folder and everything below it as a tar stream; returns the number of files. */
+    public static long writeTar(Path folder, OutputStream out) throws IOException {
+        Path base = folder.toAbsolutePath().normalize();
+        Path parent = base.getParent() != null ? base.getParent() : base;
+        byte[] header = new byte[RECORD];
+        byte[] buffer = new byte[64 * 1024];
+        long files = 0;
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(base)) {
+            paths = walk.sorted().collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class,
+                LinkOption.NOFOLLOW_LINKS);
+            String name = tarName(parent.relativize(path));
+            long mtime = attributes.lastModifiedTime().toMillis() / 1000;
+            if (attributes.isDirectory()) {
+                writeHeader(out, header, name + "/", '5', 0755, 0, mtime);
+            } else if (attributes.isRegularFile()) {
+                int mode = Files.isExecutable(path) ? 0755 : 0644;
+                writeHeader(out, header, name, '0', mode, attributes.size(), mtime);
+                copy(path, attributes.size(), out, buffer);
+                pad(out, attributes.size());
+                files++;
+            }
+        }
+        out.write(new byte[2 * RECORD]);  // End of archive
+        return files;
+    }
+
+    private static String tarName(Path relative) {
+        StringJoiner name = new StringJoiner("/");
+        for (Path part : relative) {
+            name.add(part.toString());
+        }
+        return name.toString();
+    }
+
+    /** Copies exactly size bytes: the header already promised that many. */
+    private static void copy(Path path, long size, OutputStream out, byte[] buffer) throws IOException {
+        long remaining = size;
+        try (InputStream in = Files.newInputStream(path)) {
+            int n;
+            while (remaining > 0 && (n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining))) > 0) {
+                out.write(buffer, 0, n);
+                remaining -= n;
+            }
+        }
+        if (remaining > 0) {
+            throw new IOException(path + " got shorter while it was archived");
+        }
+    }
+
+    private static void pad(OutputStream out, long length) throws IOException {
+        int rest = (int) (length % RECORD);
+        if (rest != 0) {
+            out.write(new byte[RECORD - rest]);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Headers
+    // ─────────────────────────────────────────────
+
+    private static void writeHeader(OutputStream out, byte[] header, String name, char type, int mode, long size,
+                                    long mtime) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        boolean longName = nameBytes.length > 100;
+        boolean bigFile = size > MAX_USTAR_SIZE;
+        if (longName || bigFile) {
+            StringBuilder records = new StringBuilder();
+            if (longName) {
+                records.append(paxRecord("path", name));
+            }
+            if (bigFile) {
+                records.append(paxRecord("size", Long.toString(size)));
+            }
+            byte[] pax = records.toString().getBytes(StandardCharsets.UTF_8);
+            fillHeader(header, "PaxHeaders/" + shortName(name), 'x', 0644, pax.length, mtime);
+            out.write(header);
+            out.write(pax);
+            pad(out, pax.length);
+        }
+        fillHeader(header, longName ? shortName(name) : name, type, mode, bigFile ? 0 : size, mtime);
+        out.write(header);
+    }
+
+    /** The ustar header fields; numbers are octal text ending in NUL. */
+    private static void fillHeader(byte[] header, String name, char type, int mode, long size, long mtime) {
+        Arrays.fill(header, (byte) 0);
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(nameBytes, 0, header, 0, Math.min(nameBytes.length, 100));
+        octal(header, 100, 8, mode);
+        octal(header, 108, 8, 0);        // uid
+        octal(header, 116, 8, 0);        // gid
+        octal(header, 124, 12, size);
+        octal(header, 136, 12, mtime);
+        header[156] = (byte) type;
+        System.arraycopy("ustar\0".getBytes(StandardCharsets.US_ASCII), 0, header, 257, 6);
+        header[263] = '0';
+        header[264] = '0';
+
+        // Checksum: sum of all header bytes, with the checksum field itself counted as spaces
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        long sum = 0;
+        for (byte b : header) {
+            sum += b & 0xff;
+        }
+        octal(header, 148, 7, sum);
+    }
+
+    private static void octal(byte[] header, int offset, int width, long value) {
+        String digits = Long.toOctalString(value);
+        int pad = width - 1 - digits.length();
+        for (int i = 0; i < width - 1; i++) {
+            header[offset + i] = (byte) (i < pad ? '0' : digits.charAt(i - pad));
+        }
+        header[offset + width - 1] = 0;
+    }
+
+    /** "LEN key=value\n", where LEN counts the whole record including its own digits. */
+    private static String paxRecord(String key, String value) {
+        int rest = 1 + key.length() + 1 + value.getBytes(StandardCharsets.UTF_8).length + 1;
+        int length = rest + Integer.toString(rest).length();
+        if (Integer.toString(length).length() != Integer.toString(rest).length()) {
+            length++;  // Adding the digits made the number one digit longer
+        }
+        return length + " " + key + "=" + value + "\n";
+    }
+
+    /** The end of a long name, for tars that ignore PAX headers (cut to 100 bytes by fillHeader). */
+    private static String shortName(String name) {
+        return name.substring(Math.max(0, name.length() - 90));
+    }
+}
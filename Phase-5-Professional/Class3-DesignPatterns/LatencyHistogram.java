@@ -0,0 +1,62 @@
+/**
+ * ============================================
+ * LOCK-FREE LATENCY HISTOGRAM
+ * ============================================
+ *
+ * Counts latencies in power-of-two buckets: bucket i holds values below
+ * 2^i nanoseconds. Recording is one atomic increment, so many threads
+ * can record at once, and memory use is fixed (64 counters) no matter
+ * how many values are recorded. Percentiles are therefore upper bounds
+ * ("p99 <= 65,536 ns"), never above the largest value recorded, which
+ * is plenty to compare designs.
+ *
+ * Used by ConcurrentEventManager and ConflatingStockPublisher.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram {
+
+    private final AtomicLongArray buckets = new AtomicLongArray(64);
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(Math.max(nanos, 1)));
+        if (nanos > max.get()) {
+            max.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < 64; i++) {
+            total += buckets.get(i);
+        }
+        return total;
+    }
+
+    /** Upper bound of the bucket holding the given percentile (0 if empty). */
+    public long percentile(double percent) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * percent / 100.0);
+        long seen = 0;
+        for (int i = 0; i < 64; i++) {
+            seen += buckets.get(i);
+            if (seen >= target) {
+                return Math.min(max.get(), i >= 63 ? Long.MAX_VALUE : 1L << i);
+            }
+        }
+        return max.get();
+    }
+
+    /** Largest value recorded (0 if empty). */
+    public long max() {
+        return max.get();
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * ============================================
+ * SINGLETON LOGGER
+ * ============================================
+ *
+ * The Singleton example from DesignPatternsDemo, in its own file so the
+ * benchmarks can use it too. There is exactly one Logger, created lazily
+ * with double-checked locking on a volatile field.
+ *
+ * - Synchronous mode: log() formats the entry, keeps it in a small ring
+ *   of recent entries and, if enabled, appends it to RollingLogStorage.
+ * - Async mode: log() only hands the entry to an AsyncLogAppender, whose
+ *   background thread formats and writes it.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.*;
+
+public class Logger {
+    private static volatile Logger instance;
+    private static final int RECENT_CAPACITY = 100;
+
+    // Only the last RECENT_CAPACITY entries stay in memory (a ring); the
+    // full history goes to a RollingLogStorage, so memory use is constant.
+    private final String[] recent = new String[RECENT_CAPACITY];
+    private long logCount;
+    private volatile RollingLogStorage storage;       // null = no file storage
+    private volatile AsyncLogAppender asyncAppender;  // null = synchronous mode
+    private long asyncLogCount;                       // Entries from earlier async sessions
+
+    private Logger() {
+        System.out.println("Logger instance created");
+    }
+
+    public static Logger getInstance() {
+        if (instance == null) {
+            synchronized (Logger.class) {
+                if (instance == null) {
+                    instance = new Logger();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Async mode: log() only hands the entry to a background thread that
+     * formats and writes it to the file (see AsyncLogAppender.java).
+     */
+    public synchronized void enableAsync(java.nio.file.Path file) throws java.io.IOException {
+        if (asyncAppender == null) {
+            asyncAppender = new AsyncLogAppender(file);
+        }
+    }
+
+    /** Async mode with a compressed log file, e.g. BlockCodec.gzip(6) or BlockCodec.lz(). */
+    public synchronized void enableAsync(java.nio.file.Path file, BlockCodec codec) throws java.io.IOException {
+        if (asyncAppender == null) {
+            asyncAppender = new AsyncLogAppender(file, 8192, false, codec,
+                Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    /** Back to synchronous mode; waits until every async entry is written. */
+    public synchronized void disableAsync() {
+        if (asyncAppender != null) {
+            asyncAppender.close();
+            asyncLogCount += asyncAppender.appendedCount();
+            asyncAppender = null;
+        }
+    }
+
+    /** Also write every entry to rolling segment files in the given directory. */
+    public synchronized void enableRollingStorage(java.nio.file.Path directory, int segmentBytes,
+                                                  long maxAgeMillis, boolean gzipClosedSegments)
+            throws java.io.IOException {
+        if (storage == null) {
+            storage = new RollingLogStorage(directory, "app", segmentBytes, maxAgeMillis,
+                gzipClosedSegments, 0);
+        }
+    }
+
+    public synchronized void disableRollingStorage() throws java.io.IOException {
+        if (storage != null) {
+            storage.close();
+            storage = null;
+        }
+    }
+
+    public void log(String level, String message) {
+        AsyncLogAppender async = asyncAppender;
+        if (async != null) {
+            async.append(level, message);
+            return;
+        }
+        String entry = String.format("[%s] %s: %s",
+            java.time.LocalTime.now().toString().substring(0, 8), level, message);
+        synchronized (this) {
+            recent[(int) (logCount % RECENT_CAPACITY)] = entry;
+            logCount++;
+            if (storage != null) {
+                try {
+                    storage.append(entry);
+                } catch (java.io.IOException e) {
+                    System.err.println("Logger: could not write log file: " + e.getMessage());
+                }
+            }
+        }
+        System.out.println(entry);
+    }
+
+    /** Template with "{}" placeholders, e.g. log("INFO", "User {} logged in", name). */
+    public void log(String level, String template, Object arg) {
+        AsyncLogAppender async = asyncAppender;
+        if (async != null) {
+            async.append(level, template, arg);
+        } else {
+            log(level, template.replaceFirst("\\{}", java.util.regex.Matcher.quoteReplacement(String.valueOf(arg))));
+        }
+    }
+
+    public synchronized int getLogCount() {
+        AsyncLogAppender async = asyncAppender;
+        long asyncCount = asyncLogCount + (async != null ? async.appendedCount() : 0);
+        return (int) (logCount + asyncCount);
+    }
+
+    /** The last n synchronous entries (at most RECENT_CAPACITY), oldest first. */
+    public synchronized List<String> getRecentLogs(int n) {
+        int available = (int) Math.min(Math.min(n, RECENT_CAPACITY), logCount);
+        List<String> result = new ArrayList<>(available);
+        for (long i = logCount - available; i < logCount; i++) {
+            result.add(recent[(int) (i % RECENT_CAPACITY)]);
+        }
+        return result;
+    }
+}
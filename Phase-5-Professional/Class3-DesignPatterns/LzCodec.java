@@ -0,0 +1,237 @@
+/**
+ * ============================================
+ * FAST LZ BLOCK CODEC (pure Java, LZ4-style)
+ * ============================================
+ *
+ * LZ77 replaces text that appeared before with a (distance, length)
+ * reference to the earlier copy. Deflate then Huffman-codes the result;
+ * this codec skips that step, which makes it several times faster at the
+ * cost of a lower ratio. The output is a list of SEQUENCES:
+ *
+ *   ┌───────┬────────────┬──────────┬────────┬────────────┐
+ *   │ token │ more lit.  │ literals │ offset │ more match │
+ *   │ 4 │ 4 │ length     │ (copied) │ 2 bytes│ length     │
+ *   └───────┴────────────┴──────────┴────────┴────────────┘
+ *    high nibble: literal count, low nibble: match length - 4
+ *    (15 means "more length bytes follow", each adding up to 255)
+ *
+ * Matches are found with a hash table of 4-byte prefixes: the position
+ * where each prefix was last seen. One lookup per position, no search
+ * chains - that is what makes it fast. The last sequence has literals
+ * only.
+ *
+ * The layout follows the LZ4 block format, but the stream framing around
+ * the blocks is CompressedBlockStream's, not LZ4's.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.zip.ZipException;
+
+public final class LzCodec implements BlockCodec {
+
+    static final LzCodec INSTANCE = new LzCodec();
+
+    private static final int MIN_MATCH = 4;
+    private static final int MAX_OFFSET = 65_535;
+    private static final int HASH_LOG = 14;
+    private static final int LAST_LITERALS = 5;   // A block always ends with literals
+    private static final int MATCH_START_LIMIT = 12;
+    private static final int SKIP_SHIFT = 6;      // Step faster through data that does not compress
+
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // Stale entries from earlier blocks are harmless: every candidate is checked
+    private static final ThreadLocal<int[]> TABLE = ThreadLocal.withInitial(() -> new int[1 << HASH_LOG]);
+
+    private LzCodec() {
+    }
+
+    @Override
+    public String name() {
+        return "LZ";
+    }
+
+    @Override
+    public byte id() {
+        return LZ_ID;
+    }
+
+    @Override
+    public String extension() {
+        return ".lz";
+    }
+
+    @Override
+    public int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    // ─────────────────────────────────────────────
+    // Compression
+    // ─────────────────────────────────────────────
+
+    @Override
+    public int compress(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) {
+        int[] table = TABLE.get();
+        int end = srcOffset + length;
+        int matchLimit = end - LAST_LITERALS;
+        int anchor = srcOffset;   // Start of the literals not written yet
+        int op = dstOffset;
+
+        if (length >= MATCH_START_LIMIT + 1) {
+            int lastStart = end - MATCH_START_LIMIT;
+            int ip = srcOffset;
+            while (ip < lastStart) {
+                int sequence = (int) INT.get(src, ip);
+                int slot = hash(sequence);
+                int ref = table[slot];
+                table[slot] = ip;
+                if (ref < srcOffset || ref >= ip || ip - ref > MAX_OFFSET || (int) INT.get(src, ref) != sequence) {
+                    ip += 1 + ((ip - anchor) >>> SKIP_SHIFT);
+                    continue;
+                }
+
+                // Grow the match backwards over equal literals, then forwards
+                while (ip > anchor && ref > srcOffset && src[ip - 1] == src[ref - 1]) {
+                    ip--;
+                    ref--;
+                }
+                int matchLength = MIN_MATCH + commonLength(src, ip + MIN_MATCH, ref + MIN_MATCH, matchLimit);
+
+                op = writeSequence(src, anchor, ip - anchor, ip - ref, matchLength, dst, op);
+                ip += matchLength;
+                anchor = ip;
+                if (ip - 2 < lastStart) {
+                    table[hash((int) INT.get(src, ip - 2))] = ip - 2;  // Helps the next match
+                }
+            }
+        }
+
+        // Last literals
+        int literals = end - anchor;
+        int token = op++;
+        dst[token] = (byte) (Math.min(literals, 15) << 4);
+        op = writeLength(dst, op, literals);
+        System.arraycopy(src, anchor, dst, op, literals);
+        return op + literals - dstOffset;
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+
+    /** How many bytes from a and b are equal, without reading at or past limit. */
+    private static int commonLength(byte[] src, int a, int b, int limit) {
+        int start = a;
+        while (a + 8 <= limit) {
+            long diff = (long) LONG.get(src, a) ^ (long) LONG.get(src, b);
+            if (diff != 0) {
+                return a - start + (Long.numberOfTrailingZeros(diff) >>> 3);
+            }
+            a += 8;
+            b += 8;
+        }
+        while (a < limit && src[a] == src[b]) {
+            a++;
+            b++;
+        }
+        return a - start;
+    }
+
+    private static int writeSequence(byte[] src, int literalStart, int literals, int offset, int matchLength,
+                                     byte[] dst, int op) {
+        int token = op++;
+        int extraMatch = matchLength - MIN_MATCH;
+        dst[token] = (byte) (Math.min(literals, 15) << 4 | Math.min(extraMatch, 15));
+        op = writeLength(dst, op, literals);
+        System.arraycopy(src, literalStart, dst, op, literals);
+        op += literals;
+        dst[op++] = (byte) offset;
+        dst[op++] = (byte) (offset >>> 8);
+        return writeLength(dst, op, extraMatch);
+    }
+
+    /** Lengths of 15 and more continue in extra bytes after the token. */
+    private static int writeLength(byte[] dst, int op, int length) {
+        if (length >= 15) {
+            int rest = length - 15;
+            while (rest >= 255) {
+                dst[op++] = (byte) 255;
+                rest -= 255;
+            }
+            dst[op++] = (byte) rest;
+        }
+        return op;
+    }
+
+    // ─────────────────────────────────────────────
+    // Decompression
+    // ─────────────────────────────────────────────
+
+    @Override
+    public void decompress(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset, int originalLength)
+            throws IOException {
+        int ip = srcOffset;
+        int end = srcOffset + length;
+        int op = dstOffset;
+        int outEnd = dstOffset + originalLength;
+        try {
+            while (ip < end) {
+                int token = src[ip++] & 0xff;
+                int literals = token >>> 4;
+                if (literals == 15) {
+                    int b;
+                    do {
+                        b = src[ip++] & 0xff;
+                        literals += b;
+                    } while (b == 255);
+                }
+                if (literals > outEnd - op || literals > end - ip) {
+                    throw new ZipException("Corrupt LZ block: literals run past the end");
+                }
+                System.arraycopy(src, ip, dst, op, literals);
+                ip += literals;
+                op += literals;
+                if (ip == end) {
+                    break;  // The last sequence has no match
+                }
+
+                int offset = (src[ip] & 0xff) | (src[ip + 1] & 0xff) << 8;
+                ip += 2;
+                int matchLength = token & 15;
+                if (matchLength == 15) {
+                    int b;
+                    do {
+                        b = src[ip++] & 0xff;
+                        matchLength += b;
+                    } while (b == 255);
+                }
+                matchLength += MIN_MATCH;
+                int ref = op - offset;
+                if (offset == 0 || ref < dstOffset || matchLength > outEnd - op) {
+                    throw new ZipException("Corrupt LZ block: bad match at output byte " + (op - dstOffset));
+                }
+                if (offset >= matchLength) {
+                    System.arraycopy(dst, ref, dst, op, matchLength);
+                } else {
+                    // Overlapping copy: "abcabcabc" is "abc" plus a match 3 back, 6 long
+                    for (int i = 0; i < matchLength; i++) {
+                        dst[op + i] = dst[ref + i];
+                    }
+                }
+                op += matchLength;
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new ZipException("Corrupt LZ block: truncated");
+        }
+        if (op != outEnd) {
+            throw new ZipException("Corrupt LZ block: " + (op - dstOffset) + " bytes, expected " + originalLength);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+/**
+ * ============================================
+ * NOTIFICATION (FACTORY METHOD PRODUCT)
+ * ============================================
+ *
+ * What a NotificationFactory creates in the Factory Method example of
+ * DesignPatternsDemo. Each concrete notification lives next to its own
+ * factory (EmailNotificationFactory.java, SMSNotificationFactory.java).
+ *
+ * @author Learn Java With Me
+ */
+
+public interface Notification {
+    void send(String message);
+}
@@ -0,0 +1,49 @@
+/**
+ * ============================================
+ * NOTIFICATION FACTORY (FACTORY METHOD + FLYWEIGHT)
+ * ============================================
+ *
+ * The Factory Method example from DesignPatternsDemo, in its own file so
+ * the benchmarks can use it too. Subclasses only implement the
+ * createNotification() hook; callers go through newNotification() or
+ * sharedNotification(), so every object created is counted.
+ *
+ * Notifications keep no per-message state, so every message can go
+ * through one shared instance (Flyweight) instead of a new object.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.concurrent.atomic.LongAdder;
+
+public abstract class NotificationFactory {
+    private volatile Notification shared;
+    private final LongAdder created = new LongAdder();
+
+    /** The factory method: subclasses decide which Notification to build. */
+    protected abstract Notification createNotification();
+
+    /** A new notification, counted in creationCount(). */
+    public Notification newNotification() {
+        created.increment();
+        return createNotification();
+    }
+
+    /** The shared instance, created on first use. */
+    public Notification sharedNotification() {
+        Notification notification = shared;
+        if (notification == null) {
+            synchronized (this) {
+                notification = shared;
+                if (notification == null) {
+                    shared = notification = newNotification();
+                }
+            }
+        }
+        return notification;
+    }
+
+    public long creationCount() {
+        return created.sum();
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * ============================================
+ * PARALLEL GZIP (pigz-style) SCALING BENCHMARK
+ * ============================================
+ *
+ * Creates a folder of log files, then archives it as .tar.gz with:
+ *
+ * - GZIPOutputStream                       (one thread, the usual way)
+ * - ParallelGzipOutputStream, 1/2/4/8 threads
+ * - 8 threads without dictionary chaining   (independent blocks, pigz -i)
+ *
+ * and reports MB/s of tar data, the speedup over GZIPOutputStream and
+ * the compressed size. Every archive is read back with GZIPInputStream
+ * and must give exactly the same tar bytes. Speedup needs real cores: on a
+ * machine with fewer cores than threads the extra threads only wait.
+ *
+ * Before timing anything, a small folder is archived at levels 1, 6 and 9,
+ * with and without dictionary chaining, and each archive is checked the
+ * same way.
+ *
+ * How to compile and run:
+ * $ javac *.java                         (uses FolderArchiver and CompressedBlockStream)
+ * $ java ParallelGzipBenchmark            (64 MB of logs)
+ * $ java ParallelGzipBenchmark 1024       (custom size in MB)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+import java.util.zip.*;
+
+public class ParallelGzipBenchmark {
+
+    private static final int FILE_BYTES = 1024 * 1024;
+    private static final int LEVEL = 6;
+
+    public static void main(String[] args) throws IOException {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     PARALLEL GZIP (pigz-style) SCALING BENCHMARK         ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+
+        Path root = Files.createTempDirectory("pigz");
+        Path archive = root.resolve("logs.tar.gz");
+        checkLevels(createFolder(root.resolve("check"), 4), archive);
+
+        Path folder = createFolder(root.resolve("logs"), megabytes);
+        CRC32 crc = new CRC32();
+        CountingStream counter = new CountingStream();
+        try (CheckedOutputStream tar = new CheckedOutputStream(counter, crc)) {
+            FolderArchiver.writeTar(folder, tar);
+        }
+        long tarBytes = counter.count;
+        long expected = crc.getValue();
+        System.out.printf("Folder: %d files, tar stream %,d bytes, level %d, cores available: %d%n%n",
+            megabytes, tarBytes, LEVEL, Runtime.getRuntime().availableProcessors());
+
+        System.out.printf("%-34s %10s %10s %14s%n", "Compressor", "MB/s", "speedup", "archive bytes");
+        System.out.println("──────────────────────────────────────────────────────────────────────");
+        for (int round = 0; round < 2; round++) {  // First round warms up the JIT and page cache
+            boolean print = round == 1;
+            double baseline = measure(print, "GZIPOutputStream", 0, folder, archive, tarBytes, expected,
+                out -> new GZIPOutputStream(out, 64 * 1024));
+            for (int threads : new int[] {1, 2, 4, 8}) {
+                ExecutorService pool = threads > 1 ? CompressedBlockStream.newPool(threads) : null;
+                measure(print, "ParallelGzip, " + threads + " thr", baseline, folder, archive, tarBytes, expected,
+                    out -> new ParallelGzipOutputStream(out, LEVEL, ParallelGzipOutputStream.DEFAULT_BLOCK_BYTES,
+                        true, pool));
+                if (threads == 8) {
+                    measure(print, "ParallelGzip, 8 thr, no dictionary", baseline, folder, archive, tarBytes,
+                        expected, out -> new ParallelGzipOutputStream(out, LEVEL,
+                            ParallelGzipOutputStream.DEFAULT_BLOCK_BYTES, false, pool));
+                }
+                if (pool != null) {
+                    pool.shutdown();
+                }
+            }
+        }
+        System.out.println("\nEvery archive unpacks with GZIPInputStream to the same tar stream ✓");
+
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    /** Round trip at several levels, with and without chaining, on a shared pool. */
+    private static void checkLevels(Path folder, Path archive) throws IOException {
+        CRC32 crc = new CRC32();
+        CountingStream counter = new CountingStream();
+        try (CheckedOutputStream tar = new CheckedOutputStream(counter, crc)) {
+            FolderArchiver.writeTar(folder, tar);
+        }
+        ExecutorService pool = CompressedBlockStream.newPool(2);
+        try {
+            for (int level : new int[] {1, 6, 9}) {
+                for (boolean chain : new boolean[] {true, false}) {
+                    measure(false, "level " + level + (chain ? "" : ", no dictionary"), 0, folder, archive,
+                        counter.count, crc.getValue(), out -> new ParallelGzipOutputStream(out, level,
+                            ParallelGzipOutputStream.DEFAULT_BLOCK_BYTES, chain, pool));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("Levels 1, 6 and 9, with and without dictionaries, unpack correctly ✓\n");
+    }
+
+    interface Gzip {
+        OutputStream wrap(OutputStream out) throws IOException;
+    }
+
+    /** Archives the folder, checks the result and returns the seconds it took. */
+    private static double measure(boolean print, String name, double baselineSeconds, Path folder, Path archive,
+                                  long tarBytes, long expected, Gzip gzip) throws IOException {
+        long start = System.nanoTime();
+        try (OutputStream out = gzip.wrap(Files.newOutputStream(archive))) {
+            FolderArchiver.writeTar(folder, out);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        verify(name, archive, tarBytes, expected);
+        if (print) {
+            String speedup = String.format("%.1fx", baselineSeconds > 0 ? baselineSeconds / seconds : 1.0);
+            System.out.printf("%-34s %10.0f %10s %,14d%n", name, tarBytes / 1e6 / seconds, speedup,
+                Files.size(archive));
+        }
+        return seconds;
+    }
+
+    /** Unpacks with the JDK's own gzip reader and compares length and CRC32. */
+    private static void verify(String name, Path archive, long tarBytes, long expected) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(archive), 64 * 1024)) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                crc.update(buffer, 0, n);
+                total += n;
+            }
+        }
+        if (total != tarBytes || crc.getValue() != expected) {
+            throw new IllegalStateException(name + " wrote an archive that unpacks differently");
+        }
+    }
+
+    private static final class CountingStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int offset, int length) {
+            count += length;
+        }
+    }
+
+    /** One 1 MB log file per megabyte. */
+    private static Path createFolder(Path folder, int files) throws IOException {
+        Files.createDirectories(folder);
+        Random random = new Random(7);
+        String[] levels = {"INFO", "INFO", "INFO", "WARN", "DEBUG", "ERROR"};
+        for (int f = 0; f < files; f++) {
+            StringBuilder text = new StringBuilder(FILE_BYTES + 100);
+            long millis = f * 3_600_000L;
+            while (text.length() < FILE_BYTES) {
+                millis += random.nextInt(40);
+                text.append(millis).append(' ').append(levels[random.nextInt(levels.length)])
+                    .append(" [worker-").append(random.nextInt(16)).append("] request ")
+                    .append(Long.toHexString(random.nextLong())).append(" took ").append(random.nextInt(900))
+                    .append(" ms, status ").append(random.nextInt(10) == 0 ? 500 : 200).append('\n');
+            }
+            Files.write(folder.resolve(String.format("app-%04d.log", f)),
+                text.toString().getBytes(StandardCharsets.US_ASCII));
+        }
+        return folder;
+    }
+}
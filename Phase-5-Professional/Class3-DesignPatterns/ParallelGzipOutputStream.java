@@ -0,0 +1,260 @@
+/**
+ * ============================================
+ * PARALLEL GZIP OUTPUT STREAM (pigz-style)
+ * ============================================
+ *
+ * Writes ONE ordinary gzip stream, but compresses it on all cores, the
+ * way the pigz tool does:
+ *
+ *   input    [ block 0 ][ block 1 ][ block 2 ] ...   128 KB each
+ *                  ╲ last 32 KB ╲ last 32 KB
+ *                   ▼            ▼
+ *   threads  deflate(0)  deflate(1, dict)  deflate(2, dict)   in parallel
+ *   output   header [ d0 ][ d1 ][ d2 ] ... CRC32 length
+ *
+ * - Each block is compressed by its own Deflater, so blocks do not wait
+ *   for each other. Deflate may refer back up to 32 KB, so every block
+ *   gets the last 32 KB of the block before it as a preset DICTIONARY:
+ *   matches that cross a block boundary are still found and the ratio
+ *   is almost that of single-threaded gzip.
+ * - Every block but the last ends with a SYNC_FLUSH, which pads the
+ *   output to a whole byte. The pieces can then simply be written one
+ *   after the other and form a single valid deflate stream.
+ * - The CRC32 of the whole input is updated as blocks are written out.
+ *
+ * gunzip, tar and GZIPInputStream read the result like any .gz file.
+ * CompressedBlockStream's GZIP codec instead writes one gzip member per
+ * block with no dictionary, which is simpler but compresses less.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.zip.*;
+
+public class ParallelGzipOutputStream extends OutputStream {
+
+    public static final int DEFAULT_BLOCK_BYTES = 128 * 1024;
+    private static final int DICTIONARY_BYTES = 32 * 1024;  // The deflate window
+    private static final byte[] HEADER = {
+        0x1f, (byte) 0x8b, 8, 0,  // Magic, method deflate, no flags
+        0, 0, 0, 0,               // No modification time
+        0, (byte) 0xff            // No extra flags, unknown OS
+    };
+    // One Deflater per thread AND level: reset() keeps the level a Deflater was
+    // made with, and changing it with setLevel() only applies after the next
+    // deflate() call, so a reused Deflater must already have the right level.
+    private static final List<ThreadLocal<Deflater>> DEFLATERS = deflaters();
+
+    private final OutputStream out;
+    private final int level;
+    private final int blockSize;
+    private final boolean chainDictionaries;
+    private final ExecutorService pool;   // null = compress on the writing thread
+    private final boolean ownsPool;
+    private final int maxInFlight;
+    private final ArrayDeque<Future<Block>> inFlight = new ArrayDeque<>();
+    private final ArrayDeque<Block> free = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+    private Block current;
+    private long rawBytes;
+    private long compressedBytes;
+    private boolean closed;
+
+    /** Compresses with its own pool of the given size (1 = on the writing thread). */
+    public ParallelGzipOutputStream(OutputStream out, int level, int threads) throws IOException {
+        this(out, level, DEFAULT_BLOCK_BYTES, true, threads > 1 ? CompressedBlockStream.newPool(threads) : null,
+            true);
+    }
+
+    /**
+     * @param chainDictionaries false: blocks are fully independent (pigz -i), slightly larger output
+     * @param pool              shared compression threads (null = the writing thread)
+     */
+    public ParallelGzipOutputStream(OutputStream out, int level, int blockSize, boolean chainDictionaries,
+                                    ExecutorService pool) throws IOException {
+        this(out, level, blockSize, chainDictionaries, pool, false);
+    }
+
+    private ParallelGzipOutputStream(OutputStream out, int level, int blockSize, boolean chainDictionaries,
+                                     ExecutorService pool, boolean ownsPool) throws IOException {
+        if (level < 1 || level > 9) {
+            throw new IllegalArgumentException("Level must be 1-9: " + level);
+        }
+        if (blockSize < DICTIONARY_BYTES) {
+            throw new IllegalArgumentException("Block size must be at least 32 KB: " + blockSize);
+        }
+        this.out = new BufferedOutputStream(out, 64 * 1024);
+        this.level = level;
+        this.blockSize = blockSize;
+        this.chainDictionaries = chainDictionaries;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.maxInFlight = 2 * Runtime.getRuntime().availableProcessors();
+        this.current = new Block();
+        this.out.write(HEADER);
+        compressedBytes = HEADER.length;
+    }
+
+    /** Index = level; index 0 is unused. */
+    private static List<ThreadLocal<Deflater>> deflaters() {
+        List<ThreadLocal<Deflater>> deflaters = new ArrayList<>();
+        for (int level = 0; level <= 9; level++) {
+            int fixedLevel = level;
+            deflaters.add(ThreadLocal.withInitial(() -> new Deflater(fixedLevel, true)));
+        }
+        return List.copyOf(deflaters);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        current.input[current.length++] = (byte) b;
+        if (current.length == blockSize) {
+            submit(false);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int offset, int length) throws IOException {
+        while (length > 0) {
+            int n = Math.min(length, blockSize - current.length);
+            System.arraycopy(b, offset, current.input, current.length, n);
+            current.length += n;
+            offset += n;
+            length -= n;
+            if (current.length == blockSize) {
+                submit(false);
+            }
+        }
+    }
+
+    /** Starts compressing the current block and begins a new one. */
+    private void submit(boolean last) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        Block block = current;
+        block.last = last;
+        current = free.isEmpty() ? new Block() : free.poll();
+        current.dictionaryLength = 0;
+        if (chainDictionaries) {
+            // The new block's history: the end of this one (only read, never changed, until it is written)
+            int n = Math.min(DICTIONARY_BYTES, block.length);
+            System.arraycopy(block.input, block.length - n, current.dictionary, 0, n);
+            current.dictionaryLength = n;
+        }
+        if (pool == null) {
+            writeBlock(block.call());
+            return;
+        }
+        while (inFlight.size() >= maxInFlight) {
+            writeBlock(await(inFlight.poll()));
+        }
+        inFlight.add(pool.submit(block));
+    }
+
+    private Block await(Future<Block> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Compressing a block failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing");
+        }
+    }
+
+    private void writeBlock(Block block) throws IOException {
+        crc.update(block.input, 0, block.length);
+        out.write(block.output, 0, block.compressedLength);
+        rawBytes += block.length;
+        compressedBytes += block.compressedLength;
+        block.length = 0;
+        free.add(block);
+    }
+
+    /** Ends the deflate stream with the last block and writes the gzip trailer. */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            submit(true);  // Possibly empty: it still marks the end of the deflate data
+            while (!inFlight.isEmpty()) {
+                writeBlock(await(inFlight.poll()));
+            }
+            writeIntLE((int) crc.getValue());
+            writeIntLE((int) rawBytes);  // Length modulo 2^32, as gzip defines it
+            compressedBytes += 8;
+            out.close();
+        } finally {
+            closed = true;
+            if (ownsPool && pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private void writeIntLE(int value) throws IOException {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+
+    public long rawBytes() {
+        return rawBytes;
+    }
+
+    public long compressedBytes() {
+        return compressedBytes;
+    }
+
+    /** One block of input, the history before it and its deflate output; reused. */
+    private final class Block implements Callable<Block> {
+        final byte[] input = new byte[blockSize];
+        final byte[] dictionary = new byte[DICTIONARY_BYTES];
+        byte[] output = new byte[blockSize + (blockSize >>> 12) + 64];
+        int length;
+        int dictionaryLength;
+        int compressedLength;
+        boolean last;
+
+        @Override
+        public Block call() {
+            Deflater deflater = DEFLATERS.get(level).get();
+            deflater.reset();
+            if (dictionaryLength > 0) {
+                deflater.setDictionary(dictionary, 0, dictionaryLength);
+            }
+            deflater.setInput(input, 0, length);
+            compressedLength = 0;
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    deflate(deflater, Deflater.NO_FLUSH);
+                }
+            } else {
+                while (deflate(deflater, Deflater.SYNC_FLUSH) == 0) {
+                    // A full output buffer means the flush may not be complete: grow and go on
+                }
+            }
+            return this;
+        }
+
+        /** Returns the free space left in output. */
+        private int deflate(Deflater deflater, int flush) {
+            if (compressedLength == output.length) {
+                output = Arrays.copyOf(output, output.length * 2);
+            }
+            compressedLength += deflater.deflate(output, compressedLength, output.length - compressedLength, flush);
+            return output.length - compressedLength;
+        }
+    }
+}
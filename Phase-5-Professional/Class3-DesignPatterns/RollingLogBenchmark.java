@@ -0,0 +1,133 @@
+/**
+ * ============================================
+ * ROLLING LOG STORAGE BENCHMARK
+ * ============================================
+ *
+ * Logs millions of entries through the Logger singleton with rolling
+ * file storage enabled and checks that heap use stays flat, then shows
+ * the segment files on disk and how much gzip saved. Finally it opens the
+ * storage twice on one directory, like a restarted application, and checks
+ * that the second run keeps every segment of the first.
+ *
+ * System.out is redirected to a discarding stream while logging, so the
+ * console does not slow the run down.
+ *
+ * How to compile and run:
+ * $ javac *.java                         (uses Logger.java)
+ * $ java RollingLogBenchmark              (2,000,000 entries)
+ * $ java RollingLogBenchmark 500000       (custom number of entries)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+public class RollingLogBenchmark {
+
+    private static final int SEGMENT_BYTES = 8 * 1024 * 1024;
+    private static final int ROUNDS = 4;
+
+    public static void main(String[] args) throws Exception {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     ROLLING LOG STORAGE BENCHMARK                        ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+        System.out.printf("Entries: %,d in %d rounds, segment size: %,d bytes%n%n",
+            entries, ROUNDS, SEGMENT_BYTES);
+
+        Path directory = Files.createTempDirectory("rolling-logs");
+        Logger logger = Logger.getInstance();
+        logger.enableRollingStorage(directory, SEGMENT_BYTES, 60_000, true);
+
+        PrintStream console = System.out;
+        System.out.printf("%-8s %14s %14s %16s%n", "Round", "Logged", "entries/s", "Heap after GC");
+        System.out.println("──────────────────────────────────────────────────────────");
+        int perRound = entries / ROUNDS;
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            long start = System.nanoTime();
+            for (int i = 0; i < perRound; i++) {
+                logger.log("INFO", "Order " + i + " shipped to warehouse " + (i % 17));
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.setOut(console);
+            System.out.printf("%-8d %,14d %,14.0f %13.1f MB%n",
+                round, logger.getLogCount(), perRound / seconds, usedHeapAfterGc() / 1e6);
+        }
+
+        System.out.println("\nMost recent entries kept in memory:");
+        for (String entry : logger.getRecentLogs(3)) {
+            System.out.println("  " + entry);
+        }
+
+        logger.disableRollingStorage();
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.sorted().collect(Collectors.toList());
+        }
+        long onDisk = 0;
+        for (Path file : files) {
+            onDisk += Files.size(file);
+        }
+        System.out.printf("%nSegment files: %d (%s ... %s)%n", files.size(),
+            files.get(0).getFileName(), files.get(files.size() - 1).getFileName());
+        System.out.printf("On disk: %,d bytes (closed segments are gzipped)%n", onDisk);
+
+        for (Path file : files) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+
+        checkRestart();
+
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    /** Two runs against one directory: the second must continue, not overwrite. */
+    private static void checkRestart() throws IOException {
+        Path directory = Files.createTempDirectory("rolling-restart");
+        int perRun = 1_000;
+        for (int run = 1; run <= 2; run++) {
+            try (RollingLogStorage storage = new RollingLogStorage(directory, "app", 4096, 0, true, 0)) {
+                for (int i = 0; i < perRun; i++) {
+                    storage.append("Run " + run + " entry " + i);
+                }
+            }
+        }
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.sorted().collect(Collectors.toList());
+        }
+        long lines = 0;
+        for (Path file : files) {
+            InputStream in = Files.newInputStream(file);
+            if (file.toString().endsWith(".log.gz")) {
+                in = CompressedBlockStream.newInputStream(in);
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                lines += reader.lines().filter(line -> line.startsWith("Run ")).count();
+            }
+            Files.delete(file);
+        }
+        Files.delete(directory);
+
+        System.out.printf("%nRestart: %d segment files after two runs, %,d of %,d entries found%n",
+            files.size(), lines, 2L * perRun);
+        if (lines != 2L * perRun) {
+            throw new AssertionError("Restart lost entries: found " + lines + " of " + 2 * perRun);
+        }
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        Thread.sleep(100);
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,274 @@
+/**
+ * ============================================
+ * ROLLING, MEMORY-MAPPED LOG STORAGE
+ * ============================================
+ *
+ * The original Logger kept every entry in a List<String> forever, so the
+ * longer the program ran, the more memory it used. This class stores
+ * entries in files instead, split into fixed-size SEGMENTS:
+ *
+ *   app-00001.log.gz   app-00002.log.gz   app-00003.log   ◄── active
+ *   ────────────────   ────────────────   ─────────────
+ *   closed, gzipped    closed, gzipped    memory-mapped, entries are
+ *   in the background                     copied straight into the map
+ *
+ * - A segment is mapped into memory (MappedByteBuffer) when it is opened,
+ *   so appending an entry is a memory copy; the OS writes pages to disk.
+ * - Rollover happens when the next entry does not fit (size-based) or
+ *   when the segment has been open longer than maxAgeMillis (time-based).
+ * - A closed segment is trimmed to its real length and, optionally,
+ *   compressed by a background thread so logging never waits for it.
+ *   Java cannot unmap a buffer on demand, and Windows refuses to shorten
+ *   a file that is still mapped: there an uncompressed segment keeps its
+ *   zero-filled tail. Compression only ever reads the bytes written.
+ *   Any BlockCodec can be used (gzip by default); with several
+ *   compression threads one segment's blocks are compressed in parallel.
+ * - maxClosedSegments deletes the oldest segments, which keeps disk
+ *   usage bounded too.
+ * - Opening the storage on a directory that already holds segments (a
+ *   restart) continues the numbering after the highest one.
+ *
+ * Heap use is constant: one mapped segment plus a few counters, no
+ * matter how many entries are written.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.*;
+import java.util.stream.*;
+
+public class RollingLogStorage implements AutoCloseable {
+
+    private final Path directory;
+    private final String baseName;
+    private final int segmentBytes;
+    private final long maxAgeMillis;
+    private final BlockCodec codec;               // null = keep closed segments as text
+    private final int maxClosedSegments;
+    private final ExecutorService compressor;
+    private final ExecutorService blockPool;      // null = blocks compressed one by one
+    private final Deque<Path> closedSegments = new ArrayDeque<>();
+
+    private int segmentNumber;
+    private Path segmentPath;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long segmentOpenedAt;
+    private long entryCount;
+    private boolean closed;
+
+    /**
+     * @param segmentBytes      size of one segment file
+     * @param maxAgeMillis      roll over after this long even if not full (0 = never)
+     * @param compressClosed    gzip segments once they are closed
+     * @param maxClosedSegments closed segments to keep on disk (0 = keep all)
+     */
+    public RollingLogStorage(Path directory, String baseName, int segmentBytes, long maxAgeMillis,
+                             boolean compressClosed, int maxClosedSegments) throws IOException {
+        this(directory, baseName, segmentBytes, maxAgeMillis, compressClosed ? BlockCodec.gzip(6) : null, 1,
+            maxClosedSegments);
+    }
+
+    /**
+     * @param codec              compresses closed segments (null = keep them as text)
+     * @param compressionThreads threads compressing the blocks of one segment
+     */
+    public RollingLogStorage(Path directory, String baseName, int segmentBytes, long maxAgeMillis,
+                             BlockCodec codec, int compressionThreads, int maxClosedSegments) throws IOException {
+        if (segmentBytes < 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 1024 bytes: " + segmentBytes);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.baseName = baseName;
+        this.segmentBytes = segmentBytes;
+        this.maxAgeMillis = maxAgeMillis;
+        this.codec = codec;
+        this.maxClosedSegments = maxClosedSegments;
+        this.compressor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "log-segment-compressor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.blockPool = codec != null && compressionThreads > 1
+            ? CompressedBlockStream.newPool(compressionThreads) : null;
+        findExistingSegments();
+        openSegment(segmentBytes);
+    }
+
+    /**
+     * Picks up the segments of an earlier run in the same directory, so
+     * numbering continues after the highest one instead of overwriting
+     * app-00001.log.gz, and the old segments count towards maxClosedSegments.
+     */
+    private void findExistingSegments() throws IOException {
+        Pattern name = Pattern.compile(Pattern.quote(baseName) + "-(\\d{5,})\\.log.*");
+        SortedMap<Integer, Path> existing = new TreeMap<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            listing.forEach(path -> {
+                Matcher matcher = name.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    existing.put(Integer.parseInt(matcher.group(1)), path);
+                }
+            });
+        }
+        closedSegments.addAll(existing.values());
+        segmentNumber = existing.isEmpty() ? 0 : existing.lastKey();
+    }
+
+    /** Appends one entry (a line break is added). */
+    public synchronized void append(String entry) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Log storage is closed");
+        }
+        byte[] bytes = (entry + '\n').getBytes(StandardCharsets.UTF_8);
+        boolean expired = maxAgeMillis > 0 && System.currentTimeMillis() - segmentOpenedAt >= maxAgeMillis;
+        if (bytes.length > mapped.remaining() || expired) {
+            // An entry bigger than a whole segment gets a segment of its own
+            rollOver(Math.max(segmentBytes, bytes.length));
+        }
+        mapped.put(bytes);
+        entryCount++;
+    }
+
+    public synchronized long entryCount() {
+        return entryCount;
+    }
+
+    /** The segment currently being written to. */
+    public synchronized Path activeSegment() {
+        return segmentPath;
+    }
+
+    /** Closed segments still on disk, oldest first (with the codec's extension once compressed). */
+    public synchronized List<Path> closedSegments() {
+        return new ArrayList<>(closedSegments);
+    }
+
+    // ─────────────────────────────────────────────
+    // Segment handling
+    // ─────────────────────────────────────────────
+
+    /**
+     * Opens the next segment before letting go of the current one: if the
+     * new file cannot be created or mapped, logging carries on in the old.
+     */
+    private void rollOver(int size) throws IOException {
+        Path oldPath = segmentPath;
+        FileChannel oldChannel = channel;
+        MappedByteBuffer oldMapped = mapped;
+        openSegment(size);
+        closeSegment(oldPath, oldChannel, oldMapped);
+    }
+
+    /** Creates and maps the next segment file and makes it the active one. */
+    private void openSegment(int size) throws IOException {
+        Path nextPath = directory.resolve(String.format("%s-%05d.log", baseName, segmentNumber + 1));
+        FileChannel nextChannel = FileChannel.open(nextPath, StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer nextMapped;
+        try {
+            nextMapped = nextChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            nextChannel.close();
+            delete(nextPath);
+            throw e;
+        }
+        segmentNumber++;
+        segmentPath = nextPath;
+        channel = nextChannel;
+        mapped = nextMapped;
+        segmentOpenedAt = System.currentTimeMillis();
+    }
+
+    /** Flushes the mapping, trims the unused tail and hands the file to the compressor. */
+    private void closeSegment(Path finished, FileChannel finishedChannel, MappedByteBuffer finishedMapped)
+            throws IOException {
+        int length = releaseSegment(finishedChannel, finishedMapped);
+        if (codec != null) {
+            Path compressed = finished.resolveSibling(finished.getFileName() + codec.extension());
+            closedSegments.add(compressed);
+            compressor.execute(() -> compress(finished, length, compressed));
+        } else {
+            closedSegments.add(finished);
+        }
+        while (maxClosedSegments > 0 && closedSegments.size() > maxClosedSegments) {
+            Path oldest = closedSegments.poll();
+            compressor.execute(() -> delete(oldest));  // Runs after its own compression
+        }
+    }
+
+    /**
+     * Returns the number of bytes written to the segment. The mapping itself
+     * is released when the buffer is garbage collected.
+     */
+    private static int releaseSegment(FileChannel segmentChannel, MappedByteBuffer segmentMapped)
+            throws IOException {
+        int length = segmentMapped.position();
+        try {
+            segmentMapped.force();
+            try {
+                segmentChannel.truncate(length);
+            } catch (IOException e) {
+                // Windows: the file is still mapped until the buffer is collected; keep the zero tail
+            }
+        } finally {
+            segmentChannel.close();
+        }
+        return length;
+    }
+
+    /** Compresses the first length bytes of source: the rest may be padding that could not be trimmed. */
+    private void compress(Path source, long length, Path target) {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             OutputStream out = new CompressedBlockStream.Output(Files.newOutputStream(target), codec,
+                 CompressedBlockStream.DEFAULT_BLOCK_BYTES, blockPool)) {
+            long position = 0;
+            while (position < length) {
+                position += in.transferTo(position, length - position, Channels.newChannel(out));
+            }
+        } catch (IOException e) {
+            System.err.println("RollingLogStorage: could not compress " + source + ": " + e.getMessage());
+            return;
+        }
+        delete(source);
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            System.err.println("RollingLogStorage: could not delete " + path + ": " + e.getMessage());
+        }
+    }
+
+    /** Closes the active segment and waits for pending compression to finish. */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            releaseSegment(channel, mapped);
+        } finally {
+            mapped = null;
+            compressor.shutdown();
+            try {
+                compressor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (blockPool != null) {
+                blockPool.shutdown();
+            }
+        }
+    }
+}
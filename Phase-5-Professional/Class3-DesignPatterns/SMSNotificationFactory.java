@@ -0,0 +1,22 @@
+/**
+ * ============================================
+ * SMS NOTIFICATION FACTORY
+ * ============================================
+ *
+ * A concrete factory of the Factory Method example in DesignPatternsDemo,
+ * together with the notification it builds.
+ *
+ * @author Learn Java With Me
+ */
+
+public class SMSNotificationFactory extends NotificationFactory {
+    @Override
+    protected Notification createNotification() { return new SMSNotification(); }
+}
+
+class SMSNotification implements Notification {
+    @Override
+    public void send(String message) {
+        System.out.println("📱 SMS: " + message);
+    }
+}
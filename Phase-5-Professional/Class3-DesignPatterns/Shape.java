@@ -0,0 +1,14 @@
+/**
+ * ============================================
+ * SHAPE (FACTORY PRODUCT)
+ * ============================================
+ *
+ * What ShapeFactory creates in the Factory example of DesignPatternsDemo.
+ * The concrete shapes live next to the factory in ShapeFactory.java.
+ *
+ * @author Learn Java With Me
+ */
+
+public interface Shape {
+    void draw();
+}
@@ -0,0 +1,88 @@
+/**
+ * ============================================
+ * SHAPE FACTORY (SIMPLE FACTORY + FLYWEIGHT)
+ * ============================================
+ *
+ * The Simple Factory example from DesignPatternsDemo, in its own file so
+ * the benchmarks can use it too.
+ *
+ * - createShape(name)   a new object on every call
+ * - sharedShape(name)   the shapes have no state, so one shared instance
+ *                       per type is enough (Flyweight): no allocation
+ *
+ * Names are matched against the enum constants with equalsIgnoreCase,
+ * which compares in place: no lower-case copy of the name is made. The
+ * factory then switches on the enum instead of comparing strings again.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class ShapeFactory {
+    public enum Type { CIRCLE, RECTANGLE, TRIANGLE }
+
+    private static final Type[] TYPES = Type.values();  // values() copies the array on every call
+    private static final AtomicLongArray CREATED = new AtomicLongArray(TYPES.length);
+
+    // Built directly, not through newShape(): they are not counted as creations
+    private static final Shape[] SHARED = {
+        instantiate(Type.CIRCLE), instantiate(Type.RECTANGLE), instantiate(Type.TRIANGLE)
+    };
+
+    /** A new object on every call. */
+    public static Shape createShape(String type) {
+        return newShape(typeOf(type));
+    }
+
+    /** The shared instance for the type: no allocation, whatever the case of the name. */
+    public static Shape sharedShape(String type) {
+        return SHARED[typeOf(type).ordinal()];
+    }
+
+    public static Shape sharedShape(Type type) {
+        return SHARED[type.ordinal()];
+    }
+
+    /** How many objects of this type createShape() has made (the shared instance is not counted). */
+    public static long creationCount(Type type) {
+        return CREATED.get(type.ordinal());
+    }
+
+    private static Shape newShape(Type type) {
+        CREATED.incrementAndGet(type.ordinal());
+        return instantiate(type);
+    }
+
+    private static Shape instantiate(Type type) {
+        return switch (type) {
+            case CIRCLE -> new Circle();
+            case RECTANGLE -> new Rectangle();
+            case TRIANGLE -> new Triangle();
+        };
+    }
+
+    private static Type typeOf(String name) {
+        for (Type type : TYPES) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown shape: " + name);
+    }
+}
+
+class Circle implements Shape {
+    @Override
+    public void draw() { System.out.println("Drawing Circle ●"); }
+}
+
+class Rectangle implements Shape {
+    @Override
+    public void draw() { System.out.println("Drawing Rectangle ▬"); }
+}
+
+class Triangle implements Shape {
+    @Override
+    public void draw() { System.out.println("Drawing Triangle ▲"); }
+}
@@ -0,0 +1,28 @@
+/**
+ * ============================================
+ * STOCK MARKET (OBSERVER SUBJECT)
+ * ============================================
+ *
+ * The subject of the Observer example from DesignPatternsDemo, in its own
+ * file so the benchmarks can use it too. updateStock() calls every
+ * observer on the publishing thread, one after the other; see
+ * ConflatingStockPublisher.java for high tick rates.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.*;
+
+public class StockMarket {
+    private List<StockObserver> observers = new ArrayList<>();
+
+    public void addObserver(StockObserver observer) { observers.add(observer); }
+    public void removeObserver(StockObserver observer) { observers.remove(observer); }
+
+    public void updateStock(String stock, double price) {
+        System.out.println("📈 " + stock + " is now $" + price);
+        for (StockObserver observer : observers) {
+            observer.update(stock, price);
+        }
+    }
+}
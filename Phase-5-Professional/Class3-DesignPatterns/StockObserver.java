@@ -0,0 +1,15 @@
+/**
+ * ============================================
+ * STOCK OBSERVER (OBSERVER)
+ * ============================================
+ *
+ * The observer side of the StockMarket example from DesignPatternsDemo:
+ * anything that wants to hear about price changes. Shared by StockMarket
+ * and ConflatingStockPublisher.
+ *
+ * @author Learn Java With Me
+ */
+
+public interface StockObserver {
+    void update(String stock, double price);
+}
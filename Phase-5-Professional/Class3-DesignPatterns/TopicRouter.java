@@ -0,0 +1,142 @@
+/**
+ * ============================================
+ * TOPIC ROUTER (TRIE WITH WILDCARDS)
+ * ============================================
+ *
+ * Topics are dot-separated paths such as "orders.eu.created".
+ * Subscription patterns may use two wildcards:
+ *
+ *   *   exactly one segment       "orders.*.created" matches "orders.eu.created"
+ *   #   any remaining segments    "orders.#" matches "orders", "orders.eu.created"
+ *       (only as the last segment)
+ *
+ * Patterns are stored in a TRIE, one node per segment:
+ *
+ *                 (root)
+ *                /      \
+ *           orders       payments
+ *          /   |   \         \
+ *        eu    *    #         #
+ *        |     |
+ *     created created
+ *
+ * Routing "orders.eu.created" walks the trie once, following the exact
+ * child, the "*" child and the "#" child at each level. The cost depends
+ * on the topic's depth and the wildcards on its path, NOT on how many
+ * subscriptions exist in total.
+ *
+ * Results are also cached per topic, so a hot topic is routed with one
+ * hash lookup. The cache is cleared whenever subscriptions change.
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TopicRouter<T> {
+
+    private static final int DEFAULT_CACHE_LIMIT = 10_000;
+
+    private final Node<T> root = new Node<>();
+    private final ConcurrentHashMap<String, List<T>> cache = new ConcurrentHashMap<>();
+    private final int cacheLimit;
+    private int subscriptionCount;
+
+    public TopicRouter() {
+        this(DEFAULT_CACHE_LIMIT);
+    }
+
+    /** @param cacheLimit topics whose routes are cached (0 = no cache) */
+    public TopicRouter(int cacheLimit) {
+        this.cacheLimit = cacheLimit;
+    }
+
+    public synchronized void subscribe(String pattern, T subscriber) {
+        String[] segments = split(pattern);
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (segments[i].equals("#")) {
+                throw new IllegalArgumentException("'#' is only allowed as the last segment: " + pattern);
+            }
+        }
+        Node<T> node = root;
+        for (String segment : segments) {
+            node = node.children.computeIfAbsent(segment, s -> new Node<>());
+        }
+        node.subscribers.add(subscriber);
+        subscriptionCount++;
+        cache.clear();
+    }
+
+    /** Returns true if the subscription existed. */
+    public synchronized boolean unsubscribe(String pattern, T subscriber) {
+        Node<T> node = root;
+        for (String segment : split(pattern)) {
+            node = node.children.get(segment);
+            if (node == null) {
+                return false;
+            }
+        }
+        boolean removed = node.subscribers.remove(subscriber);
+        if (removed) {
+            subscriptionCount--;
+            cache.clear();
+        }
+        return removed;
+    }
+
+    public synchronized int subscriptionCount() {
+        return subscriptionCount;
+    }
+
+    /** Every subscriber whose pattern matches the topic (empty list if none). */
+    public List<T> route(String topic) {
+        List<T> cached = cache.get(topic);
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (this) {
+            List<T> matches = new ArrayList<>();
+            collect(root, split(topic), 0, matches);
+            List<T> result = Collections.unmodifiableList(matches);
+            if (cache.size() >= cacheLimit) {
+                cache.clear();  // Crude but bounded: start over rather than grow forever
+            }
+            if (cacheLimit > 0) {
+                cache.put(topic, result);
+            }
+            return result;
+        }
+    }
+
+    private static <T> void collect(Node<T> node, String[] segments, int depth, List<T> matches) {
+        Node<T> rest = node.children.get("#");
+        if (rest != null) {
+            matches.addAll(rest.subscribers);  // "#" matches everything from here on
+        }
+        if (depth == segments.length) {
+            matches.addAll(node.subscribers);
+            return;
+        }
+        Node<T> exact = node.children.get(segments[depth]);
+        if (exact != null) {
+            collect(exact, segments, depth + 1, matches);
+        }
+        Node<T> any = node.children.get("*");
+        if (any != null && any != exact) {
+            collect(any, segments, depth + 1, matches);
+        }
+    }
+
+    private static String[] split(String topic) {
+        if (topic == null || topic.isEmpty()) {
+            throw new IllegalArgumentException("Topic must not be empty");
+        }
+        return topic.split("\\.");
+    }
+
+    private static final class Node<T> {
+        final Map<String, Node<T>> children = new HashMap<>();
+        final List<T> subscribers = new ArrayList<>();
+    }
+}
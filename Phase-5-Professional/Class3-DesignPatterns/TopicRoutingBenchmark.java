@@ -0,0 +1,132 @@
+/**
+ * ============================================
+ * TOPIC ROUTING THROUGHPUT BENCHMARK
+ * ============================================
+ *
+ * 10,000 subscriptions: one exact topic per customer and event type
+ * ("orders.c123.created") plus a few wildcard patterns
+ * ("orders.*.created", "orders.c7.*", "orders.#", ...).
+ *
+ * Routes random topics with:
+ *
+ * - a linear scan that matches every pattern (what you would write
+ *   without an index: cost grows with the number of subscriptions)
+ * - TopicRouter without its cache (one trie walk per topic)
+ * - TopicRouter with its per-topic cache
+ *
+ * How to compile and run:
+ * $ javac TopicRoutingBenchmark.java
+ * $ java TopicRoutingBenchmark             (1,000,000 routed topics)
+ * $ java TopicRoutingBenchmark 5000000     (custom number of topics)
+ *
+ * @author Learn Java With Me
+ */
+
+import java.util.*;
+
+public class TopicRoutingBenchmark {
+
+    private static final int CUSTOMERS = 2_000;
+    private static final String[] EVENTS = {"created", "paid", "shipped", "delivered", "cancelled"};
+    private static final String[] WILDCARDS = {"orders.*.created", "orders.c7.*", "orders.#", "*.c42.paid"};
+
+    public static void main(String[] args) {
+        int routes = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        System.out.println("╔══════════════════════════════════════════════════════════╗");
+        System.out.println("║     TOPIC ROUTING THROUGHPUT BENCHMARK                   ║");
+        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+
+        List<String> patterns = new ArrayList<>();
+        for (int c = 0; c < CUSTOMERS; c++) {
+            for (String event : EVENTS) {
+                patterns.add("orders.c" + c + "." + event);
+            }
+        }
+        patterns.addAll(Arrays.asList(WILDCARDS));
+
+        TopicRouter<Integer> cached = new TopicRouter<>();
+        TopicRouter<Integer> uncached = new TopicRouter<>(0);
+        for (int i = 0; i < patterns.size(); i++) {
+            cached.subscribe(patterns.get(i), i);
+            uncached.subscribe(patterns.get(i), i);
+        }
+        System.out.printf("Subscriptions: %,d, routed topics: %,d%n%n", cached.subscriptionCount(), routes);
+
+        // Pre-build topics so the benchmark measures routing, not string building
+        Random random = new Random(1);
+        String[] topics = new String[4096];
+        for (int i = 0; i < topics.length; i++) {
+            topics[i] = "orders.c" + random.nextInt(CUSTOMERS) + "." + EVENTS[random.nextInt(EVENTS.length)];
+        }
+
+        // Sanity check: all three approaches agree
+        for (String topic : topics) {
+            Set<Integer> expected = new HashSet<>(linearScan(patterns, topic));
+            if (!expected.equals(new HashSet<>(cached.route(topic)))
+                    || !expected.equals(new HashSet<>(uncached.route(topic)))) {
+                throw new IllegalStateException("Routers disagree on " + topic);
+            }
+        }
+
+        System.out.printf("%-28s %16s %12s%n", "Router", "routes/s", "ns/route");
+        System.out.println("──────────────────────────────────────────────────────────");
+        int scanRoutes = Math.max(1, routes / 500);  // The scan is far too slow for the full count
+        long matches = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < scanRoutes; i++) {
+            matches += linearScan(patterns, topics[i & 4095]).size();
+        }
+        printRow("Linear scan", scanRoutes, System.nanoTime() - start);
+
+        for (int round = 0; round < 2; round++) {  // First round warms up the JIT
+            start = System.nanoTime();
+            for (int i = 0; i < routes; i++) {
+                matches += uncached.route(topics[i & 4095]).size();
+            }
+            long uncachedNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < routes; i++) {
+                matches += cached.route(topics[i & 4095]).size();
+            }
+            long cachedNanos = System.nanoTime() - start;
+
+            if (round == 1) {
+                printRow("TopicRouter (trie)", routes, uncachedNanos);
+                printRow("TopicRouter (trie + cache)", routes, cachedNanos);
+            }
+        }
+        System.out.println("\n(total matches: " + matches + ")");
+
+        System.out.println("\n✅ Benchmark completed!");
+    }
+
+    /** Checks every pattern against the topic, segment by segment. */
+    private static List<Integer> linearScan(List<String> patterns, String topic) {
+        String[] segments = topic.split("\\.");
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < patterns.size(); i++) {
+            if (matches(patterns.get(i).split("\\."), segments)) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+
+    private static boolean matches(String[] pattern, String[] topic) {
+        for (int i = 0; i < pattern.length; i++) {
+            if (pattern[i].equals("#")) {
+                return true;
+            }
+            if (i >= topic.length || !(pattern[i].equals("*") || pattern[i].equals(topic[i]))) {
+                return false;
+            }
+        }
+        return pattern.length == topic.length;
+    }
+
+    private static void printRow(String name, int routes, long nanos) {
+        System.out.printf("%-28s %,16.0f %,12.1f%n", name, routes / (nanos / 1e9), (double) nanos / routes);
+    }
+}
@@ -30,6 +30,9 @@ import java.io.*;
 import java.util.*;
 import java.time.*;
 import java.nio.file.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
 
 /**
  * Main application class demonstrating a buildable Java project.
@@ -481,36 +484,164 @@ class UserService {
  * database.password=secret
  */
 class AppConfig {
-    private static final Properties properties = new Properties();
+    // All settings in one immutable snapshot. Reloading builds a new
+    // snapshot and swaps the reference, so readers never need a lock and
+    // never see half of an old file mixed with half of a new one.
+    private static final AtomicReference<Snapshot> current = new AtomicReference<>(loadFromClasspath());
     
-    static {
-        try {
-            // Load from classpath
-            InputStream input = AppConfig.class.getClassLoader()
-                .getResourceAsStream("application.properties");
+    private static final class Snapshot {
+        final Map<String, String> values;
+        // getInt() results, parsed once per snapshot (empty = missing or not a number)
+        final ConcurrentHashMap<String, OptionalInt> ints = new ConcurrentHashMap<>();
+        
+        Snapshot(Properties properties) {
+            Map<String, String> copy = new HashMap<>();
+            for (String key : properties.stringPropertyNames()) {
+                copy.put(key, properties.getProperty(key));
+            }
+            this.values = Collections.unmodifiableMap(copy);
+        }
+    }
+    
+    private static Snapshot loadFromClasspath() {
+        Properties properties = new Properties();
+        try (InputStream input = AppConfig.class.getClassLoader()
+                .getResourceAsStream("application.properties")) {
             if (input != null) {
                 properties.load(input);
             }
         } catch (IOException e) {
             System.err.println("Could not load configuration: " + e.getMessage());
         }
+        return new Snapshot(properties);
     }
     
     public static String get(String key) {
-        return properties.getProperty(key);
+        return current.get().values.get(key);
     }
     
     public static String get(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return current.get().values.getOrDefault(key, defaultValue);
     }
     
     public static int getInt(String key, int defaultValue) {
-        String value = properties.getProperty(key);
-        if (value == null) return defaultValue;
+        Snapshot snapshot = current.get();  // The only volatile read
+        OptionalInt cached = snapshot.ints.get(key);
+        if (cached == null) {
+            String value = snapshot.values.get(key);
+            try {
+                cached = value == null ? OptionalInt.empty() : OptionalInt.of(Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                cached = OptionalInt.empty();
+            }
+            snapshot.ints.put(key, cached);
+        }
+        return cached.orElse(defaultValue);
+    }
+    
+    /** Replaces every setting with the contents of the file. */
+    public static void reload(Path file) throws IOException {
+        current.set(new Snapshot(ConfigWatcher.load(file)));
+    }
+    
+    /**
+     * Reloads the file whenever it changes (e.g. an external
+     * application.properties next to the JAR). Close the returned watcher
+     * to stop watching.
+     */
+    public static ConfigWatcher watch(Path file) throws IOException {
+        return new ConfigWatcher(file, properties -> current.set(new Snapshot(properties)));
+    }
+}
+
+/**
+ * Watches one properties file and hands every new version to a callback.
+ * WatchService watches directories, so the parent folder is registered
+ * and events for other files are ignored. Editors save in several steps,
+ * so a short quiet period turns a burst of events into one reload, and an
+ * OVERFLOW event (events were lost) reloads to be safe.
+ */
+class ConfigWatcher implements AutoCloseable {
+    private static final long QUIET_PERIOD_MILLIS = 50;
+    
+    private final Path file;
+    private final WatchService watchService;
+    private final Thread thread;
+    private final Consumer<Properties> onReload;
+    private volatile boolean running = true;
+    
+    public ConfigWatcher(Path file, Consumer<Properties> onReload) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.onReload = onReload;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::watchLoop, "config-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+    
+    public static Properties load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+    
+    private void watchLoop() {
+        while (running) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            boolean changed = containsOurFile(key);
+            key.reset();
+            if (!changed) {
+                continue;
+            }
+            // Swallow the rest of a save burst before reading the file
+            try {
+                WatchKey more;
+                while ((more = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS))
+                        != null) {
+                    more.pollEvents();
+                    more.reset();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            try {
+                onReload.accept(load(file));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Keeping old configuration: " + e.getMessage());
+            }
+        }
+    }
+    
+    private boolean containsOurFile(WatchKey key) {
+        boolean found = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context())) {
+                found = true;  // On OVERFLOW we cannot tell, so reload to be safe
+            }
+        }
+        return found;
+    }
+    
+    @Override
+    public void close() {
+        running = false;
         try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            return defaultValue;
+            watchService.close();  // Wakes take() with ClosedWatchServiceException
+            thread.join();
+        } catch (IOException e) {
+            System.err.println("Could not stop config watcher: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 }